@@ -18,8 +18,8 @@ public class SampleApp extends Application {
     public void onCreate() {
         super.onCreate();
 
-        // initialize {@link Analytic} internals
-        Analytic.of(new Provider() {
+        // initialize {@link Analytic} internals off the main thread
+        Analytic.ofDeferred(new Provider() {
             @NonNull
             @Override
             public Context getApplicationContext() {
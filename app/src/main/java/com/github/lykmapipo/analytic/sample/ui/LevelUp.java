@@ -0,0 +1,15 @@
+package com.github.lykmapipo.analytic.sample.ui;
+
+import com.github.lykmapipo.analytic.AnalyticEvent;
+import com.github.lykmapipo.analytic.EventParam;
+
+/**
+ * Sample typed event, see generated AnalyticLevelUp
+ */
+@AnalyticEvent("level_up")
+public interface LevelUp {
+    long level();
+
+    @EventParam("character")
+    String characterName();
+}
@@ -29,6 +29,7 @@ public class MainActivity extends AppCompatActivity {
                 //log event
                 Analytic.Ecommerce.purchase(20.20, "USD");
                 Analytic.Ecommerce.addToWishList("Hello", "Song");
+                Analytic.track(new AnalyticLevelUp().level(7).characterName("mage"));
             }
         });
 
@@ -0,0 +1,57 @@
+package com.github.lykmapipo.analytic.benchmark;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run JMH benchmarks of the Bundle based facades inside Robolectric sandbox, so android
+ * framework classes are real on a plain JVM. Benchmarks run in process without forks,
+ * reporting throughput and bytes allocated per operation, so results are indicative only
+ * and best compared between runs on the same machine. Core benchmarks run in forked JVMs
+ * with {@code ./gradlew :core-benchmark:jmh}.
+ * <p>
+ * Run with {@code ./gradlew :benchmark:test -Pbenchmark} or narrow with a regular
+ * expression i.e {@code -Pbenchmark=TrackBenchmark}
+ * </p>
+ *
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AnalyticBenchmarkTest {
+
+    @Test
+    public void runBenchmarks() throws RunnerException {
+        String include = System.getProperty("jmh.include", "");
+        String results = System.getProperty("jmh.results", "build/reports/jmh/results.json");
+        new File(results).getParentFile().mkdirs();
+
+        Options options = new OptionsBuilder()
+                .include(include.isEmpty() ? getClass().getPackage().getName() : include)
+                .exclude(getClass().getSimpleName())
+                .forks(0) // stay in robolectric sandbox
+                .threads(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .timeUnit(TimeUnit.SECONDS)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results)
+                .build();
+
+        new Runner(options).run();
+    }
+}
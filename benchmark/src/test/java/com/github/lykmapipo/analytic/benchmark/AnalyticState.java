@@ -0,0 +1,70 @@
+package com.github.lykmapipo.analytic.benchmark;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.github.lykmapipo.analytic.Analytic;
+import com.github.lykmapipo.analytic.Clock;
+import com.github.lykmapipo.common.provider.Provider;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AnalyticState
+ * <p>
+ * Benchmark state initializing {@link Analytic} with a {@link BlackholeSink} as its only sink
+ * and a deterministic clock, so measurements do not depend on the system clock
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@State(Scope.Benchmark)
+public class AnalyticState {
+    private static final long TIME = 1600000000000L;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) {
+        Provider provider = new Provider() {
+            @NonNull
+            @Override
+            public Context getApplicationContext() {
+                return ApplicationProvider.getApplicationContext();
+            }
+        };
+        Analytic.setClock(new TickClock());
+        Analytic.of(provider, new BlackholeSink(blackhole));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Analytic.dispose();
+    }
+
+    /**
+     * Clock advancing one microsecond on every read of elapsed time
+     */
+    private static final class TickClock implements Clock {
+        private final AtomicLong elapsed = new AtomicLong();
+
+        @Override
+        public long currentTimeMillis() {
+            return TIME;
+        }
+
+        @Override
+        public long elapsedRealtimeNanos() {
+            return elapsed.addAndGet(1000L);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.lykmapipo.analytic.benchmark;
+
+import androidx.annotation.NonNull;
+
+import com.github.lykmapipo.analytic.AnalyticSink;
+import com.github.lykmapipo.analytic.EventParams;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * BlackholeSink
+ * <p>
+ * Stubbed {@link AnalyticSink} consuming events into a JMH {@link Blackhole}, so tracking
+ * is measured without Firebase and without being optimized away
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class BlackholeSink implements AnalyticSink {
+    private final Blackhole blackhole;
+
+    public BlackholeSink(@NonNull Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void logEvent(@NonNull String name, @NonNull EventParams params) {
+        blackhole.consume(name);
+        blackhole.consume(params);
+    }
+
+    @Override
+    public void setUserId(@NonNull String userId) {
+        blackhole.consume(userId);
+    }
+
+    @Override
+    public void setUserProperty(@NonNull String key, @NonNull String value) {
+        blackhole.consume(value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.lykmapipo.analytic.benchmark;
+
+import com.github.lykmapipo.analytic.Analytic;
+import com.github.lykmapipo.analytic.SimpleEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * EventBenchmark
+ * <p>
+ * Measure building events with {@link SimpleEvent} parameter chains
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public class EventBenchmark {
+    private static final String EVENT = "benchmark_event";
+    private static final String PARAM = "benchmark_param";
+
+    @Benchmark
+    public SimpleEvent setParams() {
+        return new SimpleEvent(EVENT)
+                .setParam(PARAM, PARAM)
+                .setParam(Analytic.Param.ITEM_ID, PARAM)
+                .setParam(Analytic.Param.QUANTITY, 2L)
+                .setParam(Analytic.Param.VALUE, 20.20);
+    }
+
+    @Benchmark
+    public SimpleEvent setPooledParams() {
+        SimpleEvent event = SimpleEvent.obtain(EVENT)
+                .setParam(PARAM, PARAM)
+                .setParam(Analytic.Param.ITEM_ID, PARAM)
+                .setParam(Analytic.Param.QUANTITY, 2L)
+                .setParam(Analytic.Param.VALUE, 20.20);
+        event.recycle();
+        return event;
+    }
+}
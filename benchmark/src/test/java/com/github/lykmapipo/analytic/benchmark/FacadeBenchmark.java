@@ -0,0 +1,84 @@
+package com.github.lykmapipo.analytic.benchmark;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import com.github.lykmapipo.analytic.Analytic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * FacadeBenchmark
+ * <p>
+ * Measure deep {@link Analytic} facade overload chains and bulk item events
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@State(Scope.Thread)
+public class FacadeBenchmark {
+    private static final String ACTION = "benchmark_action";
+    private static final String PARAM = "benchmark_param";
+    private static final String CURRENCY = "USD";
+    private static final int CART_SIZE = 30;
+
+    private Analytic.Itemable itemable;
+    private Bundle params;
+    private List<Analytic.Itemable> cart;
+
+    @Setup
+    public void setup() {
+        itemable = new Analytic.Itemable() {
+            @NonNull
+            @Override
+            public String getItemId() {
+                return PARAM;
+            }
+
+            @NonNull
+            @Override
+            public String getItemCategory() {
+                return PARAM;
+            }
+        };
+        params = new Bundle();
+        params.putString(PARAM, PARAM);
+        cart = Collections.nCopies(CART_SIZE, itemable);
+    }
+
+    @Benchmark
+    public void viewItem(AnalyticState analytic) {
+        Analytic.View.item(PARAM, PARAM);
+    }
+
+    @Benchmark
+    public void actionPerformed(AnalyticState analytic) {
+        Analytic.Action.performed(ACTION, itemable, params);
+    }
+
+    @Benchmark
+    public void purchaseCart(AnalyticState analytic) {
+        Analytic.Ecommerce.purchase(cart, CURRENCY);
+    }
+
+    @Benchmark
+    public void wishListCart(AnalyticState analytic) {
+        Analytic.Ecommerce.addToWishList(cart);
+    }
+
+    @Benchmark
+    public void wishListPerItem(AnalyticState analytic) {
+        for (int i = 0; i < CART_SIZE; i++) {
+            Analytic.Ecommerce.addToWishList(PARAM, PARAM, PARAM);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.lykmapipo.analytic.benchmark;
+
+import android.os.Bundle;
+
+import com.github.lykmapipo.analytic.Analytic;
+import com.github.lykmapipo.analytic.SimpleEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * TrackBenchmark
+ * <p>
+ * Measure {@link Analytic} tracking entry points
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@State(Scope.Thread)
+public class TrackBenchmark {
+    private static final String EVENT = "benchmark_event";
+    private static final String PARAM = "benchmark_param";
+
+    private Bundle params;
+
+    @Setup
+    public void setup() {
+        params = new Bundle();
+        params.putString(PARAM, PARAM);
+        params.putLong(Analytic.Param.QUANTITY, 2L);
+        params.putDouble(Analytic.Param.VALUE, 20.20);
+    }
+
+    @Benchmark
+    public void trackBundle(AnalyticState analytic) {
+        Analytic.track(EVENT, params);
+    }
+
+    @Benchmark
+    public void trackEvent(AnalyticState analytic) {
+        Analytic.track(SimpleEvent.obtain(EVENT)
+                .setParam(PARAM, PARAM)
+                .setParam(Analytic.Param.QUANTITY, 2L)
+                .setParam(Analytic.Param.VALUE, 20.20));
+    }
+
+    @Benchmark
+    public Bundle defaultEventParams(AnalyticState analytic) {
+        return Analytic.getDefaultEventParams();
+    }
+}
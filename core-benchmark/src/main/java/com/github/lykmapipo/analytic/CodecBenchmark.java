@@ -0,0 +1,61 @@
+package com.github.lykmapipo.analytic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+
+/**
+ * CodecBenchmark
+ * <p>
+ * Measure encoding and decoding event streams with {@link EventCodec}
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@State(Scope.Thread)
+public class CodecBenchmark {
+    private static final String EVENT = "benchmark_event";
+    private static final String PARAM = "benchmark_param";
+    private static final long TIME = 1600000000000L;
+    private static final int EVENTS = 100;
+
+    private EventParams params;
+    private EventCodec.Writer writer;
+    private byte[] stream;
+
+    @Setup
+    public void setup() {
+        params = new EventParams()
+                .put(PARAM, PARAM)
+                .put("item_id", PARAM)
+                .put("quantity", 2L)
+                .put("value", 20.20);
+        writer = new EventCodec.Writer();
+        encodeStream();
+        stream = writer.toByteArray();
+    }
+
+    @Benchmark
+    public int encodeStream() {
+        writer.reset();
+        for (int i = 0; i < EVENTS; i++) {
+            writer.write(EVENT, TIME + i, params);
+        }
+        return writer.size();
+    }
+
+    @Benchmark
+    public int decodeStream() {
+        EventCodec.Reader reader = new EventCodec.Reader(ByteBuffer.wrap(stream));
+        int count = 0;
+        while (reader.next()) {
+            count += reader.getParams().size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.lykmapipo.analytic;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * EventParamsBenchmark
+ * <p>
+ * Measure building, merging and reading {@link EventParams}
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@State(Scope.Thread)
+public class EventParamsBenchmark {
+    private static final String PARAM = "benchmark_param";
+    private static final long TIME = 1600000000000L;
+
+    private EventParams defaults;
+    private EventParams params;
+
+    @Setup
+    public void setup() {
+        defaults = new EventParams()
+                .put("time", TIME)
+                .put("timezone", "UTC")
+                .put("medium", "android")
+                .freeze();
+        params = build();
+    }
+
+    @Benchmark
+    public EventParams build() {
+        return new EventParams(4)
+                .put(PARAM, PARAM)
+                .put("item_id", PARAM)
+                .put("quantity", 2L)
+                .put("value", 20.20);
+    }
+
+    @Benchmark
+    public EventParams merge() {
+        return defaults.copy(params.size()).putAll(params);
+    }
+
+    @Benchmark
+    public double read() {
+        return params.getLong("quantity", 0L) * params.getDouble("value", 0D)
+                + params.getString(PARAM).length();
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * PipelineBenchmark
+ * <p>
+ * Measure handing events over to the dispatcher thread, batching them and delivering
+ * them to a stub {@link AnalyticSink}. Producers are blocked when the queue is full, so
+ * throughput is bounded by the dispatcher thread.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+    private static final String EVENT = "benchmark_event";
+    private static final String PARAM = "benchmark_param";
+    private static final long TIME = 1600000000000L;
+
+    private CountingSink sink;
+    private Dispatcher dispatcher;
+    private EventParams params;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sink = new CountingSink();
+        params = new EventParams()
+                .put(PARAM, PARAM)
+                .put("quantity", 2L)
+                .put("value", 20.20)
+                .freeze();
+        Batcher batcher = new Batcher(
+                32, 1000L, event -> sink.logEvent(event.getName(), event.getParams()));
+        dispatcher = new Dispatcher(batcher, new Backpressure(event -> {
+        }));
+        dispatcher.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dispatcher.stop(1000L);
+    }
+
+    @Benchmark
+    public void dispatch() {
+        sequence = sequence + 1;
+        dispatcher.enqueue(
+                new TrackedEvent(EVENT, TIME, sequence, params, -1L, Backpressure.BLOCK));
+    }
+
+    /**
+     * Stub sink counting delivered events
+     */
+    private static final class CountingSink implements AnalyticSink {
+        private volatile long delivered;
+
+        @Override
+        public void logEvent(@NonNull String name, @NonNull EventParams params) {
+            delivered = delivered + 1;
+        }
+
+        @Override
+        public void setUserId(@NonNull String identifier) {
+        }
+
+        @Override
+        public void setUserProperty(@NonNull String key, @NonNull String value) {
+        }
+    }
+}
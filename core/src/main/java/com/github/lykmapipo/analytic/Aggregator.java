@@ -0,0 +1,315 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregator
+ * <p>
+ * Folds events of aggregated names into rollups keyed by event name and selected
+ * parameter values, instead of emitting one event per call. Each rollup counts events
+ * with a {@link StripedCounter} and optionally records a numeric parameter in a
+ * {@link Histogram}. Rollups are emitted as one summary event each, once every interval
+ * or when drained.
+ * </p>
+ * <p>
+ * At most {@link #MAX_ROLLUPS} groups are aggregated per event name at a time, events of
+ * other groups are emitted on their own. Rollups which received no event during an
+ * interval are removed on drain, so the cap applies to groups active in an interval
+ * rather than to every group ever seen. A removed rollup is drained once more on the next
+ * drain, so an event recorded while it was being removed is not lost.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Aggregator {
+    static final long DEFAULT_INTERVAL = 60000L;
+    static final int MAX_ROLLUPS = 100;
+
+    static final String PARAM_COUNT = "rollup_count";
+    static final String PARAM_SUM = "rollup_sum";
+    static final String PARAM_MIN = "rollup_min";
+    static final String PARAM_MAX = "rollup_max";
+    static final String PARAM_P50 = "rollup_p50";
+    static final String PARAM_P90 = "rollup_p90";
+
+    /**
+     * Aggregation rule of an event name
+     */
+    private static final class Rule {
+        final String[] groupKeys;
+        final String valueKey;
+        final ConcurrentHashMap<Long, Rollup> rollups = new ConcurrentHashMap<>();
+        List<Rollup> retired = Collections.emptyList(); // removed on last drain, guarded by drain
+
+        Rule(@NonNull String[] groupKeys, @Nullable String valueKey) {
+            this.groupKeys = groupKeys;
+            this.valueKey = valueKey;
+        }
+    }
+
+    /**
+     * Counters of a group of events
+     */
+    private static final class Rollup {
+        final EventParams group;
+        final StripedCounter count = new StripedCounter();
+        final Histogram values;
+
+        Rollup(@NonNull EventParams group, boolean histogram) {
+            this.group = group;
+            this.values = histogram ? new Histogram() : null;
+        }
+    }
+
+    private final Emitter emitter;
+    private final AtomicLong nextEmit = new AtomicLong();
+    private volatile Map<String, Rule> rules = Collections.emptyMap();
+    private volatile long interval = DEFAULT_INTERVAL;
+
+    Aggregator(@NonNull Emitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Aggregate events with given name
+     *
+     * @param eventName event name
+     * @param valueKey  numeric parameter to record in histogram, if any
+     * @param groupKeys parameters to group rollups by
+     */
+    synchronized void aggregate(
+            @NonNull String eventName, @Nullable String valueKey,
+            @NonNull String... groupKeys) {
+        Map<String, Rule> updated = new HashMap<>(rules);
+        updated.put(eventName, new Rule(groupKeys.clone(), valueKey));
+        rules = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Stop aggregating events with given name, dropping pending rollups
+     *
+     * @param eventName event name
+     */
+    synchronized void remove(@NonNull String eventName) {
+        Map<String, Rule> updated = new HashMap<>(rules);
+        updated.remove(eventName);
+        rules = Collections.unmodifiableMap(updated);
+    }
+
+    boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * @param interval time in milliseconds between rollup emissions
+     */
+    void setInterval(long interval) {
+        this.interval = Math.max(1L, interval);
+    }
+
+    /**
+     * Fold event into its rollup and emit rollups when interval elapsed
+     *
+     * @param eventName   event name
+     * @param eventParams event parameters
+     * @param now         current time in milliseconds, from a monotonic clock
+     * @return true if event was aggregated and should not be emitted on its own
+     */
+    boolean record(@NonNull String eventName, @Nullable EventParams eventParams, long now) {
+        Rule rule = rules.get(eventName);
+        if (rule == null) {
+            return false;
+        }
+
+        //find or create rollup of event group
+        long hash = hash(rule.groupKeys, eventParams);
+        Rollup rollup = rule.rollups.get(hash);
+        if (rollup == null) {
+            if (rule.rollups.size() >= MAX_ROLLUPS) {
+                return false;
+            }
+            EventParams group = new EventParams(rule.groupKeys.length);
+            if (eventParams != null) {
+                for (String key : rule.groupKeys) {
+                    int index = eventParams.indexOf(key);
+                    if (index >= 0) {
+                        copy(eventParams, index, group);
+                    }
+                }
+            }
+            Rollup created = new Rollup(group.freeze(), rule.valueKey != null);
+            rollup = rule.rollups.putIfAbsent(hash, created);
+            rollup = rollup != null ? rollup : created;
+        }
+
+        //rare hash collision, emit event on its own
+        if (!matches(rollup.group, rule.groupKeys, eventParams)) {
+            return false;
+        }
+
+        rollup.count.increment();
+        if (rollup.values != null && eventParams != null) {
+            int index = eventParams.indexOf(rule.valueKey);
+            if (index >= 0) {
+                byte type = eventParams.typeAt(index);
+                if (type == EventParams.TYPE_LONG) {
+                    rollup.values.record(eventParams.longAt(index));
+                } else if (type == EventParams.TYPE_DOUBLE) {
+                    rollup.values.record(eventParams.doubleAt(index));
+                }
+            }
+        }
+
+        //emit when interval elapsed, by a single caller
+        long due = nextEmit.get();
+        if (due == 0) {
+            nextEmit.compareAndSet(0, now + interval);
+        } else if (now >= due && nextEmit.compareAndSet(due, now + interval)) {
+            drain();
+        }
+
+        return true;
+    }
+
+    /**
+     * Emit and reset all pending rollups, removing idle ones
+     */
+    synchronized void drain() {
+        for (Map.Entry<String, Rule> entry : rules.entrySet()) {
+            String eventName = entry.getKey();
+            Rule rule = entry.getValue();
+
+            //late events of rollups removed on last drain
+            for (Rollup rollup : rule.retired) {
+                emit(eventName, rollup);
+            }
+
+            List<Rollup> retired = new ArrayList<>();
+            for (Map.Entry<Long, Rollup> rollups : rule.rollups.entrySet()) {
+                Rollup rollup = rollups.getValue();
+                if (!emit(eventName, rollup)
+                        && rule.rollups.remove(rollups.getKey(), rollup)) {
+                    retired.add(rollup);
+                }
+            }
+            rule.retired = retired;
+        }
+    }
+
+    /**
+     * Emit and reset rollup
+     *
+     * @param eventName event name
+     * @param rollup    rollup to emit
+     * @return false if rollup was idle
+     */
+    private boolean emit(@NonNull String eventName, @NonNull Rollup rollup) {
+        long count = rollup.count.sumThenReset();
+        if (count == 0) {
+            return false;
+        }
+
+        EventParams params = rollup.group.copy(6);
+        params.put(PARAM_COUNT, count);
+        if (rollup.values != null) {
+            Histogram.Snapshot values = rollup.values.snapshot(true);
+            if (values.getCount() > 0) {
+                params.put(PARAM_SUM, values.getSum());
+                params.put(PARAM_MIN, values.getMin());
+                params.put(PARAM_MAX, values.getMax());
+                params.put(PARAM_P50, values.getQuantile(0.5));
+                params.put(PARAM_P90, values.getQuantile(0.9));
+            }
+        }
+        emitter.emit(eventName, params);
+        return true;
+    }
+
+    private static long hash(@NonNull String[] keys, @Nullable EventParams params) {
+        long hash = Deduplicator.SEED;
+        for (String key : keys) {
+            int index = params != null ? params.indexOf(key) : -1;
+            long value = 0;
+            if (index >= 0) {
+                switch (params.typeAt(index)) {
+                    case EventParams.TYPE_LONG:
+                        value = params.longAt(index);
+                        break;
+                    case EventParams.TYPE_DOUBLE:
+                        value = Double.doubleToLongBits(params.doubleAt(index));
+                        break;
+                    default:
+                        Object object = params.objectAt(index);
+                        value = object != null ? object.hashCode() : 0;
+                        break;
+                }
+            }
+            long h = (hash ^ value) * 0xff51afd7ed558ccdL;
+            hash = h ^ (h >>> 29);
+        }
+        return hash;
+    }
+
+    private static boolean matches(
+            @NonNull EventParams group, @NonNull String[] keys, @Nullable EventParams params) {
+        for (String key : keys) {
+            int expected = group.indexOf(key);
+            int actual = params != null ? params.indexOf(key) : -1;
+            if (expected < 0 || actual < 0) {
+                if (expected != actual) {
+                    return false;
+                }
+                continue;
+            }
+            byte type = group.typeAt(expected);
+            if (type != params.typeAt(actual)) {
+                return false;
+            }
+            switch (type) {
+                case EventParams.TYPE_LONG:
+                    if (group.longAt(expected) != params.longAt(actual)) return false;
+                    break;
+                case EventParams.TYPE_DOUBLE:
+                    if (Double.compare(group.doubleAt(expected), params.doubleAt(actual)) != 0)
+                        return false;
+                    break;
+                default:
+                    //interned values match by identity
+                    Object value = group.objectAt(expected);
+                    Object other = params.objectAt(actual);
+                    if (value != other && (value == null || !value.equals(other))) return false;
+                    break;
+            }
+        }
+        return true;
+    }
+
+    private static void copy(@NonNull EventParams from, int index, @NonNull EventParams to) {
+        String key = from.keyAt(index);
+        switch (from.typeAt(index)) {
+            case EventParams.TYPE_STRING:
+                to.put(key, (String) from.objectAt(index));
+                break;
+            case EventParams.TYPE_LONG:
+                to.put(key, from.longAt(index));
+                break;
+            case EventParams.TYPE_DOUBLE:
+                to.put(key, from.doubleAt(index));
+                break;
+            default:
+                to.putObject(key, from.objectAt(index));
+                break;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.lykmapipo.analytic;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * AnalyticEvent
+ * <p>
+ * Declare an interface as a typed analytic event. The analytic processor generates a final
+ * {@link TypedEvent} implementation named after the interface with an Analytic prefix,
+ * i.e LevelUp generates AnalyticLevelUp. Each abstract accessor of the interface is an
+ * event parameter, keyed by its {@link EventParam} or by its name in snake case.
+ * </p>
+ * <p>
+ * Event name and parameter keys are validated against Firebase constraints at compile
+ * time, so invalid events fail the build.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface AnalyticEvent {
+    /**
+     * @return event name
+     */
+    String value();
+}
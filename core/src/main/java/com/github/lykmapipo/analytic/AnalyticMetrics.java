@@ -0,0 +1,422 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * AnalyticMetrics
+ * <p>
+ * Instrumentation registry of the event pipeline: counters of accepted, rejected, sampled,
+ * deduplicated, rate limited and dropped events, in total, per event name and per event
+ * category, counters of dropped parameter values, of events not journaled, of sink
+ * failures and of Firebase constraint violations, and latency histograms of caller side
+ * tracking and sink dispatch.
+ * </p>
+ * <p>
+ * Totals are {@link StripedCounter}s and latencies are lock free {@link Histogram}s, so
+ * recording never locks. Snapshots are immutable and can be read at any time.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class AnalyticMetrics {
+    /**
+     * Event counters
+     */
+    public static final int ACCEPTED = 0;
+    public static final int REJECTED = 1;
+    public static final int SAMPLED = 2;
+    public static final int DEDUPED = 3;
+    public static final int RATE_LIMITED = 4;
+    public static final int DROPPED = 5;
+
+    /**
+     * Parameter counter, values dropped because sinks can not carry their type
+     */
+    public static final int DROPPED_PARAMS = 6;
+
+    /**
+     * Journal counter, accepted events not journaled because the journal is full
+     */
+    public static final int UNJOURNALED = 7;
+
+    /**
+     * Sink counter, deliveries of an event a sink failed to receive. An event is counted as
+     * {@link #DROPPED} only when no sink received it.
+     */
+    public static final int SINK_FAILED = 8;
+    static final int COUNTERS = 9;
+
+    /**
+     * Validation counters, totals only, of Firebase constraint violations: event names
+     * rejected per kind, invalid parameter keys removed, parameters dropped over limit and
+     * string values truncated. Ordered as {@link Validator} violations.
+     */
+    public static final int VALIDATION_INVALID_NAME = 9;
+    public static final int VALIDATION_RESERVED_NAME = 10;
+    public static final int VALIDATION_TOO_MANY_NAMES = 11;
+    public static final int VALIDATION_INVALID_KEY = 12;
+    public static final int VALIDATION_TOO_MANY_PARAMS = 13;
+    public static final int VALIDATION_VALUE_TOO_LONG = 14;
+
+    /**
+     * Name of the event or category bucket counting names over limit
+     */
+    public static final String OTHER = "other";
+
+    static final int MAX_NAMES = 512;
+
+    /**
+     * Interface definition for a callback to be invoked with periodic metrics snapshots
+     */
+    public interface Listener {
+        /**
+         * @param snapshot metrics snapshot
+         */
+        void onMetrics(@NonNull Snapshot snapshot);
+    }
+
+    private final StripedCounter[] totals = new StripedCounter[COUNTERS];
+    private final ConcurrentHashMap<String, AtomicLongArray> events = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLongArray> categories = new ConcurrentHashMap<>();
+    private final Histogram trackLatency = new Histogram();
+    private final Histogram dispatchLatency = new Histogram();
+    private final AtomicLong nextPublish = new AtomicLong();
+
+    AnalyticMetrics() {
+        for (int i = 0; i < COUNTERS; i++) {
+            totals[i] = new StripedCounter();
+        }
+    }
+
+    /**
+     * Count an event
+     *
+     * @param counter   event counter i.e {@link #ACCEPTED}
+     * @param eventName event name
+     * @param category  event category, if known
+     */
+    void count(int counter, @Nullable String eventName, @Nullable String category) {
+        totals[counter].increment();
+        if (eventName != null) {
+            counters(events, eventName).getAndIncrement(counter);
+        }
+        if (category != null) {
+            counters(categories, category).getAndIncrement(counter);
+        }
+    }
+
+    /**
+     * @param nanos caller side time spent tracking an event
+     */
+    void recordTrackLatency(long nanos) {
+        trackLatency.record(nanos);
+    }
+
+    /**
+     * @param nanos time spent dispatching an event to sinks
+     */
+    void recordDispatchLatency(long nanos) {
+        dispatchLatency.record(nanos);
+    }
+
+    /**
+     * Check if periodic snapshot is due, true for a single caller per interval
+     *
+     * @param now      current time in milliseconds, from a monotonic clock
+     * @param interval time in milliseconds between snapshots
+     * @return true if snapshot should be published
+     */
+    boolean isDue(long now, long interval) {
+        long due = nextPublish.get();
+        if (due == 0) {
+            nextPublish.compareAndSet(0, now + interval);
+            return false;
+        }
+        return now >= due && nextPublish.compareAndSet(due, now + interval);
+    }
+
+    /**
+     * Take snapshot of metrics
+     *
+     * @param queueDepth number of events waiting for dispatch
+     * @param spilled    number of spilled events waiting for dispatch
+     * @param overflows  number of times each {@link Backpressure} policy has been applied
+     * @param batchStats batching statistics
+     * @param violations number of times each {@link Validator} violation occurred
+     * @return {@link Snapshot}
+     */
+    @NonNull
+    Snapshot snapshot(
+            long queueDepth, long spilled, @NonNull long[] overflows,
+            @NonNull BatchStats batchStats, @NonNull long[] violations) {
+        long[] counts = new long[COUNTERS + Validator.VIOLATIONS];
+        for (int i = 0; i < COUNTERS; i++) {
+            counts[i] = totals[i].sum();
+        }
+        System.arraycopy(violations, 0, counts, COUNTERS, Validator.VIOLATIONS);
+        return new Snapshot(counts, copy(events), copy(categories),
+                queueDepth, spilled, overflows, batchStats,
+                new Latency(trackLatency.snapshot(false)),
+                new Latency(dispatchLatency.snapshot(false)));
+    }
+
+    /**
+     * Obtain counters of given name, or of {@link #OTHER} once {@link #MAX_NAMES} is reached
+     *
+     * @param counters counters by name
+     * @param name     event or category name
+     * @return counters
+     */
+    @NonNull
+    static AtomicLongArray counters(
+            @NonNull ConcurrentHashMap<String, AtomicLongArray> counters, @NonNull String name) {
+        AtomicLongArray current = counters.get(name);
+        if (current == null) {
+            boolean overflow = counters.size() >= MAX_NAMES;
+            String key = overflow ? OTHER : name;
+
+            //reuse overflow counters, never allocate for each name over limit
+            current = overflow ? counters.get(OTHER) : null;
+            if (current != null) {
+                return current;
+            }
+            AtomicLongArray created = new AtomicLongArray(COUNTERS);
+            current = counters.putIfAbsent(key, created);
+            current = current != null ? current : created;
+        }
+        return current;
+    }
+
+    @NonNull
+    private static Map<String, long[]> copy(
+            @NonNull ConcurrentHashMap<String, AtomicLongArray> counters) {
+        Map<String, long[]> copy = new HashMap<>();
+        for (Map.Entry<String, AtomicLongArray> entry : counters.entrySet()) {
+            long[] counts = new long[COUNTERS];
+            for (int i = 0; i < COUNTERS; i++) {
+                counts[i] = entry.getValue().get(i);
+            }
+            copy.put(entry.getKey(), counts);
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Immutable latency summary, in nanoseconds
+     */
+    public static final class Latency {
+        private final long count;
+        private final long mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long max;
+
+        Latency(@NonNull Histogram.Snapshot snapshot) {
+            this.count = snapshot.getCount();
+            this.mean = (long) snapshot.getMean();
+            this.p50 = (long) snapshot.getQuantile(0.5);
+            this.p90 = (long) snapshot.getQuantile(0.9);
+            this.p99 = (long) snapshot.getQuantile(0.99);
+            this.max = (long) snapshot.getMax();
+        }
+
+        /**
+         * @return number of recorded operations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public long getMean() {
+            return mean;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP90() {
+            return p90;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Latency{" +
+                    "count=" + count +
+                    ", meanMicros=" + TimeUnit.NANOSECONDS.toMicros(mean) +
+                    ", p50Micros=" + TimeUnit.NANOSECONDS.toMicros(p50) +
+                    ", p90Micros=" + TimeUnit.NANOSECONDS.toMicros(p90) +
+                    ", p99Micros=" + TimeUnit.NANOSECONDS.toMicros(p99) +
+                    ", maxMicros=" + TimeUnit.NANOSECONDS.toMicros(max) +
+                    '}';
+        }
+    }
+
+    /**
+     * Immutable snapshot of metrics
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final Map<String, long[]> events;
+        private final Map<String, long[]> categories;
+        private final long queueDepth;
+        private final long spilled;
+        private final long[] overflows;
+        private final BatchStats batchStats;
+        private final Latency trackLatency;
+        private final Latency dispatchLatency;
+
+        Snapshot(
+                long[] counts, Map<String, long[]> events, Map<String, long[]> categories,
+                long queueDepth, long spilled, long[] overflows, BatchStats batchStats,
+                Latency trackLatency, Latency dispatchLatency) {
+            this.counts = counts;
+            this.events = events;
+            this.categories = categories;
+            this.queueDepth = queueDepth;
+            this.spilled = spilled;
+            this.overflows = overflows;
+            this.batchStats = batchStats;
+            this.trackLatency = trackLatency;
+            this.dispatchLatency = dispatchLatency;
+        }
+
+        /**
+         * @param counter event or validation counter i.e {@link #ACCEPTED}
+         * @return total count
+         */
+        public long getCount(int counter) {
+            return counts[counter];
+        }
+
+        /**
+         * @param eventName event name
+         * @param counter   event counter i.e {@link #ACCEPTED}
+         * @return count of given event name
+         */
+        public long getEventCount(@NonNull String eventName, int counter) {
+            long[] values = events.get(eventName);
+            return values != null ? values[counter] : 0;
+        }
+
+        /**
+         * @param category event category i.e View
+         * @param counter  event counter i.e {@link #ACCEPTED}
+         * @return count of given event category
+         */
+        public long getCategoryCount(@NonNull String category, int counter) {
+            long[] values = categories.get(category);
+            return values != null ? values[counter] : 0;
+        }
+
+        /**
+         * @return counted event names
+         */
+        @NonNull
+        public Set<String> getEventNames() {
+            return events.keySet();
+        }
+
+        /**
+         * @return counted event categories
+         */
+        @NonNull
+        public Set<String> getCategories() {
+            return categories.keySet();
+        }
+
+        /**
+         * @return number of events waiting for dispatch
+         */
+        public long getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * @return number of spilled events waiting for dispatch
+         */
+        public long getSpilled() {
+            return spilled;
+        }
+
+        /**
+         * @param policy backpressure policy i.e {@link Backpressure#DROP_NEWEST}
+         * @return number of times given policy has been applied to a full queue
+         */
+        public long getOverflowCount(int policy) {
+            return overflows[policy];
+        }
+
+        @NonNull
+        public BatchStats getBatchStats() {
+            return batchStats;
+        }
+
+        /**
+         * @return caller side latency of tracking an event
+         */
+        @NonNull
+        public Latency getTrackLatency() {
+            return trackLatency;
+        }
+
+        /**
+         * @return latency of dispatching an event to sinks
+         */
+        @NonNull
+        public Latency getDispatchLatency() {
+            return dispatchLatency;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "accepted=" + counts[ACCEPTED] +
+                    ", rejected=" + counts[REJECTED] +
+                    ", sampled=" + counts[SAMPLED] +
+                    ", deduped=" + counts[DEDUPED] +
+                    ", rateLimited=" + counts[RATE_LIMITED] +
+                    ", dropped=" + counts[DROPPED] +
+                    ", droppedParams=" + counts[DROPPED_PARAMS] +
+                    ", unjournaled=" + counts[UNJOURNALED] +
+                    ", sinkFailed=" + counts[SINK_FAILED] +
+                    ", invalidNames=" + counts[VALIDATION_INVALID_NAME] +
+                    ", reservedNames=" + counts[VALIDATION_RESERVED_NAME] +
+                    ", tooManyNames=" + counts[VALIDATION_TOO_MANY_NAMES] +
+                    ", invalidKeys=" + counts[VALIDATION_INVALID_KEY] +
+                    ", tooManyParams=" + counts[VALIDATION_TOO_MANY_PARAMS] +
+                    ", valuesTooLong=" + counts[VALIDATION_VALUE_TOO_LONG] +
+                    ", queueDepth=" + queueDepth +
+                    ", spilled=" + spilled +
+                    ", dropNewest=" + overflows[Backpressure.DROP_NEWEST] +
+                    ", dropOldest=" + overflows[Backpressure.DROP_OLDEST] +
+                    ", blocked=" + overflows[Backpressure.BLOCK] +
+                    ", spills=" + overflows[Backpressure.SPILL] +
+                    ", batchStats=" + batchStats +
+                    ", trackLatency=" + trackLatency +
+                    ", dispatchLatency=" + dispatchLatency +
+                    '}';
+        }
+    }
+}
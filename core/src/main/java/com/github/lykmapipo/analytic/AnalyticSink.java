@@ -0,0 +1,59 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+/**
+ * AnalyticSink
+ * <p>
+ * Contract to be implemented by a backend which receive tracked events and user data
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public interface AnalyticSink {
+    /**
+     * Receive an event with its final parameters
+     *
+     * @param name   event name
+     * @param params final event parameters, must not be modified
+     */
+    void logEvent(@NonNull String name, @NonNull EventParams params);
+
+    /**
+     * Receive a batch of events with their final parameters, in the order they were
+     * tracked. Default implementation delivers them one by one to
+     * {@link #logEvent(String, EventParams)}. Failing a batch fails all of its events.
+     *
+     * @param names  event names
+     * @param params final event parameters, must not be modified
+     * @param count  number of events in the batch
+     */
+    default void logEvents(@NonNull String[] names, @NonNull EventParams[] params, int count) {
+        for (int i = 0; i < count; i++) {
+            logEvent(names[i], params[i]);
+        }
+    }
+
+    /**
+     * Receive user identifier
+     *
+     * @param identifier valid unique user identifier
+     */
+    void setUserId(@NonNull String identifier);
+
+    /**
+     * Receive user property
+     *
+     * @param key   valid property key
+     * @param value valid property value
+     */
+    void setUserProperty(@NonNull String key, @NonNull String value);
+
+    /**
+     * Flush buffered data, if any
+     */
+    default void flush() {
+    }
+}
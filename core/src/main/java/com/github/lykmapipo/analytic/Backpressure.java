@@ -0,0 +1,198 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backpressure
+ * <p>
+ * Policies applied when producers outrun sinks and the {@link Dispatcher} queue is full.
+ * A policy is selected per event name, then per event category, then falls back to the
+ * default policy:
+ * </p>
+ * <ul>
+ * <li>{@link #DROP_NEWEST} drops the incoming event</li>
+ * <li>{@link #DROP_OLDEST} drops the oldest queued event which may be dropped</li>
+ * <li>{@link #BLOCK} blocks the producer until there is room or the timeout expires,
+ * then drops the incoming event</li>
+ * <li>{@link #SPILL} appends the incoming event to an on-disk {@link Spill} drained
+ * once the queue is empty. While events are spilled, later events with this policy are
+ * spilled too, so they are dispatched in order among themselves, but after events of
+ * other policies queued meanwhile. Events with this policy are never dropped.</li>
+ * </ul>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class Backpressure {
+    public static final int DROP_NEWEST = 0;
+    public static final int DROP_OLDEST = 1;
+    public static final int BLOCK = 2;
+    public static final int SPILL = 3;
+    static final int POLICIES = 4;
+
+    /**
+     * Default maximum number of queued events
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Default time in milliseconds a producer is blocked by {@link #BLOCK} policy
+     */
+    public static final long DEFAULT_TIMEOUT = 50L;
+
+    /**
+     * Interface definition for a callback invoked, on any thread, when an event is dropped
+     */
+    interface Listener {
+        void onDropped(@NonNull TrackedEvent event);
+    }
+
+    private final Listener listener;
+    private final StripedCounter[] counts = new StripedCounter[POLICIES];
+    private volatile Map<Object, Integer> policies = Collections.emptyMap();
+    private volatile int defaultPolicy = DROP_NEWEST;
+    private volatile int capacity = DEFAULT_CAPACITY;
+    private volatile long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT);
+    private volatile Spill spill;
+
+    Backpressure(@NonNull Listener listener) {
+        this.listener = listener;
+        for (int i = 0; i < POLICIES; i++) {
+            counts[i] = new StripedCounter();
+        }
+    }
+
+    /**
+     * Apply policy to events with given name or category
+     *
+     * @param key    event name or category
+     * @param policy valid policy i.e {@link #SPILL}
+     */
+    synchronized void setPolicy(@NonNull Object key, int policy) {
+        checkPolicy(policy);
+        Map<Object, Integer> updated = new HashMap<>(policies);
+        updated.put(key, policy);
+        policies = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Remove policy of given event name or category
+     *
+     * @param key event name or category
+     */
+    synchronized void removePolicy(@NonNull Object key) {
+        Map<Object, Integer> updated = new HashMap<>(policies);
+        updated.remove(key);
+        policies = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * @param policy policy of events without own policy
+     */
+    void setDefaultPolicy(int policy) {
+        checkPolicy(policy);
+        defaultPolicy = policy;
+    }
+
+    /**
+     * Obtain policy of an event
+     *
+     * @param eventName event name
+     * @param category  event category, if any
+     * @return event policy
+     */
+    int policyOf(@NonNull String eventName, @Nullable Object category) {
+        Map<Object, Integer> current = policies;
+        if (!current.isEmpty()) {
+            Integer policy = current.get(eventName);
+            if (policy == null && category != null) {
+                policy = current.get(category);
+            }
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return defaultPolicy;
+    }
+
+    /**
+     * @param capacity maximum number of queued events, zero for unbounded queue
+     */
+    void setCapacity(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    boolean isBounded() {
+        return capacity > 0;
+    }
+
+    /**
+     * @param timeout time in milliseconds a producer is blocked by {@link #BLOCK} policy
+     */
+    void setTimeout(long timeout) {
+        timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, timeout));
+    }
+
+    long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    /**
+     * @param spill on-disk overflow of {@link #SPILL} policy, null to keep overflow in memory
+     */
+    void setSpill(@Nullable Spill spill) {
+        this.spill = spill;
+    }
+
+    @Nullable
+    Spill getSpill() {
+        return spill;
+    }
+
+    /**
+     * Record policy applied to an event
+     *
+     * @param policy applied policy
+     */
+    void applied(int policy) {
+        counts[policy].increment();
+    }
+
+    /**
+     * Notify dropped event
+     *
+     * @param event dropped event
+     */
+    void dropped(@NonNull TrackedEvent event) {
+        listener.onDropped(event);
+    }
+
+    /**
+     * @return number of times each policy has been applied, indexed by policy
+     */
+    @NonNull
+    long[] getCounts() {
+        long[] current = new long[POLICIES];
+        for (int i = 0; i < POLICIES; i++) {
+            current[i] = counts[i].sum();
+        }
+        return current;
+    }
+
+    private static void checkPolicy(int policy) {
+        if (policy < 0 || policy >= POLICIES) {
+            throw new IllegalArgumentException("Unknown backpressure policy " + policy);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.lykmapipo.analytic;
+
+/**
+ * BatchStats
+ * <p>
+ * Immutable snapshot of event batching statistics
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class BatchStats {
+    public static final BatchStats EMPTY = new BatchStats(0, 0, 0, 0, 0, 0, 0);
+
+    private final long flushCount;
+    private final long flushedEvents;
+    private final long droppedEvents;
+    private final int lastFlushSize;
+    private final int maxFlushSize;
+    private final long lastFlushLatency;
+    private final long maxFlushLatency;
+
+    BatchStats(
+            long flushCount, long flushedEvents, long droppedEvents,
+            int lastFlushSize, int maxFlushSize,
+            long lastFlushLatency, long maxFlushLatency) {
+        this.flushCount = flushCount;
+        this.flushedEvents = flushedEvents;
+        this.droppedEvents = droppedEvents;
+        this.lastFlushSize = lastFlushSize;
+        this.maxFlushSize = maxFlushSize;
+        this.lastFlushLatency = lastFlushLatency;
+        this.maxFlushLatency = maxFlushLatency;
+    }
+
+    /**
+     * @return number of flushes performed
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * @return number of events successfully flushed
+     */
+    public long getFlushedEvents() {
+        return flushedEvents;
+    }
+
+    /**
+     * @return number of events dropped because sink failed
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * @return size of the last flushed batch
+     */
+    public int getLastFlushSize() {
+        return lastFlushSize;
+    }
+
+    /**
+     * @return size of the largest flushed batch
+     */
+    public int getMaxFlushSize() {
+        return maxFlushSize;
+    }
+
+    /**
+     * @return average size of flushed batches
+     */
+    public double getAverageFlushSize() {
+        return flushCount == 0 ? 0 : (double) (flushedEvents + droppedEvents) / flushCount;
+    }
+
+    /**
+     * @return time in milliseconds the last batch was open before being flushed
+     */
+    public long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+
+    /**
+     * @return maximum time in milliseconds a batch was open before being flushed
+     */
+    public long getMaxFlushLatency() {
+        return maxFlushLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStats{" +
+                "flushCount=" + flushCount +
+                ", flushedEvents=" + flushedEvents +
+                ", droppedEvents=" + droppedEvents +
+                ", lastFlushSize=" + lastFlushSize +
+                ", maxFlushSize=" + maxFlushSize +
+                ", lastFlushLatency=" + lastFlushLatency +
+                ", maxFlushLatency=" + maxFlushLatency +
+                '}';
+    }
+}
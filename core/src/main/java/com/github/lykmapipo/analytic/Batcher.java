@@ -0,0 +1,147 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batcher
+ * <p>
+ * Size and time bounded batching stage running on the dispatcher thread. Events are
+ * collected and flushed downstream as a group when the batch reaches its maximum size,
+ * when it has been open for its maximum latency or when a flush is requested.
+ * Events enqueued concurrently are flushed in the order they were tracked, and each
+ * flush hands the whole batch downstream at once.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Batcher implements Dispatcher.Callback {
+    private final TrackedEvent[] batch;
+    private final long maxLatencyNanos;
+    private final Dispatcher.Callback downstream;
+    private int size;
+    private long openedAt;
+
+    // statistics are written by dispatcher thread only
+    private volatile long flushCount;
+    private volatile long flushedEvents;
+    private volatile long droppedEvents;
+    private volatile int lastFlushSize;
+    private volatile int maxFlushSize;
+    private volatile long lastFlushLatency;
+    private volatile long maxFlushLatency;
+
+    Batcher(int maxEvents, long maxLatencyMillis, @NonNull Dispatcher.Callback downstream) {
+        this.batch = new TrackedEvent[Math.max(1, maxEvents)];
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxLatencyMillis));
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onDispatch(@NonNull TrackedEvent event) {
+        if (size == 0) {
+            openedAt = System.nanoTime();
+        }
+
+        batch[size++] = event;
+
+        //flush full batch
+        if (size == batch.length) {
+            flush();
+        }
+    }
+
+    @Override
+    public long onIdle() {
+        //nothing to wait for
+        if (size == 0) {
+            return -1L;
+        }
+
+        //flush expired batch
+        long remaining = maxLatencyNanos - (System.nanoTime() - openedAt);
+        if (remaining <= 0) {
+            flush();
+            return -1L;
+        }
+
+        return remaining;
+    }
+
+    @Override
+    public void onFlush() {
+        flush();
+        downstream.onFlush();
+    }
+
+    /**
+     * Flush current batch downstream
+     */
+    private void flush() {
+        int flushed = size;
+        if (flushed == 0) {
+            return;
+        }
+
+        //dispatch batched events in order, in a single downstream call
+        order(flushed);
+        long dropped;
+        try {
+            dropped = downstream.onDispatch(batch, flushed);
+        } catch (RuntimeException e) {
+            dropped = flushed;
+        }
+        for (int i = 0; i < flushed; i++) {
+            batch[i] = null;
+        }
+        size = 0;
+
+        //update statistics
+        long latency = System.nanoTime() - openedAt;
+        flushCount = flushCount + 1;
+        flushedEvents = flushedEvents + (flushed - dropped);
+        droppedEvents = droppedEvents + dropped;
+        lastFlushSize = flushed;
+        maxFlushSize = Math.max(maxFlushSize, flushed);
+        lastFlushLatency = latency;
+        maxFlushLatency = Math.max(maxFlushLatency, latency);
+    }
+
+    /**
+     * Insertion sort runs of sequenced events by their sequence, a nearly sorted batch is
+     * sorted in linear time. Events without a sequence keep their position.
+     *
+     * @param count number of batched events
+     */
+    private void order(int count) {
+        for (int i = 1; i < count; i++) {
+            TrackedEvent event = batch[i];
+            long sequence = event.getSequence();
+            if (sequence == EventClock.NO_SEQUENCE) {
+                continue;
+            }
+            int j = i - 1;
+            while (j >= 0 && batch[j].getSequence() > sequence) {
+                batch[j + 1] = batch[j];
+                j--;
+            }
+            batch[j + 1] = event;
+        }
+    }
+
+    /**
+     * Obtain current batching statistics
+     *
+     * @return {@link BatchStats}
+     */
+    @NonNull
+    BatchStats getStats() {
+        return new BatchStats(
+                flushCount, flushedEvents, droppedEvents, lastFlushSize, maxFlushSize,
+                TimeUnit.NANOSECONDS.toMillis(lastFlushLatency),
+                TimeUnit.NANOSECONDS.toMillis(maxFlushLatency));
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.lykmapipo.analytic;
+
+/**
+ * Clock
+ * <p>
+ * Source of time used to stamp and schedule events. Implementations must be thread safe,
+ * tests and benchmarks may supply a deterministic clock.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public interface Clock {
+    /**
+     * @return wall time in milliseconds since unix epoch, used to anchor event times
+     */
+    long currentTimeMillis();
+
+    /**
+     * @return monotonic time in nanoseconds since an arbitrary origin, never going backwards
+     */
+    long elapsedRealtimeNanos();
+}
@@ -0,0 +1,161 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Deduplicator
+ * <p>
+ * Time windowed duplicate suppression backed by a fixed capacity, open addressing hash
+ * table. Each slot packs a key fingerprint and the time the key was last accepted into
+ * a single long, so slots are claimed and refreshed with a plain CAS without locking.
+ * </p>
+ * <p>
+ * A key is looked up within a short probe sequence. When it is absent, the empty or
+ * least recently accepted slot of the sequence is evicted, which keeps memory bounded
+ * regardless of the number of distinct keys.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Deduplicator {
+    static final int DEFAULT_CAPACITY = 256;
+    static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final int PROBES = 4;
+    private static final long TIME_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private volatile long window;
+
+    /**
+     * @param capacity maximum number of remembered keys, rounded up to a power of two
+     * @param window   time window in milliseconds, zero to disable
+     */
+    Deduplicator(int capacity, long window) {
+        int size = Integer.highestOneBit(Math.max(PROBES, capacity) - 1) << 1;
+        this.slots = new AtomicLongArray(size);
+        this.mask = size - 1;
+        setWindow(window);
+    }
+
+    /**
+     * @param window time window in milliseconds, zero to disable
+     */
+    void setWindow(long window) {
+        this.window = Math.max(0L, Math.min(window, Integer.MAX_VALUE));
+    }
+
+    long getWindow() {
+        return window;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Mix a key component into a running hash
+     *
+     * @param hash      running hash, {@link #SEED} for the first component
+     * @param component key component
+     * @return hash
+     */
+    static long hash(long hash, @Nullable String component) {
+        return hash(hash, component != null ? component.hashCode() : 0);
+    }
+
+    /**
+     * Mix a key component hash into a running hash
+     *
+     * @param hash      running hash, {@link #SEED} for the first component
+     * @param component hash of key component
+     * @return hash
+     */
+    static long hash(long hash, long component) {
+        long h = (hash ^ component) * 0xff51afd7ed558ccdL;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Check if key was accepted within the time window, otherwise accept it
+     *
+     * @param key  key hash
+     * @param now  current time in milliseconds, from a monotonic clock
+     * @return true if key is a duplicate
+     */
+    boolean isDuplicate(long key, long now) {
+        long span = window;
+        if (span == 0) {
+            return false;
+        }
+
+        int fingerprint = (int) (key >>> 32);
+        if (fingerprint == 0) {
+            fingerprint = 1;
+        }
+        long accepted = ((long) fingerprint << 32) | (now & TIME_MASK);
+        int index = (int) key & mask;
+
+        for (; ; ) {
+            int victim = -1;
+            long victimEntry = 0;
+            int victimAge = Integer.MIN_VALUE;
+            boolean raced = false;
+
+            for (int i = 0; i < PROBES && !raced; i++) {
+                int slot = (index + i) & mask;
+                long entry = slots.get(slot);
+
+                //first empty slot is the preferred victim
+                if (entry == 0) {
+                    if (victim < 0 || victimEntry != 0) {
+                        victim = slot;
+                        victimEntry = 0;
+                    }
+                    continue;
+                }
+
+                //age wraps with time, negative when accepted concurrently
+                int age = (int) now - (int) entry;
+
+                //known key, duplicate within window otherwise refresh
+                if ((int) (entry >>> 32) == fingerprint) {
+                    if (age < span) {
+                        return true;
+                    }
+                    if (slots.compareAndSet(slot, entry, accepted)) {
+                        return false;
+                    }
+                    raced = true;
+                    continue;
+                }
+
+                //otherwise least recently accepted slot
+                if ((victim < 0 || victimEntry != 0) && age > victimAge) {
+                    victim = slot;
+                    victimEntry = entry;
+                    victimAge = age;
+                }
+            }
+
+            //claim victim, retry when another caller got there first
+            if (!raced && slots.compareAndSet(victim, victimEntry, accepted)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Forget all keys
+     */
+    void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0L);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispatcher
+ * <p>
+ * Multi-producer/single-consumer hand-off of {@link TrackedEvent}s to a dedicated
+ * dispatcher thread. Producers never lock: they offer to a lock-free queue and only
+ * unpark the consumer when it is sleeping.
+ * </p>
+ * <p>
+ * The queue is bounded by {@link Backpressure} capacity, whose policies decide what
+ * happens to events offered to a full queue. Spilled events are dispatched once the
+ * queue is empty, and while any are spilled new {@link Backpressure#SPILL} events are
+ * spilled behind them, so they keep their order.
+ * </p>
+ * <p>
+ * Once stopped, the dispatcher refuses new events, so producers racing with
+ * {@link #stop(long)} dispatch them on their own thread instead of losing them.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Dispatcher implements Runnable {
+    static final String THREAD_NAME = "analytic-dispatcher";
+
+    /**
+     * Interface definition for a callback invoked on the dispatcher thread
+     */
+    interface Callback {
+        void onDispatch(@NonNull TrackedEvent event);
+
+        /**
+         * Called with a batch of events, in order. Events must not be retained.
+         *
+         * @param events batched events
+         * @param count  number of events in the batch
+         * @return number of events dropped
+         */
+        default int onDispatch(@NonNull TrackedEvent[] events, int count) {
+            int dropped = 0;
+            for (int i = 0; i < count; i++) {
+                try {
+                    onDispatch(events[i]);
+                } catch (RuntimeException e) {
+                    dropped++;
+                }
+            }
+            return dropped;
+        }
+
+        /**
+         * Called when the queue has been drained
+         *
+         * @return nanoseconds to sleep before calling again, or negative to sleep until woken up
+         */
+        default long onIdle() {
+            return -1L;
+        }
+
+        /**
+         * Called when a flush has been requested, after the queue has been drained
+         */
+        default void onFlush() {
+        }
+    }
+
+    private final ConcurrentLinkedQueue<TrackedEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean sleeping = new AtomicBoolean(false);
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final StripedCounter enqueued = new StripedCounter();
+    private final StripedCounter evicted = new StripedCounter();
+    private final AtomicInteger blocked = new AtomicInteger();
+    private final AtomicInteger producers = new AtomicInteger();
+    private final Object space = new Object();
+    private final Callback callback;
+    private final Backpressure backpressure;
+    private volatile long dequeued; // written by dispatcher thread only
+    private volatile boolean running;
+    private volatile boolean closed;
+    private volatile Thread thread;
+
+    Dispatcher(@NonNull Callback callback, @NonNull Backpressure backpressure) {
+        this.callback = callback;
+        this.backpressure = backpressure;
+    }
+
+    /**
+     * Start dispatcher thread
+     */
+    synchronized void start() {
+        if (thread == null) {
+            running = true;
+            thread = new Thread(this, THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop dispatcher thread after draining already queued events. Events enqueued after
+     * stop are refused.
+     *
+     * @param timeoutMillis maximum time to wait for the drain to complete
+     */
+    synchronized void stop(long timeoutMillis) {
+        //refuse new events, then wait for producers already enqueuing
+        closed = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (producers.get() > 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+
+        Thread current = thread;
+        if (current != null) {
+            running = false;
+            LockSupport.unpark(current);
+            try {
+                current.join(timeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Queue event for dispatch, applying its {@link Backpressure} policy when the queue is
+     * full. Safe to call from any thread.
+     *
+     * @param event valid event
+     * @return false if dispatcher is stopped and event was not queued
+     */
+    boolean enqueue(@NonNull TrackedEvent event) {
+        //counted before checking closed, so stop waits for this producer
+        producers.incrementAndGet();
+        try {
+            if (closed) {
+                return false;
+            }
+            apply(event);
+            return true;
+        } finally {
+            producers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queue event, applying its {@link Backpressure} policy when the queue is full
+     *
+     * @param event valid event
+     */
+    private void apply(@NonNull TrackedEvent event) {
+        int capacity = backpressure.getCapacity();
+        if (capacity <= 0 || getDepth() < capacity) {
+            //queue behind spilled events to keep them in order
+            if (event.getPolicy() == Backpressure.SPILL && getSpilled() > 0) {
+                spill(event);
+            } else {
+                offer(event);
+            }
+            return;
+        }
+
+        int policy = event.getPolicy();
+        backpressure.applied(policy);
+        switch (policy) {
+            case Backpressure.DROP_OLDEST:
+                TrackedEvent oldest = evict();
+                if (oldest != null) {
+                    backpressure.dropped(oldest);
+                    offer(event);
+                } else {
+                    backpressure.dropped(event);
+                }
+                break;
+
+            case Backpressure.BLOCK:
+                if (await(capacity, backpressure.getTimeoutNanos())) {
+                    offer(event);
+                } else {
+                    backpressure.dropped(event);
+                }
+                break;
+
+            case Backpressure.SPILL:
+                spill(event);
+                break;
+
+            default:
+                backpressure.dropped(event);
+                break;
+        }
+    }
+
+    /**
+     * Add event to the queue and wake up dispatcher thread if sleeping
+     *
+     * @param event valid event
+     */
+    private void offer(@NonNull TrackedEvent event) {
+        enqueued.increment();
+        queue.offer(event);
+        if (sleeping.get()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Append event to the spill, never drop, overflow in memory if spill is unavailable
+     *
+     * @param event valid event
+     */
+    private void spill(@NonNull TrackedEvent event) {
+        Spill spill = backpressure.getSpill();
+        if (spill == null || !spill.append(event)) {
+            offer(event);
+        }
+    }
+
+    /**
+     * Remove oldest queued event which may be dropped
+     *
+     * @return removed event, or null if all queued events must be kept
+     */
+    @Nullable
+    private TrackedEvent evict() {
+        Iterator<TrackedEvent> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            TrackedEvent candidate = iterator.next();
+            //remove is atomic, so a candidate polled meanwhile is never dropped twice
+            if (candidate.getPolicy() != Backpressure.SPILL && queue.remove(candidate)) {
+                evicted.increment();
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Block producer until queue has room
+     *
+     * @param capacity maximum number of queued events
+     * @param timeout  maximum time to wait in nanoseconds
+     * @return true if queue has room
+     */
+    private boolean await(int capacity, long timeout) {
+        //never block dispatcher thread on itself
+        if (Thread.currentThread() == thread) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + timeout;
+        blocked.incrementAndGet();
+        try {
+            synchronized (space) {
+                long remaining = timeout;
+                while (getDepth() >= capacity && remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(space, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            blocked.decrementAndGet();
+        }
+        return getDepth() < capacity;
+    }
+
+    /**
+     * @return approximate number of queued events
+     */
+    long getDepth() {
+        return Math.max(0L, enqueued.sum() - dequeued - evicted.sum());
+    }
+
+    /**
+     * @return number of spilled events waiting for dispatch
+     */
+    long getSpilled() {
+        Spill spill = backpressure.getSpill();
+        return spill != null ? spill.size() : 0L;
+    }
+
+    /**
+     * Request queued events to be flushed downstream. Safe to call from any thread.
+     */
+    void flush() {
+        flushRequested.set(true);
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        while (running || !queue.isEmpty() || getSpilled() > 0) {
+            TrackedEvent event = queue.poll();
+
+            //release blocked producers
+            if (event != null) {
+                dequeued = dequeued + 1;
+                if (blocked.get() > 0) {
+                    synchronized (space) {
+                        space.notifyAll();
+                    }
+                }
+            }
+
+            //then drain spilled events once queue is empty
+            else {
+                Spill spill = backpressure.getSpill();
+                event = spill != null && !spill.isEmpty() ? spill.poll() : null;
+            }
+
+            //dispatch next event
+            if (event != null) {
+                try {
+                    callback.onDispatch(event);
+                } catch (RuntimeException e) {
+                    // never let a faulty sink kill the dispatcher
+                }
+                continue;
+            }
+
+            //flush on request
+            if (flushRequested.getAndSet(false)) {
+                flushCallback();
+                continue;
+            }
+
+            //sleep until a producer wakes us up or the callback deadline expires
+            long timeout = callback.onIdle();
+            sleeping.set(true);
+            if (running && queue.isEmpty() && getSpilled() == 0 && !flushRequested.get()) {
+                if (timeout < 0) {
+                    LockSupport.park(this);
+                } else if (timeout > 0) {
+                    LockSupport.parkNanos(this, timeout);
+                }
+            }
+            sleeping.set(false);
+        }
+
+        //flush open batch once drained on stop
+        flushCallback();
+    }
+
+    private void flushCallback() {
+        try {
+            callback.onFlush();
+        } catch (RuntimeException e) {
+            // never let a faulty sink kill the dispatcher
+        }
+    }
+}
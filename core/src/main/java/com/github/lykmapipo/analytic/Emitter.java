@@ -0,0 +1,23 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Emitter
+ * <p>
+ * Interface definition for a callback to be invoked with events synthesized by a
+ * pipeline stage, such as rollups and drop reports. Emitted events skip the stage
+ * that produced them.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+interface Emitter {
+    /**
+     * @param eventName   event name
+     * @param eventParams event parameters, owned by the emitter afterwards
+     */
+    void emit(@NonNull String eventName, @NonNull EventParams eventParams);
+}
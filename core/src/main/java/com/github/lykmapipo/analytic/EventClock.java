@@ -0,0 +1,87 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventClock
+ * <p>
+ * Stamps events with a time and a sequence number. Wall time is read once, when the clock
+ * is anchored, and event times are derived from monotonic time elapsed since, so they
+ * never go backwards. Sequence numbers are unique and increasing across threads, giving a
+ * total order to events tracked within the same millisecond.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class EventClock {
+    /**
+     * Sequence of events not stamped by an {@link EventClock}, i.e replayed from disk
+     */
+    static final long NO_SEQUENCE = 0L;
+
+    private final Clock clock;
+    private final AtomicLong sequence;
+    private final long originMillis;
+    private final long originNanos;
+
+    EventClock(@NonNull Clock clock) {
+        this(clock, new AtomicLong(NO_SEQUENCE));
+    }
+
+    private EventClock(@NonNull Clock clock, @NonNull AtomicLong sequence) {
+        this.clock = clock;
+        this.sequence = sequence;
+        this.originNanos = clock.elapsedRealtimeNanos();
+        this.originMillis = clock.currentTimeMillis();
+    }
+
+    @NonNull
+    Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Anchor a new clock, continuing the sequence of this one
+     *
+     * @param clock source of time
+     * @return {@link EventClock}
+     */
+    @NonNull
+    EventClock anchor(@NonNull Clock clock) {
+        return new EventClock(clock, sequence);
+    }
+
+    /**
+     * @return event time in milliseconds since unix epoch
+     */
+    long currentTimeMillis() {
+        long elapsed = clock.elapsedRealtimeNanos() - originNanos;
+        return originMillis + TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    /**
+     * @return monotonic time in milliseconds
+     */
+    long elapsedRealtime() {
+        return TimeUnit.NANOSECONDS.toMillis(clock.elapsedRealtimeNanos());
+    }
+
+    /**
+     * @return monotonic time in nanoseconds
+     */
+    long elapsedRealtimeNanos() {
+        return clock.elapsedRealtimeNanos();
+    }
+
+    /**
+     * @return next sequence number, starting from 1
+     */
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+}
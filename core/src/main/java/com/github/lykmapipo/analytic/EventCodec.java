@@ -0,0 +1,703 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EventCodec
+ * <p>
+ * Compact versioned binary format of events, independent of Android Bundle and Parcel
+ * which are not stable across versions. Journal and spill records are single events,
+ * exports are streams of events sharing their encoding context. An event is encoded as:
+ * </p>
+ * <ul>
+ * <li>event name as a string reference</li>
+ * <li>time as a zigzag varint delta from the previous event of the stream, or from
+ * {@link #EPOCH} for the first event and single records</li>
+ * <li>varint number of parameters, then per parameter: key as a string reference, a type
+ * tag and its value. Strings are string references, longs are zigzag varints, doubles are
+ * 8 bytes, booleans are a byte, {@link EventItems} are a varint count followed by their
+ * items, nested {@link EventParams} are written as parameters and lists of them as a varint
+ * count followed by each of them. Values of any other type are skipped and counted, see
+ * {@link Encoder#getDropped()}.</li>
+ * </ul>
+ * <p>
+ * A string reference is a varint: 0 for null, 1 for a literal followed by its varint
+ * length and UTF-8 bytes, otherwise an index into the dictionary. The dictionary holds
+ * well known event names and keys of the format version, then literals in the order they
+ * occur, up to {@link #MAX_DICTIONARY_SIZE} entries, so repeated names, keys and values are
+ * written once per record or stream.
+ * </p>
+ * <p>
+ * Decoding reads straight from a {@link ByteBuffer}, well known and {@link Interner}ed
+ * strings decode to their shared instance.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class EventCodec {
+    /**
+     * Current format version
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Oldest format version still decoded, version 1 lacks boolean and nested parameters
+     */
+    static final int MIN_VERSION = 1;
+
+    /**
+     * Base time in milliseconds of time deltas, 2020-01-01T00:00:00Z
+     */
+    public static final long EPOCH = 1577836800000L;
+
+    private static final int MAGIC = 0x414E4531; // ANE1, stream header
+    private static final int MAX_DICTIONARY_SIZE = 4096;
+    private static final int REF_NULL = 0;
+    private static final int REF_LITERAL = 1;
+    private static final int REF_DICTIONARY = 2;
+    private static final int MAX_DEPTH = 8; // nesting of parameters
+    private static final byte TYPE_ITEMS = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+    private static final byte TYPE_PARAMS = 7;
+    private static final byte TYPE_PARAMS_LIST = 8;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Well known event names and keys of version 1, append only. They are interned first,
+     * so their {@link Interner} ids are their dictionary indexes.
+     */
+    static final String[] WELL_KNOWN = {
+            //events
+            "app_open", "login", "sign_up", "share", "tutorial_begin", "tutorial_complete",
+            "view_item", "view_item_list", "select_content", "add_to_wishlist", "add_to_cart",
+            "begin_checkout", "checkout_progress", "ecommerce_purchase", "search",
+            //keys
+            "item_id", "item_name", "item_category", "content_type", "quantity", "price",
+            "currency", "value", "method", "checkout_step", "checkout_option", "group_id",
+            "success", "items", "search_term", "time", "timezone", "medium", "sample_weight",
+            "payment_method", "payment_reference", "rollup_count", "rollup_sum", "rollup_min",
+            "rollup_max", "rollup_p50", "rollup_p90",
+            //values
+            "android", "USD", "action_performed", "screen"
+    };
+
+    private static final ThreadLocal<Encoder> encoders = new ThreadLocal<Encoder>() {
+        @Override
+        protected Encoder initialValue() {
+            return new Encoder();
+        }
+    };
+
+    private static final ThreadLocal<Decoder> decoders = new ThreadLocal<Decoder>() {
+        @Override
+        protected Decoder initialValue() {
+            return new Decoder();
+        }
+    };
+
+    private EventCodec() {
+    }
+
+    /**
+     * Encode event as a single record into a thread confined scratch buffer
+     *
+     * @param name   event name
+     * @param time   event time
+     * @param params event parameters
+     * @return scratch encoder holding the record, valid until next call on same thread
+     */
+    @NonNull
+    static Encoder encode(@NonNull String name, long time, @Nullable EventParams params) {
+        Encoder encoder = encoders.get();
+        encoder.reset();
+        encoder.writeByte(VERSION);
+        encoder.writeEvent(name, time, params);
+        return encoder;
+    }
+
+    /**
+     * Decode single event record
+     *
+     * @param payload record payload, from its position to its limit
+     * @param offset  journal offset of the record
+     * @return decoded event, or null if payload is malformed or of unknown version
+     */
+    @Nullable
+    static TrackedEvent decode(@NonNull ByteBuffer payload, long offset) {
+        try {
+            int version = payload.get(payload.position());
+            if (version < MIN_VERSION || version > VERSION) {
+                return null;
+            }
+
+            Decoder decoder = decoders.get();
+            decoder.reset(payload);
+            payload.get();
+            decoder.readEvent();
+            if (payload.hasRemaining()) {
+                return null;
+            }
+            return new TrackedEvent(decoder.name, decoder.time, decoder.params, offset);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a stream of events sharing dictionary and time deltas, i.e to export events.
+     * Not thread safe.
+     */
+    public static final class Writer {
+        private final Encoder encoder = new Encoder();
+
+        public Writer() {
+            reset();
+        }
+
+        /**
+         * Append event to the stream
+         *
+         * @param name   event name
+         * @param time   event time in milliseconds
+         * @param params event parameters, values of unsupported types are skipped
+         * @return this writer
+         */
+        @NonNull
+        public Writer write(@NonNull String name, long time, @Nullable EventParams params) {
+            encoder.writeEvent(name, time, params);
+            return this;
+        }
+
+        /**
+         * @return number of bytes written
+         */
+        public int size() {
+            return encoder.size;
+        }
+
+        @NonNull
+        public byte[] toByteArray() {
+            return Arrays.copyOf(encoder.data, encoder.size);
+        }
+
+        public void writeTo(@NonNull OutputStream out) throws IOException {
+            out.write(encoder.data, 0, encoder.size);
+        }
+
+        /**
+         * Discard written events and start a new stream
+         */
+        public void reset() {
+            encoder.reset();
+            encoder.writeFixedInt(MAGIC);
+            encoder.writeByte(VERSION);
+        }
+    }
+
+    /**
+     * Reads a stream of events written by {@link Writer}, straight from its buffer.
+     * Not thread safe.
+     */
+    public static final class Reader {
+        private final ByteBuffer buffer;
+        private final Decoder decoder = new Decoder();
+
+        /**
+         * @param buffer stream, from its position to its limit
+         * @throws IllegalArgumentException if buffer is not a stream of a supported version
+         */
+        public Reader(@NonNull ByteBuffer buffer) {
+            this.buffer = buffer;
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IllegalArgumentException("Not an event stream");
+                }
+                int version = buffer.get();
+                if (version < MIN_VERSION || version > VERSION) {
+                    throw new IllegalArgumentException("Unsupported version " + version);
+                }
+            } catch (BufferUnderflowException e) {
+                throw new IllegalArgumentException("Not an event stream", e);
+            }
+            decoder.reset(buffer);
+        }
+
+        /**
+         * Read next event
+         *
+         * @return false at end of stream
+         * @throws IllegalArgumentException if stream is malformed
+         */
+        public boolean next() {
+            if (!buffer.hasRemaining()) {
+                return false;
+            }
+            try {
+                decoder.readEvent();
+                return true;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed event stream", e);
+            }
+        }
+
+        /**
+         * @return name of current event
+         */
+        @NonNull
+        public String getName() {
+            return decoder.name;
+        }
+
+        /**
+         * @return time in milliseconds of current event
+         */
+        public long getTime() {
+            return decoder.time;
+        }
+
+        /**
+         * @return parameters of current event
+         */
+        @NonNull
+        public EventParams getParams() {
+            return decoder.params;
+        }
+    }
+
+    /**
+     * Growable scratch buffer with the encoding context of a record or stream
+     */
+    static final class Encoder {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private byte[] data = new byte[256];
+        private int size;
+        private int dropped;
+        private long previousTime;
+
+        @NonNull
+        byte[] getData() {
+            return data;
+        }
+
+        int getSize() {
+            return size;
+        }
+
+        /**
+         * @return number of parameters skipped since last reset, their type can not be encoded
+         */
+        int getDropped() {
+            return dropped;
+        }
+
+        void reset() {
+            size = 0;
+            dropped = 0;
+            previousTime = EPOCH;
+            if (!dictionary.isEmpty()) {
+                dictionary.clear();
+            }
+        }
+
+        void writeEvent(@NonNull String name, long time, @Nullable EventParams params) {
+            writeString(name);
+            writeSignedVarint(time - previousTime);
+            previousTime = time;
+
+            writeParams(params, 0);
+        }
+
+        private void writeParams(@Nullable EventParams params, int depth) {
+            if (params == null) {
+                writeVarint(0);
+                return;
+            }
+
+            int size = params.size();
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (isSupported(params, i, depth)) {
+                    count++;
+                } else {
+                    dropped++;
+                }
+            }
+            writeVarint(count);
+
+            for (int i = 0; i < size; i++) {
+                if (!isSupported(params, i, depth)) {
+                    continue;
+                }
+                writeString(params.keyAt(i));
+                byte type = params.typeAt(i);
+                if (type == EventParams.TYPE_STRING) {
+                    writeByte(type);
+                    writeString((String) params.objectAt(i));
+                } else if (type == EventParams.TYPE_LONG) {
+                    writeByte(type);
+                    writeSignedVarint(params.longAt(i));
+                } else if (type == EventParams.TYPE_DOUBLE) {
+                    writeByte(type);
+                    writeDouble(params.doubleAt(i));
+                } else {
+                    writeObject(params.objectAt(i), depth);
+                }
+            }
+        }
+
+        private void writeObject(@NonNull Object value, int depth) {
+            if (value instanceof EventItems) {
+                writeByte(TYPE_ITEMS);
+                writeItems((EventItems) value);
+            } else if (value instanceof Boolean) {
+                writeByte(TYPE_BOOLEAN);
+                writeByte((Boolean) value ? 1 : 0);
+            } else if (value instanceof EventParams) {
+                writeByte(TYPE_PARAMS);
+                writeParams((EventParams) value, depth + 1);
+            } else {
+                List<?> list = (List<?>) value;
+                writeByte(TYPE_PARAMS_LIST);
+                writeVarint(list.size());
+                for (Object element : list) {
+                    writeParams((EventParams) element, depth + 1);
+                }
+            }
+        }
+
+        private void writeItems(@NonNull EventItems items) {
+            int size = items.size();
+            writeVarint(size);
+            for (int i = 0; i < size; i++) {
+                writeString(items.idAt(i));
+                writeString(items.nameAt(i));
+                writeString(items.categoryAt(i));
+                writeSignedVarint(items.quantityAt(i));
+                writeDouble(items.priceAt(i));
+            }
+        }
+
+        /**
+         * Write string reference, adding literals to the dictionary while it has room
+         */
+        private void writeString(@Nullable String value) {
+            if (value == null) {
+                writeVarint(REF_NULL);
+                return;
+            }
+
+            int id = Interner.idOf(value);
+            if (id != Interner.NO_ID && id < WELL_KNOWN.length) {
+                writeVarint(REF_DICTIONARY + id);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarint(REF_DICTIONARY + index);
+                return;
+            }
+
+            if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                dictionary.put(value, WELL_KNOWN.length + dictionary.size());
+            }
+            writeVarint(REF_LITERAL);
+            writeUtf8(value);
+        }
+
+        /**
+         * Write varint length then UTF-8 bytes, without an intermediate array
+         */
+        private void writeUtf8(@NonNull String value) {
+            int length = value.length();
+            int bytes = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    bytes += 3;
+                }
+            }
+            writeVarint(bytes);
+            ensure(bytes);
+
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    data[size++] = (byte) c;
+                } else if (c < 0x800) {
+                    data[size++] = (byte) (0xC0 | (c >> 6));
+                    data[size++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    data[size++] = (byte) (0xF0 | (codePoint >> 18));
+                    data[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    data[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    data[size++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    //lone surrogate is replaced, as String.getBytes does
+                    char encoded = Character.isSurrogate(c) ? '?' : c;
+                    data[size++] = (byte) (0xE0 | (encoded >> 12));
+                    data[size++] = (byte) (0x80 | ((encoded >> 6) & 0x3F));
+                    data[size++] = (byte) (0x80 | (encoded & 0x3F));
+                }
+            }
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            data[size++] = (byte) value;
+        }
+
+        private void writeFixedInt(int value) {
+            ensure(4);
+            data[size++] = (byte) (value >>> 24);
+            data[size++] = (byte) (value >>> 16);
+            data[size++] = (byte) (value >>> 8);
+            data[size++] = (byte) value;
+        }
+
+        private void writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            writeFixedInt((int) (bits >>> 32));
+            writeFixedInt((int) bits);
+        }
+
+        private void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        private void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+            }
+        }
+
+        private static boolean isSupported(@NonNull EventParams params, int index, int depth) {
+            byte type = params.typeAt(index);
+            if (type != EventParams.TYPE_OBJECT) {
+                return true;
+            }
+
+            Object value = params.objectAt(index);
+            if (value instanceof EventItems || value instanceof Boolean) {
+                return true;
+            }
+            if (depth >= MAX_DEPTH) {
+                return false;
+            }
+            if (value instanceof EventParams) {
+                return true;
+            }
+            if (!(value instanceof List)) {
+                return false;
+            }
+            for (Object element : (List<?>) value) {
+                if (!(element instanceof EventParams)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Decoding context of a record or stream
+     */
+    static final class Decoder {
+        private final ArrayList<String> dictionary = new ArrayList<>();
+        private byte[] scratch = new byte[64];
+        private ByteBuffer buffer;
+        private long previousTime;
+
+        //current event
+        private String name;
+        private long time;
+        private EventParams params;
+
+        void reset(@NonNull ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.previousTime = EPOCH;
+            this.dictionary.clear();
+        }
+
+        void readEvent() {
+            String eventName = readString();
+            if (eventName == null) {
+                throw new IllegalArgumentException("Missing event name");
+            }
+            long eventTime = previousTime + readSignedVarint();
+            EventParams eventParams = readParams(0);
+
+            previousTime = eventTime;
+            name = eventName;
+            time = eventTime;
+            params = eventParams;
+        }
+
+        @NonNull
+        private EventParams readParams(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw new IllegalArgumentException("Parameters nested too deep");
+            }
+
+            int count = readCount();
+            EventParams eventParams = new EventParams(count);
+            for (int i = 0; i < count; i++) {
+                String key = readString();
+                if (key == null) {
+                    throw new IllegalArgumentException("Missing parameter key");
+                }
+                byte type = buffer.get();
+                switch (type) {
+                    case EventParams.TYPE_STRING:
+                        String value = readString();
+                        if (value != null) {
+                            eventParams.put(key, value);
+                        }
+                        break;
+                    case EventParams.TYPE_LONG:
+                        eventParams.put(key, readSignedVarint());
+                        break;
+                    case EventParams.TYPE_DOUBLE:
+                        eventParams.put(key, buffer.getDouble());
+                        break;
+                    case TYPE_ITEMS:
+                        eventParams.putObject(key, readItems());
+                        break;
+                    case TYPE_BOOLEAN:
+                        eventParams.putObject(key, buffer.get() != 0);
+                        break;
+                    case TYPE_PARAMS:
+                        eventParams.putObject(key, readParams(depth + 1));
+                        break;
+                    case TYPE_PARAMS_LIST:
+                        int size = readCount();
+                        ArrayList<EventParams> list = new ArrayList<>(size);
+                        for (int j = 0; j < size; j++) {
+                            list.add(readParams(depth + 1));
+                        }
+                        eventParams.putObject(key, list);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown parameter type " + type);
+                }
+            }
+            return eventParams;
+        }
+
+        @NonNull
+        private EventItems readItems() {
+            int count = readCount();
+            EventItems items = new EventItems(count);
+            for (int i = 0; i < count; i++) {
+                String id = readString();
+                if (id == null) {
+                    throw new IllegalArgumentException("Missing item id");
+                }
+                String itemName = readString();
+                String category = readString();
+                long quantity = readSignedVarint();
+                double price = buffer.getDouble();
+                items.add(id, itemName, category, quantity, price);
+            }
+            return items;
+        }
+
+        @Nullable
+        private String readString() {
+            long ref = readVarint();
+            if (ref == REF_NULL) {
+                return null;
+            }
+            if (ref >= REF_DICTIONARY) {
+                long index = ref - REF_DICTIONARY;
+                if (index < WELL_KNOWN.length) {
+                    return WELL_KNOWN[(int) index];
+                }
+                return dictionary.get((int) (index - WELL_KNOWN.length));
+            }
+
+            //literal
+            int length = readCount();
+            String value;
+            if (buffer.hasArray()) {
+                int position = buffer.position();
+                value = new String(
+                        buffer.array(), buffer.arrayOffset() + position, length, UTF_8);
+                buffer.position(position + length);
+            } else {
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(scratch.length * 2, length)];
+                }
+                buffer.get(scratch, 0, length);
+                value = new String(scratch, 0, length, UTF_8);
+            }
+
+            //share interned instance of common values
+            value = Interner.canonical(value);
+            if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+                dictionary.add(value);
+            }
+            return value;
+        }
+
+        /**
+         * Read non negative count bounded by remaining bytes
+         */
+        private int readCount() {
+            long count = readVarint();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid length " + count);
+            }
+            return (int) count;
+        }
+
+        private long readSignedVarint() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * EventItems
+ * <p>
+ * Compact list of ecommerce items carried by a single event parameter, stored in parallel
+ * arrays: ids, names, categories, quantities and prices. A whole cart is one parameter
+ * value instead of one map per item; sinks expand it into their own item format, i.e
+ * Firebase ITEMS, only when the event is sent.
+ * </p>
+ * <p>
+ * Items are appended while the event is built and are read only afterwards.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class EventItems {
+    /**
+     * Maximum number of items of an event accepted by Firebase
+     */
+    public static final int MAX_ITEMS = 200;
+
+    private String[] ids;
+    private String[] names;
+    private String[] categories;
+    private long[] quantities;
+    private double[] prices;
+    private int size;
+
+    EventItems(int capacity) {
+        int initial = Math.max(1, Math.min(capacity, MAX_ITEMS));
+        ids = new String[initial];
+        names = new String[initial];
+        categories = new String[initial];
+        quantities = new long[initial];
+        prices = new double[initial];
+    }
+
+    /**
+     * Append an item
+     *
+     * @param id       item id
+     * @param name     item name
+     * @param category item category
+     * @param quantity item quantity
+     * @param price    item unit price, NaN if unknown
+     * @return false if the list is full and the item was not added
+     */
+    boolean add(
+            @NonNull String id, @Nullable String name, @Nullable String category,
+            long quantity, double price) {
+        if (size == MAX_ITEMS) {
+            return false;
+        }
+        if (size == ids.length) {
+            int capacity = Math.min(MAX_ITEMS, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        ids[size] = id;
+        names[size] = name;
+        categories[size] = category;
+        quantities[size] = quantity;
+        prices[size] = price;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @NonNull
+    public String idAt(int index) {
+        return ids[index];
+    }
+
+    @Nullable
+    public String nameAt(int index) {
+        return names[index];
+    }
+
+    @Nullable
+    public String categoryAt(int index) {
+        return categories[index];
+    }
+
+    public long quantityAt(int index) {
+        return quantities[index];
+    }
+
+    /**
+     * @param index item index
+     * @return item unit price, NaN if unknown
+     */
+    public double priceAt(int index) {
+        return prices[index];
+    }
+
+    public boolean hasPriceAt(int index) {
+        return !Double.isNaN(prices[index]);
+    }
+
+    /**
+     * @return total quantity of items
+     */
+    public long getQuantity() {
+        long quantity = 0;
+        for (int i = 0; i < size; i++) {
+            quantity += quantities[i];
+        }
+        return quantity;
+    }
+
+    /**
+     * @return total value of priced items, NaN if no item has a price
+     */
+    public double getValue() {
+        double value = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(prices[i])) {
+                value = (Double.isNaN(value) ? 0 : value) + prices[i] * quantities[i];
+            }
+        }
+        return value;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(ids[i]).append('x').append(quantities[i]);
+            if (hasPriceAt(i)) {
+                builder.append('@').append(prices[i]);
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EventItems)) return false;
+        EventItems that = (EventItems) o;
+        if (size != that.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (!ids[i].equals(that.ids[i])
+                    || !equal(names[i], that.names[i])
+                    || !equal(categories[i], that.categories[i])
+                    || quantities[i] != that.quantities[i]
+                    || Double.compare(prices[i], that.prices[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + ids[i].hashCode();
+            result = 31 * result + (int) (quantities[i] ^ (quantities[i] >>> 32));
+        }
+        return result;
+    }
+
+    private static boolean equal(@Nullable String a, @Nullable String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
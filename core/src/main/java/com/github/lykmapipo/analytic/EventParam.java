@@ -0,0 +1,29 @@
+package com.github.lykmapipo.analytic;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * EventParam
+ * <p>
+ * Key an accessor of an {@link AnalyticEvent} interface. Supported types are String,
+ * integral numbers, floating point numbers and booleans, boxed or not. Null values are
+ * left out.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface EventParam {
+    /**
+     * @return parameter key
+     */
+    String value();
+}
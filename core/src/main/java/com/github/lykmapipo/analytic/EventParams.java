@@ -0,0 +1,385 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * EventParams
+ * <p>
+ * Compact event parameters stored in parallel arrays: keys, type tags, a primitive store for
+ * longs and doubles and an object store for strings and opaque values. Primitive values are
+ * never boxed and copies are plain array copies.
+ * </p>
+ * <p>
+ * Keys are {@link Interner}ed and compared by identity before equality, so repeated keys
+ * share one instance and take the fast path.
+ * A frozen instance is immutable and safe to share between threads.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class EventParams {
+    public static final byte TYPE_STRING = 1;
+    public static final byte TYPE_LONG = 2;
+    public static final byte TYPE_DOUBLE = 3;
+    public static final byte TYPE_OBJECT = 4;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private String[] keys;
+    private byte[] types;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+    private int size;
+    private boolean frozen;
+
+    public EventParams() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EventParams(int capacity) {
+        int initial = Math.max(1, capacity);
+        keys = new String[initial];
+        types = new byte[initial];
+        longs = new long[initial];
+        doubles = new double[initial];
+        objects = new Object[initial];
+    }
+
+    /**
+     * @return number of parameters
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Find parameter index
+     *
+     * @param key parameter key
+     * @return index of the parameter, or negative if absent
+     */
+    public int indexOf(@NonNull String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean containsKey(@NonNull String key) {
+        return indexOf(key) >= 0;
+    }
+
+    @NonNull
+    public String keyAt(int index) {
+        return keys[index];
+    }
+
+    public byte typeAt(int index) {
+        return types[index];
+    }
+
+    public long longAt(int index) {
+        return longs[index];
+    }
+
+    public double doubleAt(int index) {
+        return doubles[index];
+    }
+
+    @Nullable
+    public Object objectAt(int index) {
+        return objects[index];
+    }
+
+    @Nullable
+    public String getString(@NonNull String key) {
+        int index = indexOf(key);
+        return index >= 0 && types[index] == TYPE_STRING ? (String) objects[index] : null;
+    }
+
+    public long getLong(@NonNull String key, long defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 && types[index] == TYPE_LONG ? longs[index] : defaultValue;
+    }
+
+    public double getDouble(@NonNull String key, double defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 && types[index] == TYPE_DOUBLE ? doubles[index] : defaultValue;
+    }
+
+    @NonNull
+    public EventParams put(@NonNull String key, @NonNull String value) {
+        int index = slot(key);
+        types[index] = TYPE_STRING;
+        objects[index] = value;
+        return this;
+    }
+
+    @NonNull
+    public EventParams put(@NonNull String key, long value) {
+        int index = slot(key);
+        types[index] = TYPE_LONG;
+        longs[index] = value;
+        objects[index] = null;
+        return this;
+    }
+
+    @NonNull
+    public EventParams put(@NonNull String key, double value) {
+        int index = slot(key);
+        types[index] = TYPE_DOUBLE;
+        doubles[index] = value;
+        objects[index] = null;
+        return this;
+    }
+
+    /**
+     * Put an opaque value, converted as is at the sink boundary
+     *
+     * @param key   parameter key
+     * @param value parameter value
+     * @return this
+     */
+    @NonNull
+    public EventParams putObject(@NonNull String key, @NonNull Object value) {
+        int index = slot(key);
+        types[index] = TYPE_OBJECT;
+        objects[index] = value;
+        return this;
+    }
+
+    /**
+     * Copy all parameters, overriding existing keys
+     *
+     * @param other parameters to copy
+     * @return this
+     */
+    @NonNull
+    public EventParams putAll(@Nullable EventParams other) {
+        if (other == null || other.size == 0) {
+            return this;
+        }
+
+        //plain array copy when empty
+        if (size == 0) {
+            ensureMutable();
+            ensureCapacity(other.size);
+            System.arraycopy(other.keys, 0, keys, 0, other.size);
+            System.arraycopy(other.types, 0, types, 0, other.size);
+            System.arraycopy(other.longs, 0, longs, 0, other.size);
+            System.arraycopy(other.doubles, 0, doubles, 0, other.size);
+            System.arraycopy(other.objects, 0, objects, 0, other.size);
+            size = other.size;
+            return this;
+        }
+
+        for (int i = 0; i < other.size; i++) {
+            int index = slot(other.keys[i]);
+            types[index] = other.types[i];
+            longs[index] = other.longs[i];
+            doubles[index] = other.doubles[i];
+            objects[index] = other.objects[i];
+        }
+        return this;
+    }
+
+    /**
+     * Remove parameter
+     *
+     * @param key parameter key
+     * @return this
+     */
+    @NonNull
+    public EventParams remove(@NonNull String key) {
+        ensureMutable();
+        int index = indexOf(key);
+        if (index >= 0) {
+            removeAt(index);
+        }
+        return this;
+    }
+
+    /**
+     * Remove parameter at given index, shifting following parameters
+     *
+     * @param index parameter index
+     */
+    void removeAt(int index) {
+        ensureMutable();
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(longs, index + 1, longs, index, moved);
+        System.arraycopy(doubles, index + 1, doubles, index, moved);
+        System.arraycopy(objects, index + 1, objects, index, moved);
+        size--;
+        keys[size] = null;
+        objects[size] = null;
+    }
+
+    /**
+     * Replace string value at given index
+     *
+     * @param index parameter index
+     * @param value parameter value
+     */
+    void setStringAt(int index, @NonNull String value) {
+        ensureMutable();
+        types[index] = TYPE_STRING;
+        objects[index] = value;
+    }
+
+    /**
+     * Keep only given number of first parameters
+     *
+     * @param length number of parameters to keep
+     */
+    void truncate(int length) {
+        ensureMutable();
+        if (length < size) {
+            Arrays.fill(keys, length, size, null);
+            Arrays.fill(objects, length, size, null);
+            size = length;
+        }
+    }
+
+    /**
+     * Remove all parameters, keeping allocated storage
+     */
+    public void clear() {
+        ensureMutable();
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return mutable copy of these parameters
+     */
+    @NonNull
+    public EventParams copy() {
+        return copy(0);
+    }
+
+    /**
+     * @param extra additional capacity to reserve
+     * @return mutable copy of these parameters
+     */
+    @NonNull
+    public EventParams copy(int extra) {
+        EventParams copy = new EventParams(size + Math.max(0, extra));
+        copy.putAll(this);
+        return copy;
+    }
+
+    /**
+     * Make these parameters immutable
+     *
+     * @return this
+     */
+    @NonNull
+    public EventParams freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private int slot(@NonNull String key) {
+        ensureMutable();
+        int index = indexOf(key);
+        if (index < 0) {
+            ensureCapacity(size + 1);
+            index = size++;
+            keys[index] = Interner.intern(key);
+        }
+        return index;
+    }
+
+    private void ensureMutable() {
+        if (frozen) {
+            throw new IllegalStateException("EventParams are frozen");
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int grown = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, grown);
+            types = Arrays.copyOf(types, grown);
+            longs = Arrays.copyOf(longs, grown);
+            doubles = Arrays.copyOf(doubles, grown);
+            objects = Arrays.copyOf(objects, grown);
+        }
+    }
+
+    private Object valueAt(int index) {
+        switch (types[index]) {
+            case TYPE_LONG:
+                return longs[index];
+            case TYPE_DOUBLE:
+                return doubles[index];
+            default:
+                return objects[index];
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("EventParams{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(keys[i]).append('=').append(valueAt(i));
+        }
+        return builder.append('}').toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        EventParams that = (EventParams) o;
+        if (size != that.size) return false;
+
+        for (int i = 0; i < size; i++) {
+            int index = that.indexOf(keys[i]);
+            if (index < 0 || types[i] != that.types[index]) return false;
+            Object value = valueAt(i);
+            Object other = that.valueAt(index);
+            if (value != null ? !value.equals(other) : other != null) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < size; i++) {
+            Object value = valueAt(i);
+            result += keys[i].hashCode() ^ (value != null ? value.hashCode() : 0);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,260 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventStream
+ * <p>
+ * Publishes dispatched events to in-app {@link EventSubscriber}s. Each subscriber has
+ * its own bounded buffer and is drained serially on its own executor as far as its
+ * demand allows, so publishing never blocks: an event is dropped for a subscriber whose
+ * buffer is full, without affecting other subscribers.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class EventStream {
+    static final int DEFAULT_CAPACITY = 128;
+    private static final Subscription[] EMPTY = new Subscription[0];
+
+    private volatile Subscription[] subscriptions = EMPTY;
+
+    /**
+     * Subscribe to published events
+     *
+     * @param subscriber subscriber to deliver events to
+     * @param executor   executor to deliver events on
+     * @param capacity   maximum number of buffered events
+     */
+    void subscribe(
+            @NonNull EventSubscriber subscriber, @NonNull Executor executor, int capacity) {
+        Subscription subscription =
+                new Subscription(this, subscriber, executor, Math.max(1, capacity));
+        synchronized (this) {
+            Subscription[] current = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+            current[subscriptions.length] = subscription;
+            subscriptions = current;
+        }
+        subscription.schedule();
+    }
+
+    boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    /**
+     * Publish event to all subscribers
+     *
+     * @param event event with frozen parameters
+     */
+    void publish(@NonNull TrackedEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Complete all subscribers, delivering their buffered events first
+     */
+    void complete() {
+        Subscription[] current;
+        synchronized (this) {
+            current = subscriptions;
+            subscriptions = EMPTY;
+        }
+        for (Subscription subscription : current) {
+            subscription.complete();
+        }
+    }
+
+    private synchronized void remove(@NonNull Subscription subscription) {
+        List<Subscription> current = new ArrayList<>(Arrays.asList(subscriptions));
+        if (current.remove(subscription)) {
+            subscriptions = current.toArray(EMPTY);
+        }
+    }
+
+    /**
+     * Per subscriber buffer and demand
+     */
+    private static final class Subscription implements EventSubscription, Runnable {
+        private final EventStream stream;
+        private final EventSubscriber subscriber;
+        private final Executor executor;
+        private final int capacity;
+        private final ConcurrentLinkedQueue<TrackedEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        // accessed by draining thread only
+        private boolean subscribed;
+        private boolean terminated;
+
+        Subscription(
+                @NonNull EventStream stream, @NonNull EventSubscriber subscriber,
+                @NonNull Executor executor, int capacity) {
+            this.stream = stream;
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.capacity = capacity;
+        }
+
+        void offer(@NonNull TrackedEvent event) {
+            if (cancelled || done) {
+                return;
+            }
+
+            //drop for this subscriber only when its buffer is full
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            }
+
+            queue.offer(event);
+            schedule();
+        }
+
+        void complete() {
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested events must be positive"));
+                return;
+            }
+
+            //add demand, capped to unbounded
+            for (; ; ) {
+                long current = requested.get();
+                long updated = current + n < 0 ? Long.MAX_VALUE : current + n;
+                if (requested.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                stream.remove(this);
+                schedule();
+            }
+        }
+
+        @Override
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /**
+         * Drain on executor unless a drain is already scheduled or running
+         */
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    stream.remove(this);
+                    queue.clear();
+                    wip.set(0);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (; ; ) {
+                if (!subscribed) {
+                    subscribed = true;
+                    try {
+                        subscriber.onSubscribe(this);
+                    } catch (RuntimeException e) {
+                        fail(e);
+                    }
+                }
+
+                //deliver as many events as requested
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    TrackedEvent event = queue.poll();
+                    if (event == null) {
+                        break;
+                    }
+                    size.decrementAndGet();
+                    try {
+                        subscriber.onNext(event.getName(), event.getParams());
+                    } catch (RuntimeException e) {
+                        fail(e);
+                    }
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                //release buffered events of cancelled subscription
+                if (cancelled) {
+                    queue.clear();
+                    size.set(0);
+                }
+
+                //signal terminal event once
+                if (!terminated) {
+                    terminate();
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate() {
+            Throwable failure = error;
+            try {
+                if (failure != null) {
+                    terminated = true;
+                    subscriber.onError(failure);
+                } else if (done && !cancelled && queue.isEmpty()) {
+                    terminated = true;
+                    subscriber.onComplete();
+                }
+            } catch (RuntimeException e) {
+                // nothing left to signal
+            }
+        }
+
+        private void fail(@NonNull Throwable failure) {
+            if (error == null) {
+                error = failure;
+            }
+            cancel();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+/**
+ * EventSubscriber
+ * <p>
+ * Receiver of tracked events, in the spirit of reactive streams subscribers. Events are
+ * delivered serially on the executor given on subscribe and only as requested through
+ * {@link EventSubscription#request(long)}.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public interface EventSubscriber {
+    /**
+     * Called once, before any event, with the subscription used to request events
+     *
+     * @param subscription {@link EventSubscription}
+     */
+    void onSubscribe(@NonNull EventSubscription subscription);
+
+    /**
+     * Called for each requested event
+     *
+     * @param name   event name
+     * @param params frozen event parameters
+     */
+    void onNext(@NonNull String name, @NonNull EventParams params);
+
+    /**
+     * Called once when this subscriber failed to handle an event, no event follows
+     *
+     * @param error failure thrown by this subscriber
+     */
+    default void onError(@NonNull Throwable error) {
+    }
+
+    /**
+     * Called once when no more events will be published
+     */
+    default void onComplete() {
+    }
+}
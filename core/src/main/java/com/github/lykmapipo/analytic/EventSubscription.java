@@ -0,0 +1,32 @@
+package com.github.lykmapipo.analytic;
+
+/**
+ * EventSubscription
+ * <p>
+ * Link between the event stream and a {@link EventSubscriber}, used to signal demand.
+ * Events published while the subscriber buffer is full are dropped for that subscriber
+ * only.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public interface EventSubscription {
+    /**
+     * Request given number of additional events, {@link Long#MAX_VALUE} for unbounded demand
+     *
+     * @param n positive number of events
+     */
+    void request(long n);
+
+    /**
+     * Stop receiving events and release buffered ones
+     */
+    void cancel();
+
+    /**
+     * @return number of events dropped because subscriber buffer was full
+     */
+    long getDropped();
+}
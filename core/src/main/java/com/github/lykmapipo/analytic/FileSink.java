@@ -0,0 +1,106 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * FileSink
+ * <p>
+ * {@link AnalyticSink} which append one tab separated line per event or user data to a file.
+ * Writes are buffered and only reach the file on {@link #flush()} or {@link #close()}.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public class FileSink implements AnalyticSink, Closeable {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File file;
+    private Writer writer;
+
+    public FileSink(@NonNull File file) {
+        this.file = file;
+    }
+
+    @NonNull
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void logEvent(@NonNull String name, @NonNull EventParams params) {
+        StringBuilder line = new StringBuilder("event\t").append(name);
+        for (int i = 0; i < params.size(); i++) {
+            line.append('\t').append(params.keyAt(i)).append('=');
+            switch (params.typeAt(i)) {
+                case EventParams.TYPE_LONG:
+                    line.append(params.longAt(i));
+                    break;
+                case EventParams.TYPE_DOUBLE:
+                    line.append(params.doubleAt(i));
+                    break;
+                default:
+                    line.append(params.objectAt(i));
+                    break;
+            }
+        }
+        write(line.toString());
+    }
+
+    @Override
+    public synchronized void setUserId(@NonNull String identifier) {
+        write("user_id\t" + identifier);
+    }
+
+    @Override
+    public synchronized void setUserProperty(@NonNull String key, @NonNull String value) {
+        write("user_property\t" + key + '=' + value);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException("Fail to flush " + file, e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void write(@NonNull String line) {
+        try {
+            //open lazily in append mode
+            if (writer == null) {
+                File parent = file.getParentFile();
+                if (parent != null && !parent.exists()) {
+                    parent.mkdirs();
+                }
+                writer = new BufferedWriter(
+                        new OutputStreamWriter(new FileOutputStream(file, true), UTF_8));
+            }
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new IllegalStateException("Fail to write " + file, e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram
+ * <p>
+ * Lock free histogram with logarithmic buckets, four per power of two, giving quantiles
+ * within 19% of the recorded values. Count and sum are striped like
+ * {@link StripedCounter}, minimum and maximum only contend on new extremes. Sum, minimum
+ * and maximum are exact for any value, while negative values fall in the lowest bucket,
+ * so quantiles below zero are reported as zero, or as the maximum if it is negative.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Histogram {
+    static final int BUCKETS = 160;
+
+    private static final int SUB_BUCKETS = 4;
+    private static final double LOG_BASE = Math.log(2) / SUB_BUCKETS;
+    private static final long EMPTY = Double.doubleToRawLongBits(Double.NaN);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray sums =
+            new AtomicLongArray(StripedCounter.STRIPES * StripedCounter.PADDING);
+    private final AtomicLong min = new AtomicLong(EMPTY);
+    private final AtomicLong max = new AtomicLong(EMPTY);
+
+    /**
+     * Record given value, negative values are bucketed as zero
+     *
+     * @param value value
+     */
+    void record(double value) {
+        buckets.getAndIncrement(bucket(value));
+
+        //striped sum
+        int cell = StripedCounter.stripe() * StripedCounter.PADDING;
+        long current;
+        do {
+            current = sums.get(cell);
+        } while (!sums.compareAndSet(cell, current,
+                Double.doubleToRawLongBits(Double.longBitsToDouble(current) + value)));
+
+        //extremes
+        long bits = Double.doubleToRawLongBits(value);
+        do {
+            current = min.get();
+        } while ((current == EMPTY || value < Double.longBitsToDouble(current))
+                && !min.compareAndSet(current, bits));
+        do {
+            current = max.get();
+        } while ((current == EMPTY || value > Double.longBitsToDouble(current))
+                && !max.compareAndSet(current, bits));
+    }
+
+    /**
+     * Take snapshot of recorded values
+     *
+     * @param reset whether to reset histogram, values recorded concurrently are carried
+     *              over to next snapshot
+     * @return {@link Snapshot}
+     */
+    @NonNull
+    Snapshot snapshot(boolean reset) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = reset ? buckets.getAndSet(i, 0L) : buckets.get(i);
+            count = count + counts[i];
+        }
+
+        double sum = 0;
+        for (int i = 0; i < StripedCounter.STRIPES; i++) {
+            int cell = i * StripedCounter.PADDING;
+            long bits = reset ? sums.getAndSet(cell, 0L) : sums.get(cell);
+            sum = sum + Double.longBitsToDouble(bits);
+        }
+
+        long low = reset ? min.getAndSet(EMPTY) : min.get();
+        long high = reset ? max.getAndSet(EMPTY) : max.get();
+        return new Snapshot(counts, count, sum,
+                low == EMPTY ? 0 : Double.longBitsToDouble(low),
+                high == EMPTY ? 0 : Double.longBitsToDouble(high));
+    }
+
+    static int bucket(double value) {
+        if (value < 1) {
+            return 0;
+        }
+        int bucket = 1 + (int) (Math.log(value) / LOG_BASE);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * @param bucket bucket index
+     * @return smallest value of a bucket
+     */
+    static double lowerBound(int bucket) {
+        return bucket == 0 ? 0 : Math.exp((bucket - 1) * LOG_BASE);
+    }
+
+    /**
+     * Immutable histogram snapshot
+     */
+    static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final double sum;
+        private final double min;
+        private final double max;
+
+        Snapshot(long[] counts, long count, double sum, double min, double max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        double getSum() {
+            return sum;
+        }
+
+        double getMin() {
+            return min;
+        }
+
+        double getMax() {
+            return max;
+        }
+
+        double getMean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        /**
+         * Estimate value at given quantile
+         *
+         * @param quantile quantile, between 0 and 1
+         * @return estimated value, within recorded minimum and maximum
+         */
+        double getQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(Math.max(0, Math.min(1, quantile)) * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen = seen + counts[i];
+                if (seen >= Math.max(1, rank)) {
+                    //geometric middle of bucket
+                    double value = i == 0 ? 0 : Math.sqrt(lowerBound(i) * lowerBound(i + 1));
+                    return Math.max(min, Math.min(max, value));
+                }
+            }
+            return max;
+        }
+    }
+}
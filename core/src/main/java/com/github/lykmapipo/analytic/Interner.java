@@ -0,0 +1,157 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interner
+ * <p>
+ * Process wide intern table of event names, parameter keys and common values. Each
+ * interned string has one canonical instance and a small integer id, so buffered events
+ * share a single copy of repeated strings and compare them by identity.
+ * </p>
+ * <p>
+ * The table is a fixed capacity, open addressing hash table of immutable entries claimed
+ * with a CAS, lookups and inserts never lock. Once full, strings are returned as is.
+ * Well known strings of the {@link EventCodec} format are interned first, in order, so
+ * their ids are stable across processes and are used by on-disk encodings.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Interner {
+    static final int NO_ID = -1;
+    static final int MAX_SIZE = 1024;
+
+    private static final int PROBES = 16;
+    private static final int MASK = MAX_SIZE * 2 - 1;
+
+    private static final AtomicReferenceArray<Entry> table =
+            new AtomicReferenceArray<>(MASK + 1);
+    private static final AtomicReferenceArray<String> values =
+            new AtomicReferenceArray<>(MAX_SIZE);
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    static {
+        for (String value : EventCodec.WELL_KNOWN) {
+            intern(value);
+        }
+    }
+
+    private Interner() {
+    }
+
+    /**
+     * Interned string and its id
+     */
+    private static final class Entry {
+        final String value;
+        final int hash;
+        final int id;
+
+        Entry(@NonNull String value, int hash, int id) {
+            this.value = value;
+            this.hash = hash;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Obtain canonical instance of a string, interning it while the table has room
+     *
+     * @param value string to intern
+     * @return canonical instance, or value itself if the table is full
+     */
+    @NonNull
+    static String intern(@NonNull String value) {
+        Entry entry = find(value, true);
+        return entry != null ? entry.value : value;
+    }
+
+    /**
+     * Obtain canonical instance of an already interned string, without interning it
+     *
+     * @param value string to look up
+     * @return canonical instance, or value itself if it is not interned
+     */
+    @Nullable
+    static String canonical(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        Entry entry = find(value, false);
+        return entry != null ? entry.value : value;
+    }
+
+    /**
+     * @param value string to look up
+     * @return id of an interned string, or {@link #NO_ID}
+     */
+    static int idOf(@NonNull String value) {
+        Entry entry = find(value, false);
+        return entry != null ? entry.id : NO_ID;
+    }
+
+    /**
+     * @param id id of an interned string
+     * @return interned string, or null if id is unknown
+     */
+    @Nullable
+    static String valueOf(int id) {
+        return id >= 0 && id < MAX_SIZE ? values.get(id) : null;
+    }
+
+    /**
+     * @return number of interned strings
+     */
+    static int size() {
+        return Math.min(nextId.get(), MAX_SIZE);
+    }
+
+    @Nullable
+    private static Entry find(@NonNull String value, boolean insert) {
+        int hash = spread(value.hashCode());
+        for (int probe = 0; probe < PROBES; probe++) {
+            int index = (hash + probe) & MASK;
+            Entry entry = table.get(index);
+
+            //claim empty slot, publishing the id before the entry
+            while (entry == null) {
+                if (!insert) {
+                    return null;
+                }
+                int id = nextId.get();
+                if (id >= MAX_SIZE) {
+                    return null;
+                }
+                if (!nextId.compareAndSet(id, id + 1)) {
+                    entry = table.get(index);
+                    continue;
+                }
+                values.set(id, value);
+                Entry created = new Entry(value, hash, id);
+                if (table.compareAndSet(index, null, created)) {
+                    return created;
+                }
+
+                //lost the slot, the claimed id stays unused
+                entry = table.get(index);
+            }
+
+            if (entry.value == value || (entry.hash == hash && entry.value.equals(value))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,346 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Journal
+ * <p>
+ * Durable circular write-ahead log of accepted events backed by a {@link MappedByteBuffer}.
+ * </p>
+ * <p>
+ * Layout: a fixed header followed by length-prefixed records
+ * <pre>
+ * header: magic(int) version(int) epoch(int) reserved(int) checkpoint(long) reserved(long)
+ * record: length(int) epoch(int) state(int) crc(int) payload(length bytes)
+ * </pre>
+ * Producers reserve space with a single CAS on the packed epoch and write position, then
+ * write their record without locking. The length is written last so a partially written
+ * record is never replayed. Records are acknowledged in place once a sink accepted them
+ * and the checkpoint is advanced past acknowledged records on group commit, which is also
+ * the only time the mapping is forced to disk.
+ * When a record does not fit before the end of the mapping, the producer leaves a wrap
+ * marker and continues from the start with the next epoch, up to the checkpoint. Space is
+ * therefore reclaimed as soon as records are acknowledged and record offsets never move;
+ * the journal is full only when that many records are still pending. Records of older
+ * epochs left behind are ignored on replay, and a journal of another version is reset.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Journal implements Closeable {
+    static final int DEFAULT_CAPACITY = 1024 * 1024;
+
+    private static final int MAGIC = 0x414E4A31; // ANJ1
+    private static final int VERSION = 2; // records are versioned EventCodec records
+    private static final int HEADER_SIZE = 32;
+    private static final int HEADER_EPOCH = 8;
+    private static final int HEADER_CHECKPOINT = 16;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final int RECORD_EPOCH = 4;
+    private static final int RECORD_STATE = 8;
+    private static final int RECORD_CRC = 12;
+    private static final int RECORD_WRAP = -1;
+    private static final int STATE_PENDING = 0;
+    private static final int STATE_ACKED = 1;
+    private static final int POSITION_BITS = 40;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+    /**
+     * Interface definition for a callback invoked with each pending record on replay
+     */
+    interface Replay {
+        /**
+         * @param offset  record offset, to be acknowledged once dispatched
+         * @param payload read-only record payload
+         */
+        void onRecord(long offset, @NonNull ByteBuffer payload);
+    }
+
+    private final File file;
+    private final RandomAccessFile raf;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicLong cursor = new AtomicLong(); // epoch << 40 | write position
+    private final ThreadLocal<CRC32> crcs = new ThreadLocal<CRC32>() {
+        @Override
+        protected CRC32 initialValue() {
+            return new CRC32();
+        }
+    };
+    private volatile long checkpoint; // epoch << 40 | checkpoint position
+    private volatile boolean dirty;
+    private long[] recovered = new long[0];
+
+    private Journal(@NonNull File file, int capacity) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        this.file = file;
+        this.capacity = capacity;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Open or create journal at given file
+     *
+     * @param file     journal file
+     * @param capacity journal size in bytes
+     * @return {@link Journal}
+     * @throws IOException if journal can not be mapped
+     */
+    @NonNull
+    static Journal open(@NonNull File file, int capacity) throws IOException {
+        Journal journal = new Journal(file, Math.max(capacity, HEADER_SIZE + RECORD_HEADER_SIZE));
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Validate header, locate end of valid records and collect pending ones
+     */
+    private void recover() {
+        boolean valid = buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION;
+        if (!valid) {
+            cursor.set(cursor(1, HEADER_SIZE));
+            writeHeader(cursor(1, HEADER_SIZE));
+            return;
+        }
+
+        int epoch = buffer.getInt(HEADER_EPOCH);
+        long offset = buffer.getLong(HEADER_CHECKPOINT);
+        if (offset < HEADER_SIZE || offset > capacity) {
+            offset = HEADER_SIZE;
+        }
+        checkpoint = cursor(epoch, offset);
+
+        //find end of valid records, following wrap markers
+        long[] pending = new long[16];
+        int count = 0;
+        while (true) {
+            if (isWrap(offset, epoch)) {
+                epoch = epoch + 1;
+                offset = HEADER_SIZE;
+            } else if (isValid(offset, epoch)) {
+                if (buffer.getInt((int) offset + RECORD_STATE) == STATE_PENDING) {
+                    if (count == pending.length) {
+                        pending = Arrays.copyOf(pending, count * 2);
+                    }
+                    pending[count++] = offset;
+                }
+                offset = offset + RECORD_HEADER_SIZE + buffer.getInt((int) offset);
+            } else {
+                break;
+            }
+        }
+        cursor.set(cursor(epoch, offset));
+        recovered = Arrays.copyOf(pending, count);
+    }
+
+    /**
+     * Replay records found pending when the journal was opened, oldest first. Records
+     * appended since are not replayed, so replay may run while events are journaled.
+     *
+     * @param replay callback
+     * @return number of replayed records
+     */
+    int replay(@NonNull Replay replay) {
+        long[] offsets;
+        synchronized (this) {
+            offsets = recovered;
+            recovered = new long[0];
+        }
+
+        //pending records can not be reclaimed until acknowledged
+        for (long offset : offsets) {
+            replay.onRecord(offset, payload(offset, buffer.getInt((int) offset)));
+        }
+        return offsets.length;
+    }
+
+    /**
+     * Append record. Safe to call from any thread.
+     *
+     * @param data   payload
+     * @param length payload length
+     * @return record offset, or negative if journal is full
+     */
+    long append(@NonNull byte[] data, int length) {
+        //reserve space, wrapping to the start when the end of the mapping is reached
+        int size = RECORD_HEADER_SIZE + length;
+        long current;
+        long next;
+        long offset;
+        do {
+            current = cursor.get();
+            long tail = checkpoint;
+            int epoch = epoch(current);
+            offset = position(current);
+            if (epoch == epoch(tail) && offset + size <= capacity) {
+                next = current + size;
+            } else if (epoch == epoch(tail) && HEADER_SIZE + size <= position(tail)) {
+                next = cursor(epoch + 1, HEADER_SIZE + size);
+            } else if (epoch == epoch(tail) + 1 && offset + size <= position(tail)) {
+                next = current + size;
+            } else {
+                return -1L;
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        //mark end of previous epoch
+        int epoch = epoch(next);
+        if (epoch != epoch(current)) {
+            if (offset + RECORD_HEADER_SIZE <= capacity) {
+                buffer.putInt((int) offset + RECORD_EPOCH, epoch(current));
+                buffer.putInt((int) offset, RECORD_WRAP);
+            }
+            offset = HEADER_SIZE;
+        }
+
+        //write record, length last to commit it
+        CRC32 crc = crcs.get();
+        crc.reset();
+        crc.update(data, 0, length);
+
+        int start = (int) offset;
+        buffer.putInt(start + RECORD_EPOCH, epoch);
+        buffer.putInt(start + RECORD_STATE, STATE_PENDING);
+        buffer.putInt(start + RECORD_CRC, (int) crc.getValue());
+        for (int i = 0; i < length; i++) {
+            buffer.put(start + RECORD_HEADER_SIZE + i, data[i]);
+        }
+        buffer.putInt(start, length);
+        dirty = true;
+
+        return offset;
+    }
+
+    /**
+     * Acknowledge record as delivered
+     *
+     * @param offset record offset
+     */
+    void ack(long offset) {
+        if (offset >= HEADER_SIZE) {
+            buffer.putInt((int) offset + RECORD_STATE, STATE_ACKED);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Group commit: advance checkpoint past acknowledged records, reclaiming their space,
+     * and force changes to disk
+     */
+    synchronized void commit() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        //advance checkpoint up to first pending or in flight record
+        long current = cursor.get();
+        long tail = checkpoint;
+        int epoch = epoch(tail);
+        long offset = position(tail);
+        while (epoch != epoch(current) || offset != position(current)) {
+            if (epoch != epoch(current) && isWrap(offset, epoch)) {
+                epoch = epoch + 1;
+                offset = HEADER_SIZE;
+            } else if (isValid(offset, epoch)
+                    && buffer.getInt((int) offset + RECORD_STATE) == STATE_ACKED) {
+                offset = offset + RECORD_HEADER_SIZE + buffer.getInt((int) offset);
+            } else {
+                break;
+            }
+        }
+
+        writeHeader(cursor(epoch, offset));
+        buffer.force();
+    }
+    @Override
+    public synchronized void close() throws IOException {
+        commit();
+        raf.close();
+    }
+
+    @NonNull
+    File getFile() {
+        return file;
+    }
+
+    private static long cursor(int epoch, long position) {
+        return ((long) epoch << POSITION_BITS) | position;
+    }
+
+    private static int epoch(long cursor) {
+        return (int) (cursor >>> POSITION_BITS);
+    }
+
+    private static long position(long cursor) {
+        return cursor & POSITION_MASK;
+    }
+
+    /**
+     * Check if given offset ends records of given epoch
+     */
+    private boolean isWrap(long offset, int epoch) {
+        if (offset + RECORD_HEADER_SIZE > capacity) {
+            return true;
+        }
+        int start = (int) offset;
+        return buffer.getInt(start) == RECORD_WRAP
+                && buffer.getInt(start + RECORD_EPOCH) == epoch;
+    }
+
+    private boolean isValid(long offset, int epoch) {
+        if (offset + RECORD_HEADER_SIZE > capacity) {
+            return false;
+        }
+
+        int start = (int) offset;
+        int length = buffer.getInt(start);
+        if (length <= 0 || offset + RECORD_HEADER_SIZE + length > capacity) {
+            return false;
+        }
+        if (buffer.getInt(start + RECORD_EPOCH) != epoch) {
+            return false;
+        }
+
+        CRC32 crc = crcs.get();
+        crc.reset();
+        for (int i = 0; i < length; i++) {
+            crc.update(buffer.get(start + RECORD_HEADER_SIZE + i));
+        }
+        return (int) crc.getValue() == buffer.getInt(start + RECORD_CRC);
+    }
+
+    @NonNull
+    private ByteBuffer payload(long offset, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position((int) offset + RECORD_HEADER_SIZE);
+        view.limit((int) offset + RECORD_HEADER_SIZE + length);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    private void writeHeader(long checkpoint) {
+        this.checkpoint = checkpoint;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(HEADER_EPOCH, epoch(checkpoint));
+        buffer.putLong(HEADER_CHECKPOINT, position(checkpoint));
+    }
+}
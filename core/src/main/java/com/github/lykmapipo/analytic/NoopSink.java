@@ -0,0 +1,32 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+/**
+ * NoopSink
+ * <p>
+ * {@link AnalyticSink} which discard everything. Useful to measure pipeline overhead.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class NoopSink implements AnalyticSink {
+    public static final NoopSink INSTANCE = new NoopSink();
+
+    private NoopSink() {
+    }
+
+    @Override
+    public void logEvent(@NonNull String name, @NonNull EventParams params) {
+    }
+
+    @Override
+    public void setUserId(@NonNull String identifier) {
+    }
+
+    @Override
+    public void setUserProperty(@NonNull String key, @NonNull String value) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Pool
+ * <p>
+ * Bounded lock-free free-list of reusable objects. Each slot is claimed and released with
+ * a single atomic operation, so there is no ABA problem when the same instance is pooled
+ * again. Scans start at a per-thread slot to keep contending threads apart.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Pool<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+
+    /**
+     * @param capacity maximum number of pooled objects, rounded up to a power of two
+     */
+    Pool(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Take a pooled object
+     *
+     * @return pooled object or null if pool is empty
+     */
+    @Nullable
+    T acquire() {
+        int start = start();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) != null) {
+                T value = slots.getAndSet(index, null);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return object to the pool
+     *
+     * @param value object to pool
+     * @return false if the pool is full and the object was not pooled
+     */
+    boolean release(@NonNull T value) {
+        int start = start();
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int start() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) * 0x9E3779B9 & mask;
+    }
+}
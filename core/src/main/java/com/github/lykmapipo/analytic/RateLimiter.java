@@ -0,0 +1,174 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter
+ * <p>
+ * Rate limiting stage with a token bucket per event name and per event category,
+ * implemented as a generic cell rate algorithm: each bucket is a single theoretical
+ * arrival time advanced with a CAS, so admitting an event costs at most one CAS per
+ * bucket and never locks.
+ * </p>
+ * <p>
+ * Dropped events are counted per event name and reported as a single
+ * {@link #EVENT_DROPPED} event at most once every report interval, or when drained.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class RateLimiter {
+    static final String EVENT_DROPPED = "analytic_dropped";
+    static final long DEFAULT_REPORT_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Token bucket
+     */
+    private static final class Bucket {
+        final long interval; // nanoseconds between events at sustained rate
+        final long tolerance; // burst allowance in nanoseconds
+        final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(double ratePerSecond, int burst) {
+            this.interval = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+            this.tolerance = interval * Math.max(1, burst);
+        }
+
+        boolean tryAcquire(long now) {
+            for (; ; ) {
+                long current = arrival.get();
+                long next = (current == Long.MIN_VALUE ? now : Math.max(current, now)) + interval;
+                if (next - now > tolerance) {
+                    return false;
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            //give back a token taken by tryAcquire
+            arrival.addAndGet(-interval);
+        }
+    }
+
+    private final Emitter emitter;
+    private final ConcurrentHashMap<String, AtomicLong> dropped = new ConcurrentHashMap<>();
+    private final AtomicLong nextReport = new AtomicLong();
+    private volatile Map<Object, Bucket> buckets = Collections.emptyMap();
+
+    RateLimiter(@NonNull Emitter emitter) {
+        this.emitter = emitter;
+    }
+
+    /**
+     * Limit events with given name or category
+     *
+     * @param key           event name or category
+     * @param ratePerSecond sustained number of events per second
+     * @param burst         number of events allowed at once
+     */
+    synchronized void setLimit(@NonNull Object key, double ratePerSecond, int burst) {
+        Map<Object, Bucket> updated = new HashMap<>(buckets);
+        if (ratePerSecond > 0) {
+            updated.put(key, new Bucket(ratePerSecond, burst));
+        } else {
+            updated.remove(key);
+        }
+        buckets = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Remove limit of given event name or category
+     *
+     * @param key event name or category
+     */
+    void removeLimit(@NonNull Object key) {
+        setLimit(key, 0, 0);
+    }
+
+    boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    /**
+     * Admit or drop an event
+     *
+     * @param eventName event name
+     * @param category  event category, if any
+     * @param now       current time in nanoseconds, from a monotonic clock
+     * @return true if event is admitted
+     */
+    boolean tryAcquire(@NonNull String eventName, @Nullable Object category, long now) {
+        Map<Object, Bucket> current = buckets;
+        if (current.isEmpty()) {
+            return true;
+        }
+
+        Bucket named = current.get(eventName);
+        boolean admitted = named == null || named.tryAcquire(now);
+        if (admitted && category != null) {
+            Bucket bucket = current.get(category);
+            admitted = bucket == null || bucket.tryAcquire(now);
+
+            //refund name token when category drops the event
+            if (!admitted && named != null) {
+                named.release();
+            }
+        }
+
+        if (!admitted) {
+            drop(eventName, now);
+        }
+        return admitted;
+    }
+
+    /**
+     * Report dropped events, if any
+     */
+    void drain() {
+        if (dropped.isEmpty()) {
+            return;
+        }
+
+        EventParams params = new EventParams(dropped.size());
+        for (Map.Entry<String, AtomicLong> entry : dropped.entrySet()) {
+            long count = entry.getValue().getAndSet(0L);
+            if (count > 0) {
+                params.put(entry.getKey(), count);
+            }
+        }
+        if (!params.isEmpty()) {
+            emitter.emit(EVENT_DROPPED, params);
+        }
+    }
+
+    private void drop(@NonNull String eventName, long now) {
+        AtomicLong count = dropped.get(eventName);
+        if (count == null) {
+            AtomicLong created = new AtomicLong();
+            count = dropped.putIfAbsent(eventName, created);
+            count = count != null ? count : created;
+        }
+        count.incrementAndGet();
+
+        //report once per interval, by a single caller
+        long due = nextReport.get();
+        if (due == 0) {
+            nextReport.compareAndSet(0, now + DEFAULT_REPORT_INTERVAL);
+        } else if (now - due >= 0 && nextReport.compareAndSet(due, now + DEFAULT_REPORT_INTERVAL)) {
+            drain();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * RingBuffer
+ * <p>
+ * Bounded first-in-first-out buffer which overwrites its oldest element when full.
+ * Not thread safe, callers must guard access.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class RingBuffer<T> {
+    private final Object[] elements;
+    private int head; // index of oldest element
+    private int size;
+
+    RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Append an element, overwriting the oldest one when full
+     *
+     * @param element element to append
+     * @return overwritten element, or null if there was room
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    T offer(@NonNull T element) {
+        int capacity = elements.length;
+        if (size < capacity) {
+            elements[(head + size) % capacity] = element;
+            size++;
+            return null;
+        }
+
+        T overwritten = (T) elements[head];
+        elements[head] = element;
+        head = (head + 1) % capacity;
+        return overwritten;
+    }
+
+    /**
+     * Move all elements, oldest first, to given list
+     *
+     * @param target list to add elements to
+     * @return number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(@NonNull List<T> target) {
+        int drained = size;
+        int capacity = elements.length;
+        for (int i = 0; i < drained; i++) {
+            int index = (head + i) % capacity;
+            target.add((T) elements[index]);
+            elements[index] = null;
+        }
+        head = 0;
+        size = 0;
+        return drained;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
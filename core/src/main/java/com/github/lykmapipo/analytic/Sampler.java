@@ -0,0 +1,154 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampler
+ * <p>
+ * Per event name sampling stage. An event is either sampled at random on every call, or
+ * deterministically by hashing the user identifier, so a single user is either fully in
+ * or fully out of a sampled event. Kept events are always accepted.
+ * </p>
+ * <p>
+ * Rules are replaced on write, so a decision is a map lookup and a comparison, without
+ * locking nor allocation.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Sampler {
+    /**
+     * Weight of an event that is not sampled
+     */
+    static final double WEIGHT_ALL = 1.0;
+
+    /**
+     * Weight of a rejected event
+     */
+    static final double WEIGHT_NONE = 0.0;
+
+    private static final double UNIT = 1.0 / (1L << 53);
+
+    /**
+     * Immutable sampling rule
+     */
+    private static final class Rule {
+        final double rate;
+        final boolean deterministic;
+
+        Rule(double rate, boolean deterministic) {
+            this.rate = rate;
+            this.deterministic = deterministic;
+        }
+    }
+
+    private volatile Map<String, Rule> rules = Collections.emptyMap();
+    private volatile Set<String> kept = Collections.emptySet();
+    private volatile double userFraction = Double.NaN; // NaN when user is unknown
+
+    /**
+     * @param kept event names to always keep
+     */
+    Sampler(@Nullable String... kept) {
+        setKept(kept);
+    }
+
+    /**
+     * Sample given event name at given rate
+     *
+     * @param eventName     event name
+     * @param rate          fraction of events to keep, between 0 and 1
+     * @param deterministic whether to sample by user identifier instead of at random
+     */
+    synchronized void setRate(@NonNull String eventName, double rate, boolean deterministic) {
+        double clamped = Math.max(0.0, Math.min(1.0, rate));
+        Map<String, Rule> updated = new HashMap<>(rules);
+        updated.put(eventName, new Rule(clamped, deterministic));
+        rules = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Stop sampling given event name
+     *
+     * @param eventName event name
+     */
+    synchronized void removeRate(@NonNull String eventName) {
+        Map<String, Rule> updated = new HashMap<>(rules);
+        updated.remove(eventName);
+        rules = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Always keep events with given names regardless of their sample rate
+     *
+     * @param eventNames event names
+     */
+    void setKept(@Nullable String... eventNames) {
+        if (eventNames == null || eventNames.length == 0) {
+            kept = Collections.emptySet();
+        } else {
+            kept = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(eventNames)));
+        }
+    }
+
+    /**
+     * Set user identifier used for deterministic sampling
+     *
+     * @param userId user identifier
+     */
+    void setUserId(@Nullable String userId) {
+        userFraction = userId == null ? Double.NaN : fraction(userId.hashCode());
+    }
+
+    /**
+     * Decide whether to keep an event
+     *
+     * @param eventName event name
+     * @return weight to re-scale kept event, {@link #WEIGHT_NONE} if event is rejected
+     */
+    double sample(@NonNull String eventName) {
+        Rule rule = rules.get(eventName);
+        if (rule == null || rule.rate >= 1.0 || kept.contains(eventName)) {
+            return WEIGHT_ALL;
+        }
+        if (rule.rate <= 0.0) {
+            return WEIGHT_NONE;
+        }
+
+        //unknown user falls back to random sampling
+        double draw = userFraction;
+        if (!rule.deterministic || Double.isNaN(draw)) {
+            draw = ThreadLocalRandom.current().nextDouble();
+        }
+
+        return draw < rule.rate ? 1.0 / rule.rate : WEIGHT_NONE;
+    }
+
+    /**
+     * Map hash uniformly into [0, 1)
+     *
+     * @param hash hash code
+     * @return fraction
+     */
+    static double fraction(long hash) {
+        //murmur3 finalizer
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (h >>> 11) * UNIT;
+    }
+}
@@ -0,0 +1,224 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+/**
+ * Spill
+ * <p>
+ * On-disk first-in-first-out segment holding events which overflowed the
+ * {@link Dispatcher} queue. Records are appended by producers and polled back by the
+ * dispatcher thread once its queue is empty; the segment is truncated whenever it has
+ * been fully drained. Spill is transient: it starts empty and is deleted on close,
+ * durability across process death is provided by {@link Journal}.
+ * </p>
+ * <p>
+ * Journal offsets of spilled records are also kept in memory, so a record which can not
+ * be decoded, or every remaining record once the segment can not be read, is reported to
+ * the {@link Listener} as discarded instead of being lost silently.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Spill implements Closeable {
+    private static final int RECORD_HEADER_SIZE = 12; // length and journal offset
+
+    /**
+     * Interface definition for a callback to be invoked when spilling loses event data
+     */
+    interface Listener {
+        /**
+         * @param count number of parameters skipped because their type can not be encoded
+         */
+        void onDroppedParams(int count);
+
+        /**
+         * @param journalOffset journal offset of a spilled event which could not be read back
+         */
+        void onDiscarded(long journalOffset);
+    }
+
+    private final File file;
+    private final Listener listener;
+    private final byte[] header = new byte[RECORD_HEADER_SIZE];
+    private final ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+    private long[] offsets = new long[16]; // journal offsets of spilled records, circular
+    private int head;
+    private RandomAccessFile raf;
+    private long readPosition;
+    private long writePosition;
+    private volatile int size;
+
+    Spill(@NonNull File file, @NonNull Listener listener) {
+        this.file = file;
+        this.listener = listener;
+    }
+
+    /**
+     * Append event to the segment
+     *
+     * @param event event to spill
+     * @return true if appended, false if the segment could not be written
+     */
+    synchronized boolean append(@NonNull TrackedEvent event) {
+        EventCodec.Encoder record =
+                EventCodec.encode(event.getName(), event.getTime(), event.getParams());
+
+        //journaled events had their skipped parameters counted when journaled
+        if (record.getDropped() > 0 && event.getJournalOffset() < 0) {
+            listener.onDroppedParams(record.getDropped());
+        }
+
+        try {
+            RandomAccessFile current = open();
+            headerBuffer.putInt(0, record.getSize());
+            headerBuffer.putLong(4, event.getJournalOffset());
+            current.seek(writePosition);
+            current.write(header, 0, RECORD_HEADER_SIZE);
+            current.write(record.getData(), 0, record.getSize());
+            writePosition = current.getFilePointer();
+            pushOffset(event.getJournalOffset());
+            size = size + 1;
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Remove oldest spilled event
+     *
+     * @return oldest event, or null if segment is empty
+     */
+    @Nullable
+    synchronized TrackedEvent poll() {
+        while (size > 0) {
+            try {
+                RandomAccessFile current = open();
+                current.seek(readPosition);
+                current.readFully(header, 0, RECORD_HEADER_SIZE);
+                int length = headerBuffer.getInt(0);
+                long journalOffset = headerBuffer.getLong(4);
+                if (length < 0 || length > current.length() - current.getFilePointer()) {
+                    throw new IOException("Invalid record length " + length);
+                }
+                byte[] payload = new byte[length];
+                current.readFully(payload);
+                readPosition = current.getFilePointer();
+                popOffset();
+                size = size - 1;
+
+                //reclaim space once drained
+                if (size == 0) {
+                    current.setLength(0);
+                    readPosition = 0;
+                    writePosition = 0;
+                }
+
+                TrackedEvent event = EventCodec.decode(ByteBuffer.wrap(payload), journalOffset);
+                if (event != null) {
+                    return event;
+                }
+
+                //skip malformed record
+                listener.onDiscarded(journalOffset);
+            } catch (IOException e) {
+                discard();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return number of spilled events
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @NonNull
+    File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        RandomAccessFile current = raf;
+        raf = null;
+        size = 0;
+        head = 0;
+        readPosition = 0;
+        writePosition = 0;
+        try {
+            if (current != null) {
+                current.close();
+            }
+        } finally {
+            //best effort, segment is truncated on next open anyway
+            file.delete();
+        }
+    }
+
+    @NonNull
+    private RandomAccessFile open() throws IOException {
+        if (raf == null) {
+            File parent = file.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            raf = new RandomAccessFile(file, "rw");
+            raf.setLength(0);
+        }
+        return raf;
+    }
+
+    /**
+     * Discard unreadable segment, reporting every remaining record
+     */
+    private void discard() {
+        while (size > 0) {
+            size = size - 1;
+            listener.onDiscarded(popOffset());
+        }
+        readPosition = 0;
+        writePosition = 0;
+        try {
+            if (raf != null) {
+                raf.setLength(0);
+            }
+        } catch (IOException e) {
+            // segment is truncated on next open
+        }
+    }
+
+    private void pushOffset(long journalOffset) {
+        if (size == offsets.length) {
+            long[] grown = new long[offsets.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = offsets[(head + i) % offsets.length];
+            }
+            offsets = grown;
+            head = 0;
+        }
+        offsets[(head + size) % offsets.length] = journalOffset;
+    }
+
+    private long popOffset() {
+        long journalOffset = offsets[head];
+        head = (head + 1) % offsets.length;
+        return journalOffset;
+    }
+}
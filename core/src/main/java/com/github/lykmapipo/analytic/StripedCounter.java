@@ -0,0 +1,73 @@
+package com.github.lykmapipo.analytic;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * StripedCounter
+ * <p>
+ * Contention friendly counter, spreading updates over cache line padded cells picked by
+ * calling thread, in the spirit of {@code java.util.concurrent.atomic.LongAdder} which is
+ * not available on all supported platforms.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class StripedCounter {
+    static final int PADDING = 8; // longs per 64 bytes cache line
+    static final int STRIPES = stripes();
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * Add given value
+     *
+     * @param value value to add
+     */
+    void add(long value) {
+        cells.getAndAdd(stripe() * PADDING, value);
+    }
+
+    void increment() {
+        add(1L);
+    }
+
+    /**
+     * @return current sum, not an atomic snapshot under concurrent updates
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum = sum + cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Sum and reset cells, updates racing with reset are carried over to next sum
+     *
+     * @return sum
+     */
+    long sumThenReset() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum = sum + cells.getAndSet(i * PADDING, 0L);
+        }
+        return sum;
+    }
+
+    /**
+     * @return stripe of calling thread
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+        return hash & (STRIPES - 1);
+    }
+
+    private static int stripes() {
+        int processors = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 16));
+        return Integer.highestOneBit((processors << 1) - 1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * TrackedEvent
+ * <p>
+ * Immutable snapshot of an accepted event, captured on the caller thread and
+ * handed over to the {@link Dispatcher}
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class TrackedEvent {
+    private final String name;
+    private final long time;
+    private final long sequence;
+    private final EventParams params;
+    private final long journalOffset;
+    private final int policy;
+
+    TrackedEvent(@NonNull String name, long time, @Nullable EventParams params) {
+        this(name, time, params, -1L);
+    }
+
+    TrackedEvent(
+            @NonNull String name, long time,
+            @Nullable EventParams params, long journalOffset) {
+        this(name, time, params, journalOffset, Backpressure.DROP_NEWEST);
+    }
+
+    TrackedEvent(
+            @NonNull String name, long time,
+            @Nullable EventParams params, long journalOffset, int policy) {
+        this(name, time, EventClock.NO_SEQUENCE, params, journalOffset, policy);
+    }
+
+    TrackedEvent(
+            @NonNull String name, long time, long sequence,
+            @Nullable EventParams params, long journalOffset, int policy) {
+        this.name = name;
+        this.time = time;
+        this.sequence = sequence;
+        this.params = params;
+        this.journalOffset = journalOffset;
+        this.policy = policy;
+    }
+
+    @NonNull
+    String getName() {
+        return name;
+    }
+
+    long getTime() {
+        return time;
+    }
+
+    /**
+     * @return sequence number ordering events tracked in this process,
+     * or {@link EventClock#NO_SEQUENCE} if replayed
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    @Nullable
+    EventParams getParams() {
+        return params;
+    }
+
+    /**
+     * @return offset of the event record in {@link Journal}, or negative if not journaled
+     */
+    long getJournalOffset() {
+        return journalOffset;
+    }
+
+    /**
+     * @return {@link Backpressure} policy applied when dispatcher queue is full
+     */
+    int getPolicy() {
+        return policy;
+    }
+}
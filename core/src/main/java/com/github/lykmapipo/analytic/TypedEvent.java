@@ -0,0 +1,31 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+/**
+ * TypedEvent
+ * <p>
+ * Event writing its parameters straight into pipeline parameters, usually generated from
+ * an {@link AnalyticEvent} interface.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public interface TypedEvent {
+    @NonNull
+    String getName();
+
+    /**
+     * @return maximum number of parameters written by {@link #writeTo(EventParams)}
+     */
+    int size();
+
+    /**
+     * Write event parameters
+     *
+     * @param params parameters to write to
+     */
+    void writeTo(@NonNull EventParams params);
+}
@@ -0,0 +1,250 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Validator
+ * <p>
+ * Validation stage enforcing Firebase constraints which are otherwise silently dropped:
+ * event names and parameter keys of at most 40 alphanumeric or underscore characters
+ * starting with a letter and without reserved prefixes, at most 25 parameters per event,
+ * string values of at most 100 characters and at most 500 distinct event names.
+ * </p>
+ * <p>
+ * Verdicts are cached per event name and parameter key, so a name is checked once rather
+ * than on every call. Invalid events are rejected, invalid parameters are removed and
+ * long values are truncated in a single pass. Each violation is counted and reported
+ * once per subject.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class Validator {
+    static final int MAX_NAME_LENGTH = 40;
+    static final int MAX_PARAMS = 25;
+    static final int MAX_VALUE_LENGTH = 100;
+    static final int MAX_EVENT_NAMES = 500;
+    static final int MAX_CACHED = 1024;
+
+    /**
+     * Kinds of violations
+     */
+    static final int INVALID_NAME = 0;
+    static final int RESERVED_NAME = 1;
+    static final int TOO_MANY_NAMES = 2;
+    static final int INVALID_KEY = 3;
+    static final int TOO_MANY_PARAMS = 4;
+    static final int VALUE_TOO_LONG = 5;
+    static final int VIOLATIONS = 6;
+
+    static final Integer VALID = -1;
+
+    private static final String[] RESERVED_PREFIXES = {"firebase_", "google_", "ga_"};
+    private static final Set<String> RESERVED_NAMES = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList(
+                    "ad_activeview", "ad_click", "ad_exposure", "ad_impression", "ad_query",
+                    "adunit_exposure", "app_background", "app_clear_data", "app_exception",
+                    "app_remove", "app_store_refund", "app_store_subscription_cancel",
+                    "app_store_subscription_convert", "app_store_subscription_renew",
+                    "app_update", "app_upgrade", "dynamic_link_app_open",
+                    "dynamic_link_app_update", "dynamic_link_first_open", "error",
+                    "first_open", "first_visit", "in_app_purchase",
+                    "notification_dismiss", "notification_foreground", "notification_open",
+                    "notification_receive", "os_update", "screen_view", "session_start",
+                    "user_engagement")));
+
+    /**
+     * Interface definition for a callback to be invoked once per violation and subject
+     */
+    interface Listener {
+        /**
+         * @param violation kind of violation
+         * @param subject   offending event name or parameter key
+         */
+        void onViolation(int violation, @NonNull String subject);
+    }
+
+    private final Listener listener;
+    private final ConcurrentHashMap<String, Integer> names = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> keys = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Boolean> reported = new ConcurrentHashMap<>();
+    private final AtomicInteger distinctNames = new AtomicInteger();
+    private final AtomicLongArray counts = new AtomicLongArray(VIOLATIONS);
+
+    Validator(@NonNull Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Validate event name, counting distinct names against Firebase limit
+     *
+     * @param eventName event name
+     * @return true if event name is valid
+     */
+    boolean isValidName(@NonNull String eventName) {
+        Integer verdict = names.get(eventName);
+        if (verdict == null) {
+            verdict = verify(eventName, true);
+
+            //count distinct valid names
+            if (verdict.equals(VALID)) {
+                int distinct = distinctNames.incrementAndGet();
+                if (distinct > MAX_EVENT_NAMES) {
+                    distinctNames.decrementAndGet();
+                    verdict = TOO_MANY_NAMES;
+                }
+            }
+
+            //cache verdict while there is room, racing callers may count twice
+            if (names.size() < MAX_CACHED) {
+                Integer previous = names.putIfAbsent(eventName, verdict);
+                if (previous != null && verdict.equals(VALID)) {
+                    distinctNames.decrementAndGet();
+                    verdict = previous;
+                }
+            } else if (verdict.equals(VALID)) {
+                //uncached name is verified again on next call, do not count it twice
+                distinctNames.decrementAndGet();
+            }
+        }
+
+        if (!verdict.equals(VALID)) {
+            violate(verdict, eventName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remove invalid parameters, truncate long string values and drop parameters over
+     * limit in a single pass
+     *
+     * @param params event parameters
+     */
+    void validate(@NonNull EventParams params) {
+        int index = 0;
+        while (index < params.size()) {
+            String key = params.keyAt(index);
+
+            //remove invalid key
+            Integer verdict = keys.get(key);
+            if (verdict == null) {
+                verdict = verify(key, false);
+                if (keys.size() < MAX_CACHED) {
+                    keys.putIfAbsent(key, verdict);
+                }
+            }
+            if (!verdict.equals(VALID)) {
+                violate(verdict, key);
+                params.removeAt(index);
+                continue;
+            }
+
+            //truncate long value
+            if (params.typeAt(index) == EventParams.TYPE_STRING) {
+                String value = (String) params.objectAt(index);
+                if (value != null && value.length() > MAX_VALUE_LENGTH) {
+                    violate(VALUE_TOO_LONG, key);
+                    params.setStringAt(index, value.substring(0, MAX_VALUE_LENGTH));
+                }
+            }
+
+            index++;
+        }
+
+        //drop parameters over limit
+        if (params.size() > MAX_PARAMS) {
+            violate(TOO_MANY_PARAMS, params.keyAt(MAX_PARAMS));
+            params.truncate(MAX_PARAMS);
+        }
+    }
+
+    /**
+     * @param violation kind of violation
+     * @return number of times violation occurred
+     */
+    long getCount(int violation) {
+        return counts.get(violation);
+    }
+
+    /**
+     * @return number of times each violation occurred
+     */
+    @NonNull
+    long[] getCounts() {
+        long[] values = new long[VIOLATIONS];
+        for (int i = 0; i < VIOLATIONS; i++) {
+            values[i] = counts.get(i);
+        }
+        return values;
+    }
+
+    @NonNull
+    static String describe(int violation) {
+        switch (violation) {
+            case INVALID_NAME:
+                return "invalid_name";
+            case RESERVED_NAME:
+                return "reserved_name";
+            case TOO_MANY_NAMES:
+                return "too_many_names";
+            case INVALID_KEY:
+                return "invalid_key";
+            case TOO_MANY_PARAMS:
+                return "too_many_params";
+            default:
+                return "value_too_long";
+        }
+    }
+
+    private void violate(int violation, @NonNull String subject) {
+        counts.getAndIncrement(violation);
+        if (reported.size() < MAX_CACHED
+                && reported.putIfAbsent(violation + subject, Boolean.TRUE) == null) {
+            listener.onViolation(violation, subject);
+        }
+    }
+
+    /**
+     * Check event name or parameter key against Firebase constraints, shared with the
+     * compile time checks of generated events
+     *
+     * @param name  event name or parameter key
+     * @param event whether name is an event name
+     * @return {@link #VALID} or kind of violation
+     */
+    @NonNull
+    static Integer verify(@NonNull String name, boolean event) {
+        int length = name.length();
+        if (length == 0 || length > MAX_NAME_LENGTH || !Character.isLetter(name.charAt(0))) {
+            return event ? INVALID_NAME : INVALID_KEY;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9') || c == '_';
+            if (!valid) {
+                return event ? INVALID_NAME : INVALID_KEY;
+            }
+        }
+        for (String prefix : RESERVED_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return event ? RESERVED_NAME : INVALID_KEY;
+            }
+        }
+        if (event && RESERVED_NAMES.contains(name)) {
+            return RESERVED_NAME;
+        }
+        return VALID;
+    }
+}
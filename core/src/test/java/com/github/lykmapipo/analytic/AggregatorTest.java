@@ -0,0 +1,59 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class AggregatorTest {
+    private String TEST_EVENT = "test_event";
+    private String TEST_PARAM = "test_param";
+
+    @Test
+    public void shouldRollupEventsPerGroup() {
+        List<EventParams> emitted = new ArrayList<>();
+        Aggregator aggregator = new Aggregator((name, params) -> emitted.add(params));
+        aggregator.aggregate(TEST_EVENT, "value", TEST_PARAM);
+
+        for (int i = 1; i <= 3; i++) {
+            assertThat(aggregator.record(TEST_EVENT, new EventParams()
+                    .put(TEST_PARAM, "a").put("value", (long) i), 0L), is(equalTo(true)));
+        }
+        aggregator.record(TEST_EVENT, new EventParams().put(TEST_PARAM, "b"), 0L);
+        aggregator.drain();
+
+        assertThat(emitted.size(), is(equalTo(2)));
+        EventParams rollup = emitted.get(0).getString(TEST_PARAM).equals("a")
+                ? emitted.get(0) : emitted.get(1);
+        assertThat(rollup.getLong(Aggregator.PARAM_COUNT, 0), is(equalTo(3L)));
+        assertThat(rollup.getDouble(Aggregator.PARAM_SUM, 0), is(equalTo(6.0)));
+    }
+
+    @Test
+    public void shouldCapGroupsActivePerInterval() {
+        List<EventParams> emitted = new ArrayList<>();
+        Aggregator aggregator = new Aggregator((name, params) -> emitted.add(params));
+        aggregator.aggregate(TEST_EVENT, null, TEST_PARAM);
+
+        for (int i = 0; i < Aggregator.MAX_ROLLUPS; i++) {
+            aggregator.record(TEST_EVENT, new EventParams().put(TEST_PARAM, (long) i), 0L);
+        }
+        EventParams other = new EventParams().put(TEST_PARAM, -1L);
+        assertThat(aggregator.record(TEST_EVENT, other, 0L), is(equalTo(false)));
+
+        //idle groups are removed once drained, making room for new groups
+        aggregator.drain();
+        aggregator.drain();
+        assertThat(aggregator.record(TEST_EVENT, other, 0L), is(equalTo(true)));
+        aggregator.drain();
+        assertThat(emitted.size(), is(equalTo(Aggregator.MAX_ROLLUPS + 1)));
+    }
+}
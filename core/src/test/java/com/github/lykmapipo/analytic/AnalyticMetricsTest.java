@@ -0,0 +1,107 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class AnalyticMetricsTest {
+    private static final long[] NO_OVERFLOWS = new long[Backpressure.POLICIES];
+    private static final long[] NO_VIOLATIONS = new long[Validator.VIOLATIONS];
+
+    @Test
+    public void shouldCountEventsPerNameAndCategory() {
+        AnalyticMetrics metrics = new AnalyticMetrics();
+        metrics.count(AnalyticMetrics.ACCEPTED, "login", "App");
+        metrics.count(AnalyticMetrics.ACCEPTED, "login", "App");
+        metrics.count(AnalyticMetrics.RATE_LIMITED, "login", "App");
+        metrics.count(AnalyticMetrics.REJECTED, null, null);
+
+        AnalyticMetrics.Snapshot snapshot =
+                metrics.snapshot(3, 0, NO_OVERFLOWS, BatchStats.EMPTY, NO_VIOLATIONS);
+        assertThat(snapshot.getCount(AnalyticMetrics.ACCEPTED), is(equalTo(2L)));
+        assertThat(snapshot.getCount(AnalyticMetrics.REJECTED), is(equalTo(1L)));
+        assertThat(snapshot.getEventCount("login", AnalyticMetrics.RATE_LIMITED),
+                is(equalTo(1L)));
+        assertThat(snapshot.getCategoryCount("App", AnalyticMetrics.ACCEPTED), is(equalTo(2L)));
+        assertThat(snapshot.getEventCount("logout", AnalyticMetrics.ACCEPTED), is(equalTo(0L)));
+        assertThat(snapshot.getQueueDepth(), is(equalTo(3L)));
+    }
+
+    @Test
+    public void shouldIncludeValidationCounts() {
+        Validator validator = new Validator((violation, subject) -> {
+        });
+        validator.isValidName("1test_event");
+        validator.isValidName("firebase_event");
+        validator.validate(new EventParams().put("1test_param", "test_value"));
+
+        AnalyticMetrics.Snapshot snapshot = new AnalyticMetrics()
+                .snapshot(0, 0, NO_OVERFLOWS, BatchStats.EMPTY, validator.getCounts());
+        assertThat(snapshot.getCount(AnalyticMetrics.VALIDATION_INVALID_NAME),
+                is(equalTo(1L)));
+        assertThat(snapshot.getCount(AnalyticMetrics.VALIDATION_RESERVED_NAME),
+                is(equalTo(1L)));
+        assertThat(snapshot.getCount(AnalyticMetrics.VALIDATION_INVALID_KEY), is(equalTo(1L)));
+        assertThat(snapshot.getCount(AnalyticMetrics.VALIDATION_VALUE_TOO_LONG),
+                is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldBoundDistinctEventNames() {
+        AnalyticMetrics metrics = new AnalyticMetrics();
+        for (int i = 0; i < AnalyticMetrics.MAX_NAMES + 10; i++) {
+            metrics.count(AnalyticMetrics.ACCEPTED, "event_" + i, null);
+        }
+
+        AnalyticMetrics.Snapshot snapshot =
+                metrics.snapshot(0, 0, NO_OVERFLOWS, BatchStats.EMPTY, NO_VIOLATIONS);
+        assertThat(snapshot.getEventNames().size(), is(equalTo(AnalyticMetrics.MAX_NAMES + 1)));
+        assertThat(snapshot.getEventCount(AnalyticMetrics.OTHER, AnalyticMetrics.ACCEPTED),
+                is(equalTo(10L)));
+    }
+
+    @Test
+    public void shouldReuseOverflowCounters() {
+        ConcurrentHashMap<String, AtomicLongArray> counters = new ConcurrentHashMap<>();
+        for (int i = 0; i < AnalyticMetrics.MAX_NAMES; i++) {
+            AnalyticMetrics.counters(counters, "event_" + i);
+        }
+
+        AtomicLongArray other = AnalyticMetrics.counters(counters, "event_over_1");
+        assertThat(AnalyticMetrics.counters(counters, "event_over_2"), is(sameInstance(other)));
+        assertThat(counters.get(AnalyticMetrics.OTHER), is(sameInstance(other)));
+    }
+
+    @Test
+    public void shouldSummarizeLatencies() {
+        AnalyticMetrics metrics = new AnalyticMetrics();
+        metrics.recordTrackLatency(1000);
+        metrics.recordTrackLatency(3000);
+
+        AnalyticMetrics.Snapshot snapshot =
+                metrics.snapshot(0, 0, NO_OVERFLOWS, BatchStats.EMPTY, NO_VIOLATIONS);
+        AnalyticMetrics.Latency latency = snapshot.getTrackLatency();
+        assertThat(latency.getCount(), is(equalTo(2L)));
+        assertThat(latency.getMax() >= 3000, is(equalTo(true)));
+        assertThat(snapshot.getDispatchLatency().getCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldPublishOncePerInterval() {
+        AnalyticMetrics metrics = new AnalyticMetrics();
+        assertThat(metrics.isDue(1000, 100), is(equalTo(false)));
+        assertThat(metrics.isDue(1050, 100), is(equalTo(false)));
+        assertThat(metrics.isDue(1100, 100), is(equalTo(true)));
+        assertThat(metrics.isDue(1100, 100), is(equalTo(false)));
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class BackpressureTest {
+    private List<String> dropped;
+    private List<Long> discarded;
+    private Backpressure backpressure;
+    private Dispatcher dispatcher;
+    private Spill spill;
+
+    @Before
+    public void setup() throws IOException {
+        dropped = new ArrayList<>();
+        discarded = new ArrayList<>();
+        backpressure = new Backpressure(event -> dropped.add(event.getName()));
+        backpressure.setCapacity(2);
+        dispatcher = new Dispatcher(event -> {
+        }, backpressure);
+        File file = File.createTempFile("analytic", ".spill");
+        spill = new Spill(file, new Spill.Listener() {
+            @Override
+            public void onDroppedParams(int count) {
+            }
+
+            @Override
+            public void onDiscarded(long journalOffset) {
+                discarded.add(journalOffset);
+            }
+        });
+    }
+
+    @After
+    public void clean() throws IOException {
+        spill.close();
+    }
+
+    @Test
+    public void shouldDropNewestWhenFull() {
+        offer("a", Backpressure.DROP_NEWEST);
+        offer("b", Backpressure.DROP_NEWEST);
+        offer("c", Backpressure.DROP_NEWEST);
+
+        assertThat(dropped.toString(), is(equalTo("[c]")));
+        assertThat(dispatcher.getDepth(), is(equalTo(2L)));
+        assertThat(backpressure.getCounts()[Backpressure.DROP_NEWEST], is(equalTo(1L)));
+    }
+
+    @Test
+    public void shouldDropOldestDroppableWhenFull() {
+        offer("a", Backpressure.SPILL);
+        offer("b", Backpressure.DROP_NEWEST);
+        offer("c", Backpressure.DROP_OLDEST);
+
+        assertThat(dropped.toString(), is(equalTo("[b]")));
+        assertThat(dispatcher.getDepth(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldDropAfterBlockTimeout() {
+        backpressure.setTimeout(10);
+        offer("a", Backpressure.BLOCK);
+        offer("b", Backpressure.BLOCK);
+        offer("c", Backpressure.BLOCK);
+
+        assertThat(dropped.toString(), is(equalTo("[c]")));
+    }
+
+    @Test
+    public void shouldSpillWhenFull() {
+        backpressure.setSpill(spill);
+        offer("a", Backpressure.SPILL);
+        offer("b", Backpressure.SPILL);
+        offer("c", Backpressure.SPILL);
+        offer("d", Backpressure.SPILL);
+
+        assertThat(dropped.isEmpty(), is(equalTo(true)));
+        assertThat(dispatcher.getSpilled(), is(equalTo(2L)));
+        assertThat(spill.poll().getName(), is(equalTo("c")));
+        assertThat(spill.poll().getName(), is(equalTo("d")));
+        assertThat(spill.isEmpty(), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldSpillBehindSpilledEvents() {
+        backpressure.setSpill(spill);
+        offer("a", Backpressure.SPILL);
+        offer("b", Backpressure.SPILL);
+        offer("c", Backpressure.SPILL);
+
+        //room in queue, but spilled events go first
+        backpressure.setCapacity(4);
+        offer("d", Backpressure.SPILL);
+        offer("e", Backpressure.DROP_NEWEST);
+
+        assertThat(dispatcher.getDepth(), is(equalTo(3L)));
+        assertThat(spill.poll().getName(), is(equalTo("c")));
+        assertThat(spill.poll().getName(), is(equalTo("d")));
+        assertThat(spill.isEmpty(), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldReportUnreadableSpilledEvents() throws IOException {
+        spill.append(new TrackedEvent("a", 0L, null, 10L, Backpressure.SPILL));
+        spill.append(new TrackedEvent("b", 0L, null, 20L, Backpressure.SPILL));
+        spill.append(new TrackedEvent("c", 0L, null, 30L, Backpressure.SPILL));
+        assertThat(spill.poll().getName(), is(equalTo("a")));
+
+        //corrupt length of second record
+        long second;
+        try (RandomAccessFile raf = new RandomAccessFile(spill.getFile(), "rw")) {
+            raf.seek(0);
+            second = 12 + raf.readInt();
+            raf.seek(second);
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+
+        //remaining events are reported, not lost silently
+        assertThat(spill.poll(), is(nullValue()));
+        assertThat(discarded.toString(), is(equalTo("[20, 30]")));
+        assertThat(spill.isEmpty(), is(equalTo(true)));
+
+        //spill is usable afterwards
+        spill.append(new TrackedEvent("d", 0L, null, 40L, Backpressure.SPILL));
+        assertThat(spill.poll().getName(), is(equalTo("d")));
+    }
+
+    @Test
+    public void shouldSkipMalformedSpilledEvent() throws IOException {
+        spill.append(new TrackedEvent("a", 0L, null, 10L, Backpressure.SPILL));
+        spill.append(new TrackedEvent("b", 0L, null, 20L, Backpressure.SPILL));
+
+        //corrupt version of first record
+        try (RandomAccessFile raf = new RandomAccessFile(spill.getFile(), "rw")) {
+            raf.seek(12);
+            raf.writeByte(0);
+        }
+
+        assertThat(spill.poll().getName(), is(equalTo("b")));
+        assertThat(discarded.toString(), is(equalTo("[10]")));
+    }
+
+    @Test
+    public void shouldKeepSpillPolicyEventsWithoutSpill() {
+        offer("a", Backpressure.SPILL);
+        offer("b", Backpressure.SPILL);
+        offer("c", Backpressure.SPILL);
+
+        assertThat(dropped.isEmpty(), is(equalTo(true)));
+        assertThat(dispatcher.getDepth(), is(equalTo(3L)));
+    }
+
+    private void offer(@NonNull String name, int policy) {
+        dispatcher.enqueue(new TrackedEvent(name, 0L, null, -1L, policy));
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class BatcherTest {
+
+    @Test
+    public void shouldFlushEventsInSequenceOrder() {
+        List<String> flushed = new ArrayList<>();
+        Batcher batcher = new Batcher(6, 1000, event -> flushed.add(event.getName()));
+
+        batcher.onDispatch(event("b", 2));
+        batcher.onDispatch(event("a", 1));
+        batcher.onDispatch(event("replayed", EventClock.NO_SEQUENCE));
+        batcher.onDispatch(event("e", 5));
+        batcher.onDispatch(event("c", 3));
+        batcher.onDispatch(event("d", 4));
+
+        //sequenced events are ordered up to the replayed event, which keeps its place
+        assertThat(flushed.toString(), is(equalTo("[a, b, replayed, c, d, e]")));
+        assertThat(batcher.getStats().getFlushedEvents(), is(equalTo(6L)));
+    }
+
+    @Test
+    public void shouldFlushOpenBatchOnStop() {
+        List<String> flushed = new ArrayList<>();
+        Batcher batcher = new Batcher(2, 60000, event -> flushed.add(event.getName()));
+        Dispatcher dispatcher = new Dispatcher(batcher, new Backpressure(event -> {
+        }));
+        dispatcher.start();
+
+        dispatcher.enqueue(event("a", 1));
+        dispatcher.enqueue(event("b", 2));
+        dispatcher.enqueue(event("c", 3));
+        dispatcher.stop(1000);
+
+        //trailing partial batch is not lost
+        assertThat(flushed.toString(), is(equalTo("[a, b, c]")));
+        assertThat(batcher.getStats().getFlushCount(), is(equalTo(2L)));
+        assertThat(batcher.getStats().getFlushedEvents(), is(equalTo(3L)));
+    }
+
+    @Test
+    public void shouldRefuseEventsAfterStop() {
+        List<String> dispatched = new ArrayList<>();
+        Dispatcher dispatcher = new Dispatcher(event -> dispatched.add(event.getName()),
+                new Backpressure(event -> {
+                }));
+        dispatcher.start();
+
+        assertThat(dispatcher.enqueue(event("a", 1)), is(equalTo(true)));
+        dispatcher.stop(1000);
+
+        //refused events are left to the caller, never lost in a stopped queue
+        assertThat(dispatcher.enqueue(event("b", 2)), is(equalTo(false)));
+        assertThat(dispatched.toString(), is(equalTo("[a]")));
+        assertThat(dispatcher.getDepth(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldHandOverWholeBatchDownstream() {
+        List<Integer> batches = new ArrayList<>();
+        Batcher batcher = new Batcher(3, 60000, new Dispatcher.Callback() {
+            @Override
+            public void onDispatch(TrackedEvent event) {
+                batches.add(1);
+            }
+
+            @Override
+            public int onDispatch(TrackedEvent[] events, int count) {
+                batches.add(count);
+                return 1;
+            }
+        });
+
+        batcher.onDispatch(event("a", 1));
+        batcher.onDispatch(event("b", 2));
+        batcher.onDispatch(event("c", 3));
+
+        //one downstream call per flush, dropped events reported by downstream
+        assertThat(batches.toString(), is(equalTo("[3]")));
+        assertThat(batcher.getStats().getFlushedEvents(), is(equalTo(2L)));
+        assertThat(batcher.getStats().getDroppedEvents(), is(equalTo(1L)));
+    }
+
+    private static TrackedEvent event(String name, long sequence) {
+        return new TrackedEvent(name, 0L, sequence, null, -1L, Backpressure.DROP_NEWEST);
+    }
+}
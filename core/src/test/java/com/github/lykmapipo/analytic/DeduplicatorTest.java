@@ -0,0 +1,60 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class DeduplicatorTest {
+    private String TEST_ACTION = "test_action";
+    private String TEST_OTHER_ACTION = "test_other_action";
+
+    @Test
+    public void shouldDropDuplicatesWithinWindow() {
+        Deduplicator deduplicator = new Deduplicator(16, 100);
+        long key = Deduplicator.hash(Deduplicator.SEED, TEST_ACTION);
+
+        assertThat(deduplicator.isDuplicate(key, 1000), is(equalTo(false)));
+        assertThat(deduplicator.isDuplicate(key, 1050), is(equalTo(true)));
+        assertThat(deduplicator.isDuplicate(key, 1100), is(equalTo(false)));
+        assertThat(deduplicator.isDuplicate(key, 1150), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldNotDropDistinctKeys() {
+        Deduplicator deduplicator = new Deduplicator(16, 100);
+        long key = Deduplicator.hash(Deduplicator.SEED, TEST_ACTION);
+        long other = Deduplicator.hash(Deduplicator.SEED, TEST_OTHER_ACTION);
+
+        assertThat(deduplicator.isDuplicate(key, 1000), is(equalTo(false)));
+        assertThat(deduplicator.isDuplicate(other, 1000), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldNotDropWhenDisabled() {
+        Deduplicator deduplicator = new Deduplicator(16, 0);
+        long key = Deduplicator.hash(Deduplicator.SEED, TEST_ACTION);
+
+        assertThat(deduplicator.isDuplicate(key, 1000), is(equalTo(false)));
+        assertThat(deduplicator.isDuplicate(key, 1000), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldStayBoundedWhenFull() {
+        Deduplicator deduplicator = new Deduplicator(16, 100);
+        for (int i = 0; i < 1000; i++) {
+            long key = Deduplicator.hash(Deduplicator.SEED, TEST_ACTION + i);
+            assertThat(deduplicator.isDuplicate(key, i), is(equalTo(false)));
+        }
+        assertThat(deduplicator.capacity(), is(equalTo(16)));
+
+        //most recent key is still remembered
+        long key = Deduplicator.hash(Deduplicator.SEED, TEST_ACTION + 999);
+        assertThat(deduplicator.isDuplicate(key, 1000), is(equalTo(true)));
+    }
+}
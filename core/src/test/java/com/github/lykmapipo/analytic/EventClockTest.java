@@ -0,0 +1,105 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class EventClockTest {
+    private static final long TEST_TIME = 1600000000000L;
+
+    @Test
+    public void shouldDeriveTimeFromElapsedTime() {
+        TestClock clock = new TestClock(TEST_TIME);
+        EventClock eventClock = new EventClock(clock);
+        assertThat(eventClock.currentTimeMillis(), is(equalTo(TEST_TIME)));
+
+        clock.advance(1500);
+        assertThat(eventClock.currentTimeMillis(), is(equalTo(TEST_TIME + 1500)));
+        assertThat(eventClock.elapsedRealtime(), is(equalTo(1500L)));
+
+        //wall time set backwards is ignored until re-anchored
+        clock.wall = TEST_TIME - 1000;
+        assertThat(eventClock.currentTimeMillis(), is(equalTo(TEST_TIME + 1500)));
+        assertThat(eventClock.anchor(clock).currentTimeMillis(), is(equalTo(TEST_TIME - 1000)));
+    }
+
+    @Test
+    public void shouldContinueSequenceAcrossClocks() {
+        EventClock eventClock = new EventClock(new TestClock(TEST_TIME));
+        assertThat(eventClock.nextSequence(), is(equalTo(1L)));
+        assertThat(eventClock.nextSequence(), is(equalTo(2L)));
+
+        EventClock anchored = eventClock.anchor(new TestClock(0L));
+        assertThat(anchored.nextSequence(), is(equalTo(3L)));
+        assertThat(eventClock.nextSequence(), is(equalTo(4L)));
+    }
+
+    @Test
+    public void shouldIssueUniqueSequencesAcrossThreads() throws InterruptedException {
+        EventClock eventClock = new EventClock(new TestClock(TEST_TIME));
+        int threads = 4;
+        int count = 10000;
+        long[][] issued = new long[threads][count];
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            long[] sequences = issued[i];
+            workers[i] = new Thread(() -> {
+                for (int j = 0; j < count; j++) {
+                    sequences[j] = eventClock.nextSequence();
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Set<Long> unique = new HashSet<>();
+        for (long[] sequences : issued) {
+            for (int j = 0; j < count; j++) {
+                unique.add(sequences[j]);
+                if (j > 0) {
+                    assertThat(sequences[j] > sequences[j - 1], is(equalTo(true)));
+                }
+            }
+        }
+        assertThat(unique.size(), is(equalTo(threads * count)));
+    }
+
+    /**
+     * Deterministic clock advanced by hand
+     */
+    static final class TestClock implements Clock {
+        volatile long wall;
+        volatile long elapsed;
+
+        TestClock(long wall) {
+            this.wall = wall;
+        }
+
+        void advance(long millis) {
+            wall = wall + millis;
+            elapsed = elapsed + TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return wall;
+        }
+
+        @Override
+        public long elapsedRealtimeNanos() {
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class EventCodecTest {
+    private static final long TEST_TIME = 1600000000000L;
+
+    @Test
+    public void shouldRoundTripRecords() {
+        EventParams params = new EventParams()
+                .put("currency", "USD")
+                .put("value", 20.20)
+                .put("quantity", -3L)
+                .put("test_param", "h\u00e9llo \u4e16\u754c \ud83d\ude00");
+
+        TrackedEvent event = roundTrip("ecommerce_purchase", TEST_TIME, params);
+        assertThat(event.getName(), is(equalTo("ecommerce_purchase")));
+        assertThat(event.getTime(), is(equalTo(TEST_TIME)));
+        assertThat(event.getParams(), is(equalTo(params)));
+
+        event = roundTrip("test_event", 0L, null);
+        assertThat(event.getTime(), is(equalTo(0L)));
+        assertThat(event.getParams().size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldRoundTripBooleanAndNestedParams() {
+        ArrayList<EventParams> items = new ArrayList<>();
+        items.add(new EventParams().put("item_id", "test_item").put("quantity", 2L));
+        items.add(new EventParams().put("item_id", "other_item").putObject("success", false));
+        EventParams params = new EventParams()
+                .putObject("success", true)
+                .putObject("test_param", new EventParams()
+                        .put("method", "test_method")
+                        .putObject("test_param", new EventParams().put("value", 2.5)))
+                .putObject("items", items);
+
+        TrackedEvent event = roundTrip("ecommerce_purchase", TEST_TIME, params);
+        assertThat(event.getParams(), is(equalTo(params)));
+        assertThat(event.getParams().objectAt(0), is(equalTo((Object) Boolean.TRUE)));
+    }
+
+    @Test
+    public void shouldCountUnsupportedParams() {
+        EventParams params = new EventParams()
+                .put("test_param", "test_value")
+                .putObject("value", new Object())
+                .putObject("items", Arrays.asList(new EventParams(), "test_item"));
+
+        EventCodec.Encoder record = EventCodec.encode("test_event", TEST_TIME, params);
+        assertThat(record.getDropped(), is(equalTo(2)));
+
+        TrackedEvent event = roundTrip("test_event", TEST_TIME, params);
+        assertThat(event.getParams().size(), is(equalTo(1)));
+        assertThat(event.getParams().getString("test_param"), is(equalTo("test_value")));
+
+        //counted per record
+        record = EventCodec.encode("test_event", TEST_TIME, null);
+        assertThat(record.getDropped(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldDecodePreviousVersion() {
+        EventParams params = new EventParams().put("currency", "USD").put("value", 20.20);
+        EventCodec.Encoder record = EventCodec.encode("ecommerce_purchase", TEST_TIME, params);
+        byte[] data = Arrays.copyOf(record.getData(), record.getSize());
+
+        //version 1 records only differ by their version byte
+        data[0] = (byte) EventCodec.MIN_VERSION;
+        TrackedEvent event = EventCodec.decode(ByteBuffer.wrap(data), 0L);
+        assertThat(event.getParams(), is(equalTo(params)));
+    }
+
+    @Test
+    public void shouldEncodeWellKnownNamesCompactly() {
+        EventParams params = new EventParams().put("currency", "USD").put("value", 20.20);
+        EventCodec.Encoder record = EventCodec.encode("ecommerce_purchase", TEST_TIME, params);
+
+        //version, name, time, count, 2 keys, 2 types, 1 string reference and a double
+        assertThat(record.getSize() <= 24, is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldRoundTripStreams() {
+        EventCodec.Writer writer = new EventCodec.Writer();
+        writer.write("test_event", TEST_TIME, new EventParams().put("test_param", "first"));
+        int first = writer.size();
+        writer.write("test_event", TEST_TIME - 1000, new EventParams().put("test_param", "first"));
+        int second = writer.size() - first;
+        writer.write("login", TEST_TIME + 1000, null);
+
+        //repeated name, key and value are dictionary references
+        assertThat(second < first - 5, is(equalTo(true)));
+
+        EventCodec.Reader reader = new EventCodec.Reader(ByteBuffer.wrap(writer.toByteArray()));
+        assertThat(reader.next(), is(equalTo(true)));
+        assertThat(reader.getParams().getString("test_param"), is(equalTo("first")));
+        assertThat(reader.next(), is(equalTo(true)));
+        assertThat(reader.getName(), is(equalTo("test_event")));
+        assertThat(reader.getTime(), is(equalTo(TEST_TIME - 1000)));
+        assertThat(reader.getParams().getString("test_param"), is(equalTo("first")));
+        assertThat(reader.next(), is(equalTo(true)));
+        assertThat(reader.getName(), is(equalTo("login")));
+        assertThat(reader.getTime(), is(equalTo(TEST_TIME + 1000)));
+        assertThat(reader.next(), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldRoundTripManyEvents() {
+        int count = 100000;
+        EventCodec.Writer writer = new EventCodec.Writer();
+        for (int i = 0; i < count; i++) {
+            writer.write("test_event", TEST_TIME + i, new EventParams()
+                    .put("item_id", "item" + (i % 100))
+                    .put("quantity", (long) i)
+                    .put("value", i * 0.5));
+        }
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(writer.size());
+        direct.put(writer.toByteArray()).flip();
+        EventCodec.Reader reader = new EventCodec.Reader(direct);
+        int read = 0;
+        while (reader.next()) {
+            assertThat(reader.getTime(), is(equalTo(TEST_TIME + read)));
+            assertThat(reader.getParams().getLong("quantity", -1L), is(equalTo((long) read)));
+            read++;
+        }
+        assertThat(read, is(equalTo(count)));
+    }
+
+    @Test
+    public void shouldRejectUnknownAndMalformedRecords() {
+        EventCodec.Encoder record = EventCodec.encode("test_event", TEST_TIME, null);
+        byte[] data = Arrays.copyOf(record.getData(), record.getSize());
+
+        byte[] unknown = data.clone();
+        unknown[0] = (byte) (EventCodec.VERSION + 1);
+        assertThat(EventCodec.decode(ByteBuffer.wrap(unknown), 0L), is(nullValue()));
+
+        ByteBuffer truncated = ByteBuffer.wrap(data, 0, data.length - 2);
+        assertThat(EventCodec.decode(truncated, 0L), is(nullValue()));
+    }
+
+    private static TrackedEvent roundTrip(String name, long time, EventParams params) {
+        EventCodec.Encoder record = EventCodec.encode(name, time, params);
+        byte[] data = Arrays.copyOf(record.getData(), record.getSize());
+        return EventCodec.decode(ByteBuffer.wrap(data), 0L);
+    }
+}
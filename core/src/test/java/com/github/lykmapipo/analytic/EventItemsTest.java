@@ -0,0 +1,54 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class EventItemsTest {
+
+    @Test
+    public void shouldSumPricedItems() {
+        EventItems items = new EventItems(2);
+        items.add("song", "Hello", "music", 2, 1.5);
+        items.add("book", "Get Real", "books", 1, Double.NaN);
+        items.add("film", null, null, 3, 2.0);
+
+        assertThat(items.size(), is(equalTo(3)));
+        assertThat(items.getQuantity(), is(equalTo(6L)));
+        assertThat(items.getValue(), is(equalTo(9.0)));
+        assertThat(items.hasPriceAt(1), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldLimitNumberOfItems() {
+        EventItems items = new EventItems(EventItems.MAX_ITEMS + 10);
+        for (int i = 0; i < EventItems.MAX_ITEMS; i++) {
+            assertThat(items.add("item" + i, null, null, 1, Double.NaN), is(equalTo(true)));
+        }
+        assertThat(items.add("overflow", null, null, 1, Double.NaN), is(equalTo(false)));
+        assertThat(items.size(), is(equalTo(EventItems.MAX_ITEMS)));
+        assertThat(Double.isNaN(items.getValue()), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldRoundTripThroughRecords() {
+        EventItems items = new EventItems(2);
+        items.add("song", "Hello", "music", 2, 1.5);
+        items.add("book", null, "books", 1, Double.NaN);
+        EventParams params = new EventParams().putObject("items", items).put("value", 3.0);
+
+        EventCodec.Encoder record = EventCodec.encode("purchase", 1L, params);
+        TrackedEvent event =
+                EventCodec.decode(ByteBuffer.wrap(record.getData(), 0, record.getSize()), 0L);
+
+        assertThat(event.getParams(), is(equalTo(params)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class EventParamsTest {
+    private String TEST_KEY = "test_key";
+    private String TEST_VALUE = "test_value";
+    private Long TEST_LONG = 2L;
+    private Double TEST_DOUBLE = 20.20;
+    private String TEST_QUANTITY = "quantity";
+    private String TEST_VALUE_KEY = "value";
+
+    @Test
+    public void shouldBeAbleToPutAndGetParams() {
+        EventParams params = new EventParams(1)
+                .put(TEST_KEY, TEST_VALUE)
+                .put(TEST_QUANTITY, TEST_LONG)
+                .put(TEST_VALUE_KEY, TEST_DOUBLE);
+
+        assertThat(params.size(), is(equalTo(3)));
+        assertThat(params.getString(TEST_KEY), is(equalTo(TEST_VALUE)));
+        assertThat(params.getLong(TEST_QUANTITY, 0), is(equalTo(TEST_LONG)));
+        assertThat(params.getDouble(TEST_VALUE_KEY, 0), is(equalTo(TEST_DOUBLE)));
+    }
+
+    @Test
+    public void shouldOverrideExistingKey() {
+        EventParams params = new EventParams()
+                .put(TEST_KEY, TEST_VALUE)
+                .put(TEST_KEY, TEST_LONG);
+
+        assertThat(params.size(), is(equalTo(1)));
+        assertThat(params.getString(TEST_KEY), is(equalTo(null)));
+        assertThat(params.getLong(TEST_KEY, 0), is(equalTo(TEST_LONG)));
+    }
+
+    @Test
+    public void shouldBeAbleToCopyAndMerge() {
+        EventParams params = new EventParams().put(TEST_KEY, TEST_VALUE);
+        EventParams copy = params.copy().put(TEST_QUANTITY, TEST_LONG);
+        assertThat(params.size(), is(equalTo(1)));
+        assertThat(copy.size(), is(equalTo(2)));
+
+        params.putAll(copy);
+        assertThat(params, is(equalTo(copy)));
+
+        params.remove(TEST_KEY);
+        assertThat(params.size(), is(equalTo(1)));
+        assertThat(params, is(not(equalTo(copy))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotModifyFrozenParams() {
+        new EventParams().put(TEST_KEY, TEST_VALUE).freeze().put(TEST_KEY, TEST_LONG);
+    }
+}
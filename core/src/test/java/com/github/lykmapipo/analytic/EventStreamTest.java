@@ -0,0 +1,120 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class EventStreamTest {
+    private final Executor direct = Runnable::run;
+
+    @Test
+    public void shouldDeliverOnlyRequestedEvents() {
+        EventStream stream = new EventStream();
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.subscribe(subscriber, direct, 8);
+
+        stream.publish(event("a"));
+        stream.publish(event("b"));
+        assertThat(subscriber.received.toString(), is(equalTo("[]")));
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.received.toString(), is(equalTo("[a]")));
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        stream.publish(event("c"));
+        assertThat(subscriber.received.toString(), is(equalTo("[a, b, c]")));
+    }
+
+    @Test
+    public void shouldDropForSlowSubscriberOnly() {
+        EventStream stream = new EventStream();
+        TestSubscriber slow = new TestSubscriber();
+        TestSubscriber fast = new TestSubscriber();
+        stream.subscribe(slow, direct, 1);
+        stream.subscribe(fast, direct, 1);
+        fast.subscription.request(Long.MAX_VALUE);
+
+        stream.publish(event("a"));
+        stream.publish(event("b"));
+
+        assertThat(fast.received.toString(), is(equalTo("[a, b]")));
+        assertThat(slow.subscription.getDropped(), is(equalTo(1L)));
+        slow.subscription.request(2);
+        assertThat(slow.received.toString(), is(equalTo("[a]")));
+    }
+
+    @Test
+    public void shouldCompleteAfterBufferedEvents() {
+        EventStream stream = new EventStream();
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.subscribe(subscriber, direct, 8);
+        stream.publish(event("a"));
+        stream.complete();
+        assertThat(subscriber.completed, is(equalTo(false)));
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.received.toString(), is(equalTo("[a]")));
+        assertThat(subscriber.completed, is(equalTo(true)));
+        assertThat(stream.hasSubscribers(), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldCancelFailingSubscriber() {
+        EventStream stream = new EventStream();
+        TestSubscriber subscriber = new TestSubscriber() {
+            @Override
+            public void onNext(@NonNull String name, @NonNull EventParams params) {
+                throw new IllegalStateException(name);
+            }
+        };
+        stream.subscribe(subscriber, direct, 8);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        stream.publish(event("a"));
+
+        assertThat(subscriber.error instanceof IllegalStateException, is(equalTo(true)));
+        assertThat(stream.hasSubscribers(), is(equalTo(false)));
+    }
+
+    private static TrackedEvent event(@NonNull String name) {
+        return new TrackedEvent(name, 0L, new EventParams().freeze());
+    }
+
+    private static class TestSubscriber implements EventSubscriber {
+        final List<String> received = new ArrayList<>();
+        EventSubscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(@NonNull EventSubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(@NonNull String name, @NonNull EventParams params) {
+            received.add(name);
+        }
+
+        @Override
+        public void onError(@NonNull Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class FileSinkTest {
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("analytic", ".events");
+        file.delete();
+    }
+
+    @After
+    public void clean() {
+        file.delete();
+    }
+
+    @Test
+    public void shouldAppendEventsAndUserData() throws IOException {
+        FileSink sink = new FileSink(file);
+        sink.logEvent("test_event", new EventParams()
+                .put("test_param", "test_value").put("quantity", 2L).put("value", 2.5));
+        sink.setUserId("test_user");
+        sink.setUserProperty("test_property", "test_value");
+
+        //buffered until flushed
+        assertThat(file.exists(), is(equalTo(true)));
+        assertThat(file.length(), is(equalTo(0L)));
+        sink.flush();
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file.toPath(), Charset.forName("UTF-8"));
+        assertThat(lines.size(), is(equalTo(3)));
+        assertThat(lines.get(0),
+                is(equalTo("event\ttest_event\ttest_param=test_value\tquantity=2\tvalue=2.5")));
+        assertThat(lines.get(1), is(equalTo("user_id\ttest_user")));
+        assertThat(lines.get(2), is(equalTo("user_property\ttest_property=test_value")));
+
+        //reopened in append mode
+        sink.setUserId("other_user");
+        sink.close();
+        lines = Files.readAllLines(file.toPath(), Charset.forName("UTF-8"));
+        assertThat(lines.size(), is(equalTo(4)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReportWriteFailure() {
+        //a directory can not be opened for writing
+        file.mkdirs();
+        new FileSink(file).setUserId("test_user");
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class HistogramTest {
+
+    @Test
+    public void shouldSummarizeRecordedValues() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot(false);
+        assertThat(snapshot.getCount(), is(equalTo(100L)));
+        assertThat(snapshot.getSum(), is(equalTo(5050.0)));
+        assertThat(snapshot.getMin(), is(equalTo(1.0)));
+        assertThat(snapshot.getMax(), is(equalTo(100.0)));
+
+        double median = snapshot.getQuantile(0.5);
+        assertThat(median > 40 && median < 60, is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldKeepExactSumAndExtremesOfNegativeValues() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        histogram.record(2.5);
+        histogram.record(-1.5);
+
+        Histogram.Snapshot snapshot = histogram.snapshot(false);
+        assertThat(snapshot.getSum(), is(equalTo(-4.0)));
+        assertThat(snapshot.getMin(), is(equalTo(-5.0)));
+        assertThat(snapshot.getMax(), is(equalTo(2.5)));
+        assertThat(snapshot.getQuantile(0), is(equalTo(0.0)));
+    }
+
+    @Test
+    public void shouldResetOnSnapshot() {
+        Histogram histogram = new Histogram();
+        histogram.record(10);
+
+        assertThat(histogram.snapshot(true).getCount(), is(equalTo(1L)));
+        assertThat(histogram.snapshot(true).getCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void shouldCountAcrossStripes() throws InterruptedException {
+        StripedCounter counter = new StripedCounter();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    counter.increment();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(counter.sumThenReset(), is(equalTo(4000L)));
+        assertThat(counter.sum(), is(equalTo(0L)));
+    }
+}
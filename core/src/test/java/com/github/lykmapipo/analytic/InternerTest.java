@@ -0,0 +1,86 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class InternerTest {
+
+    @Test
+    public void shouldAssignStableIdsToWellKnownStrings() {
+        for (int i = 0; i < EventCodec.WELL_KNOWN.length; i++) {
+            assertThat(Interner.idOf(EventCodec.WELL_KNOWN[i]), is(equalTo(i)));
+            assertThat(Interner.valueOf(i), is(sameInstance(EventCodec.WELL_KNOWN[i])));
+        }
+        assertThat(Interner.canonical(new String("item_id")), is(sameInstance("item_id")));
+    }
+
+    @Test
+    public void shouldInternOnlyWhenAsked() {
+        String value = new String("interner_lookup");
+        assertThat(Interner.canonical(value), is(sameInstance(value)));
+        assertThat(Interner.idOf(value), is(equalTo(Interner.NO_ID)));
+
+        String interned = Interner.intern(value);
+        assertThat(interned, is(sameInstance(value)));
+        assertThat(Interner.intern(new String("interner_lookup")), is(sameInstance(value)));
+        assertThat(Interner.valueOf(Interner.idOf(value)), is(sameInstance(value)));
+    }
+
+    @Test
+    public void shouldInternOnceAcrossThreads() throws InterruptedException {
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        String[] results = new String[threads];
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                results[index] = Interner.intern(new String("interner_race"));
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        String canonical = Interner.canonical("interner_race");
+        for (String result : results) {
+            assertThat(result, is(sameInstance(canonical)));
+        }
+    }
+
+    @Test
+    public void shouldShareInstancesOfKeysAndDecodedValues() {
+        EventParams params = new EventParams().put(new String("interner_key"), 1L);
+        EventParams other = new EventParams().put(new String("interner_key"), 2L);
+        assertThat(params.keyAt(0), is(sameInstance(other.keyAt(0))));
+
+        String timezone = Interner.intern("Africa/Dar_es_Salaam");
+        EventCodec.Encoder record = EventCodec.encode(
+                "test_event", 0L, new EventParams().put("timezone", timezone));
+        byte[] data = Arrays.copyOf(record.getData(), record.getSize());
+        TrackedEvent event = EventCodec.decode(ByteBuffer.wrap(data), 0L);
+        assertThat(event.getParams().getString("timezone"), is(sameInstance(timezone)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class JournalTest {
+    private static final int TEST_CAPACITY = 4096;
+    private byte[] TEST_RECORD = "test_record".getBytes(Charset.forName("UTF-8"));
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("analytic", ".journal");
+        file.delete();
+    }
+
+    @Test
+    public void shouldReplayPendingRecords() throws IOException {
+        Journal journal = Journal.open(file, TEST_CAPACITY);
+        long acked = journal.append(TEST_RECORD, TEST_RECORD.length);
+        journal.append(TEST_RECORD, TEST_RECORD.length);
+        journal.ack(acked);
+        journal.close();
+
+        journal = Journal.open(file, TEST_CAPACITY);
+        int replayed = journal.replay((offset, payload) -> {
+            assertThat(payload.remaining(), is(equalTo(TEST_RECORD.length)));
+        });
+        journal.close();
+
+        assertThat(replayed, is(equalTo(1)));
+    }
+
+    @Test
+    public void shouldReclaimAcknowledgedRecords() throws IOException {
+        Journal journal = Journal.open(file, 256);
+
+        //steady traffic wraps around instead of filling up
+        for (int i = 0; i < 100; i++) {
+            long offset = journal.append(TEST_RECORD, TEST_RECORD.length);
+            assertThat(offset >= 0, is(equalTo(true)));
+            journal.ack(offset);
+            journal.commit();
+        }
+        journal.close();
+    }
+
+    @Test
+    public void shouldReplayPendingRecordsAcrossWrap() throws IOException {
+        Journal journal = Journal.open(file, 256);
+        List<Long> pending = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long offset = journal.append(TEST_RECORD, TEST_RECORD.length);
+            if (i < 14) {
+                journal.ack(offset);
+                journal.commit();
+            } else {
+                pending.add(offset);
+            }
+        }
+        journal.close();
+
+        //pending records span end and start of the journal
+        assertThat(pending.get(0) > pending.get(2), is(equalTo(true)));
+
+        List<Long> replayed = new ArrayList<>();
+        journal = Journal.open(file, 256);
+        journal.replay((offset, payload) -> replayed.add(offset));
+        journal.close();
+
+        assertThat(replayed, is(equalTo(pending)));
+    }
+
+    @Test
+    public void shouldNotOverwritePendingRecords() throws IOException {
+        Journal journal = Journal.open(file, 256);
+        long pending = journal.append(TEST_RECORD, TEST_RECORD.length);
+        int appended = 1;
+        while (journal.append(TEST_RECORD, TEST_RECORD.length) >= 0) {
+            appended++;
+        }
+        journal.commit();
+
+        //full until oldest pending record is acknowledged
+        assertThat(journal.append(TEST_RECORD, TEST_RECORD.length), is(equalTo(-1L)));
+        journal.ack(pending);
+        journal.commit();
+        assertThat(journal.append(TEST_RECORD, TEST_RECORD.length), is(equalTo(pending)));
+        journal.close();
+
+        assertThat(appended, is(equalTo(8)));
+    }
+
+    @Test
+    public void shouldNotReplayCorruptedRecords() throws IOException {
+        Journal journal = Journal.open(file, TEST_CAPACITY);
+        long offset = journal.append(TEST_RECORD, TEST_RECORD.length);
+        journal.close();
+
+        //corrupt payload
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(offset + 16);
+            raf.write(0);
+        }
+
+        journal = Journal.open(file, TEST_CAPACITY);
+        int replayed = journal.replay((position, payload) -> {
+        });
+        journal.close();
+
+        assertThat(replayed, is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldRejectRecordsWhenFull() throws IOException {
+        Journal journal = Journal.open(file, 64);
+        long offset = journal.append(new byte[64], 64);
+        journal.close();
+
+        assertThat(offset, is(equalTo(-1L)));
+    }
+
+    @After
+    public void clean() {
+        file.delete();
+    }
+}
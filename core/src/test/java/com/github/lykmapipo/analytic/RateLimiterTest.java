@@ -0,0 +1,89 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class RateLimiterTest {
+    private String TEST_EVENT = "test_event";
+    private String TEST_OTHER_EVENT = "test_other_event";
+    private long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class Action {
+    }
+
+    private static final class View {
+    }
+
+    @Test
+    public void shouldAdmitBurstThenSustainedRate() {
+        RateLimiter limiter = new RateLimiter((name, params) -> {
+        });
+        limiter.setLimit(TEST_EVENT, 1, 2);
+
+        assertThat(limiter.tryAcquire(TEST_EVENT, null, SECOND), is(equalTo(true)));
+        assertThat(limiter.tryAcquire(TEST_EVENT, null, SECOND), is(equalTo(true)));
+        assertThat(limiter.tryAcquire(TEST_EVENT, null, SECOND), is(equalTo(false)));
+        assertThat(limiter.tryAcquire(TEST_OTHER_EVENT, null, SECOND), is(equalTo(true)));
+
+        assertThat(limiter.tryAcquire(TEST_EVENT, null, 2 * SECOND), is(equalTo(true)));
+        assertThat(limiter.tryAcquire(TEST_EVENT, null, 2 * SECOND), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldLimitCategories() {
+        RateLimiter limiter = new RateLimiter((name, params) -> {
+        });
+        limiter.setLimit(Action.class, 1, 1);
+
+        assertThat(limiter.tryAcquire(TEST_EVENT, Action.class, SECOND), is(equalTo(true)));
+        assertThat(limiter.tryAcquire(TEST_OTHER_EVENT, Action.class, SECOND), is(equalTo(false)));
+        assertThat(limiter.tryAcquire(TEST_OTHER_EVENT, View.class, SECOND), is(equalTo(true)));
+
+        limiter.removeLimit(Action.class);
+        assertThat(limiter.isEmpty(), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldNotSpendNameTokenOnCategoryDrop() {
+        RateLimiter limiter = new RateLimiter((name, params) -> {
+        });
+        limiter.setLimit(TEST_EVENT, 1, 1);
+        limiter.setLimit(Action.class, 1, 1);
+
+        assertThat(limiter.tryAcquire(TEST_OTHER_EVENT, Action.class, SECOND), is(equalTo(true)));
+        assertThat(limiter.tryAcquire(TEST_EVENT, Action.class, SECOND), is(equalTo(false)));
+
+        //name token is still available for uncategorized event
+        assertThat(limiter.tryAcquire(TEST_EVENT, null, SECOND), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldReportDroppedEvents() {
+        List<EventParams> reports = new ArrayList<>();
+        RateLimiter limiter = new RateLimiter((name, params) -> {
+            assertThat(name, is(equalTo(RateLimiter.EVENT_DROPPED)));
+            reports.add(params);
+        });
+        limiter.setLimit(TEST_EVENT, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(TEST_EVENT, null, SECOND);
+        }
+        limiter.drain();
+        limiter.drain();
+
+        assertThat(reports.size(), is(equalTo(1)));
+        assertThat(reports.get(0).getLong(TEST_EVENT, 0), is(equalTo(4L)));
+    }
+}
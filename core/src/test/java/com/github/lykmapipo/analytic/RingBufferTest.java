@@ -0,0 +1,44 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class RingBufferTest {
+
+    @Test
+    public void shouldDrainInOrder() {
+        RingBuffer<String> buffer = new RingBuffer<>(4);
+        assertThat(buffer.offer("a"), is(nullValue()));
+        assertThat(buffer.offer("b"), is(nullValue()));
+
+        List<String> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained), is(equalTo(2)));
+        assertThat(drained, is(equalTo(Arrays.asList("a", "b"))));
+        assertThat(buffer.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void shouldOverwriteOldestWhenFull() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.offer("a");
+        buffer.offer("b");
+        assertThat(buffer.offer("c"), is(equalTo("a")));
+        assertThat(buffer.offer("d"), is(equalTo("b")));
+
+        List<String> drained = new ArrayList<>();
+        buffer.drainTo(drained);
+        assertThat(drained, is(equalTo(Arrays.asList("c", "d"))));
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class SamplerTest {
+    private String TEST_EVENT = "test_event";
+    private String TEST_KEPT_EVENT = "test_kept_event";
+
+    @Test
+    public void shouldKeepEventsWithoutRate() {
+        Sampler sampler = new Sampler();
+        assertThat(sampler.sample(TEST_EVENT), is(equalTo(Sampler.WEIGHT_ALL)));
+    }
+
+    @Test
+    public void shouldRejectEventsWithZeroRate() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(TEST_EVENT, 0.0, false);
+        assertThat(sampler.sample(TEST_EVENT), is(equalTo(Sampler.WEIGHT_NONE)));
+
+        sampler.removeRate(TEST_EVENT);
+        assertThat(sampler.sample(TEST_EVENT), is(equalTo(Sampler.WEIGHT_ALL)));
+    }
+
+    @Test
+    public void shouldAlwaysKeepKeptEvents() {
+        Sampler sampler = new Sampler(TEST_KEPT_EVENT);
+        sampler.setRate(TEST_KEPT_EVENT, 0.0, false);
+        assertThat(sampler.sample(TEST_KEPT_EVENT), is(equalTo(Sampler.WEIGHT_ALL)));
+    }
+
+    @Test
+    public void shouldWeighSampledEvents() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(TEST_EVENT, 0.25, false);
+
+        int kept = 0;
+        for (int i = 0; i < 10000; i++) {
+            double weight = sampler.sample(TEST_EVENT);
+            if (weight != Sampler.WEIGHT_NONE) {
+                assertThat(weight, is(equalTo(4.0)));
+                kept++;
+            }
+        }
+        assertThat(kept > 2000 && kept < 3000, is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldSampleUsersDeterministically() {
+        Sampler sampler = new Sampler();
+        sampler.setRate(TEST_EVENT, 0.5, true);
+
+        int users = 0;
+        for (int i = 0; i < 1000; i++) {
+            sampler.setUserId("user_" + i);
+            double weight = sampler.sample(TEST_EVENT);
+            for (int j = 0; j < 10; j++) {
+                assertThat(sampler.sample(TEST_EVENT), is(equalTo(weight)));
+            }
+            if (weight != Sampler.WEIGHT_NONE) {
+                users++;
+            }
+        }
+        assertThat(users > 400 && users < 600, is(equalTo(true)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class ValidatorTest {
+    private String TEST_EVENT = "test_event";
+    private String TEST_PARAM = "test_param";
+
+    @Test
+    public void shouldValidateEventNames() {
+        Validator validator = new Validator((violation, subject) -> {
+        });
+
+        assertThat(validator.isValidName(TEST_EVENT), is(equalTo(true)));
+        assertThat(validator.isValidName("1_event"), is(equalTo(false)));
+        assertThat(validator.isValidName("test-event"), is(equalTo(false)));
+        assertThat(validator.isValidName("firebase_event"), is(equalTo(false)));
+        assertThat(validator.isValidName("session_start"), is(equalTo(false)));
+        assertThat(validator.isValidName(repeat('e', 41)), is(equalTo(false)));
+        assertThat(validator.getCount(Validator.RESERVED_NAME), is(equalTo(2L)));
+    }
+
+    @Test
+    public void shouldLimitDistinctEventNames() {
+        Validator validator = new Validator((violation, subject) -> {
+        });
+
+        for (int i = 0; i < Validator.MAX_EVENT_NAMES; i++) {
+            assertThat(validator.isValidName(TEST_EVENT + i), is(equalTo(true)));
+        }
+        assertThat(validator.isValidName(TEST_EVENT), is(equalTo(false)));
+        assertThat(validator.isValidName(TEST_EVENT + 0), is(equalTo(true)));
+    }
+
+    @Test
+    public void shouldNotRecountUncachedEventNames() {
+        Validator validator = new Validator((violation, subject) -> {
+        });
+
+        //fill verdict cache with invalid names
+        for (int i = 0; i < Validator.MAX_CACHED; i++) {
+            assertThat(validator.isValidName("1" + i), is(equalTo(false)));
+        }
+
+        //repeated uncached name is counted once
+        for (int i = 0; i <= Validator.MAX_EVENT_NAMES; i++) {
+            assertThat(validator.isValidName(TEST_EVENT), is(equalTo(true)));
+        }
+    }
+
+    @Test
+    public void shouldFixParamsInSinglePass() {
+        Validator validator = new Validator((violation, subject) -> {
+        });
+
+        EventParams params = new EventParams()
+                .put("google_param", TEST_PARAM)
+                .put(TEST_PARAM, repeat('v', 120));
+        for (int i = 0; i < 30; i++) {
+            params.put(TEST_PARAM + i, i);
+        }
+        validator.validate(params);
+
+        assertThat(params.size(), is(equalTo(Validator.MAX_PARAMS)));
+        assertThat(params.containsKey("google_param"), is(equalTo(false)));
+        assertThat(params.getString(TEST_PARAM).length(), is(equalTo(Validator.MAX_VALUE_LENGTH)));
+    }
+
+    @Test
+    public void shouldReportViolationOnce() {
+        List<String> reported = new ArrayList<>();
+        Validator validator = new Validator((violation, subject) -> reported.add(subject));
+
+        for (int i = 0; i < 3; i++) {
+            validator.isValidName("screen_view");
+        }
+
+        assertThat(reported.size(), is(equalTo(1)));
+        assertThat(validator.getCount(Validator.RESERVED_NAME), is(equalTo(3L)));
+    }
+
+    private String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
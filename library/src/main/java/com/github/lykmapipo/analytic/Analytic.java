@@ -1,6 +1,15 @@
 package com.github.lykmapipo.analytic;
 
+import android.app.Activity;
+import android.app.Application;
+import android.content.BroadcastReceiver;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.res.Configuration;
 import android.os.Bundle;
+import android.os.SystemClock;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -13,7 +22,17 @@ import com.github.lykmapipo.common.provider.Provider;
 import com.github.lykmapipo.log.Log;
 import com.google.firebase.analytics.FirebaseAnalytics;
 
-import java.util.Date;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Analytic
@@ -38,10 +57,30 @@ public class Analytic {
     public static final String VALUE_CONTENT_TYPE_ACTION = "action_performed";
     public static final String VALUE_CONTENT_TYPE_SCREENVIEW = "screen";
 
+    /**
+     * Analytic internal events
+     */
+    public static final String EVENT_DROPPED = RateLimiter.EVENT_DROPPED;
+
+    /**
+     * Default number of events held while deferred initialization is in progress
+     */
+    public static final int DEFAULT_PENDING_CAPACITY = 256;
+
+    /**
+     * Name of deferred initialization thread
+     */
+    private static final String INIT_THREAD_NAME = "analytic-init";
+
+    /**
+     * Name of journal replay thread
+     */
+    private static final String REPLAY_THREAD_NAME = "analytic-replay";
+
     /**
      * {@link FirebaseAnalytics} instance
      */
-    private static FirebaseAnalytics analytics;
+    private static volatile FirebaseAnalytics analytics;
 
     /**
      * {@link Provider} instance
@@ -49,12 +88,276 @@ public class Analytic {
     private static Provider appProvider;
 
     /**
-     * Default event parameter
+     * Registered {@link AnalyticSink}s, replaced on write
+     */
+    private static volatile AnalyticSink[] sinks = new AnalyticSink[0];
+
+    /**
+     * App level default event parameters, replaced on write
+     */
+    private static volatile EventParams defaultEventParams = new EventParams().freeze();
+
+    /**
+     * Frozen default event parameters including timezone and medium, rebuilt lazily
+     * when defaults are edited or timezone changes
+     */
+    private static volatile DefaultsSnapshot defaultEventParamsSnapshot;
+
+    /**
+     * Generation of default event parameters, bumped on every invalidation
+     */
+    private static final AtomicInteger defaultEventParamsGeneration = new AtomicInteger();
+
+    /**
+     * Default {@link Clock}, monotonic time includes time spent in deep sleep
+     */
+    private static final Clock SYSTEM_CLOCK = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public long elapsedRealtimeNanos() {
+            return SystemClock.elapsedRealtimeNanos();
+        }
+    };
+
+    /**
+     * {@link EventClock} stamping events with time and sequence number
+     */
+    private static volatile EventClock eventClock = new EventClock(SYSTEM_CLOCK);
+
+    /**
+     * Re-anchor event clock when wall time is set and invalidate default event parameters
+     * snapshot when timezone changes
+     */
+    private static final BroadcastReceiver timezoneReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            if (Intent.ACTION_TIME_CHANGED.equals(intent.getAction())) {
+                EventClock current = eventClock;
+                eventClock = current.anchor(current.getClock());
+            } else {
+                defaultEventParamsGeneration.incrementAndGet();
+            }
+        }
+    };
+
+    /**
+     * {@link Dispatcher} instance, present only when asynchronous dispatch is enabled
+     */
+    private static volatile Dispatcher dispatcher;
+
+    /**
+     * Maximum time to wait for queued events to drain when asynchronous dispatch is disabled
+     */
+    private static final long DISPATCHER_DRAIN_TIMEOUT = 1000L;
+
+    /**
+     * {@link Batcher} instance, present only when asynchronous dispatch and batching are enabled
+     */
+    private static volatile Batcher batcher;
+
+    /**
+     * Maximum number of events per batch, zero when batching is disabled
+     */
+    private static int batchMaxEvents;
+
+    /**
+     * Maximum time in milliseconds a batch may stay open
+     */
+    private static long batchMaxLatency;
+
+    /**
+     * Number of acknowledged events per journal group commit
+     */
+    private static final int JOURNAL_GROUP_COMMIT = 64;
+
+    /**
+     * Journal file, relative to no backup files directory
+     */
+    static final String JOURNAL_FILE = "analytic/events.journal";
+
+    /**
+     * Spill file of events overflowing dispatcher queue, relative to cache directory
+     */
+    private static final String SPILL_FILE = "analytic/events.spill";
+
+    /**
+     * Whether accepted events should be journaled before dispatch
+     */
+    private static boolean journaling;
+
+    /**
+     * {@link Journal} instance, present only when journaling is enabled and initialized
+     */
+    private static volatile Journal journal;
+
+    /**
+     * Acknowledged events since last journal group commit
+     */
+    private static final AtomicInteger journalAcks = new AtomicInteger();
+
+    /**
+     * Dispatch events to sinks from the dispatcher thread
+     */
+    private static final Dispatcher.Callback sinkCallback = new Dispatcher.Callback() {
+        @Override
+        public void onDispatch(@NonNull TrackedEvent event) {
+            dispatch(event);
+        }
+
+        @Override
+        public int onDispatch(@NonNull TrackedEvent[] events, int count) {
+            return dispatch(events, count);
+        }
+
+        @Override
+        public void onFlush() {
+            flushSinks();
+        }
+    };
+
+    /**
+     * Count spilled event data which could not be kept
+     */
+    private static final Spill.Listener spillListener = new Spill.Listener() {
+        @Override
+        public void onDroppedParams(int count) {
+            countDroppedParams(count);
+        }
+
+        @Override
+        public void onDiscarded(long journalOffset) {
+            count(AnalyticMetrics.DROPPED, null, null);
+            acknowledge(journalOffset);
+        }
+    };
+
+    /**
+     * Flush batched events when app goes to background
+     */
+    private static final ComponentCallbacks2 backgroundCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            flush();
+        }
+    };
+
+    /**
+     * Debug logging stage, enabled on initialization for debug builds or when
+     * {@link #TAG} is loggable at debug level
+     */
+    private static final EventLogger logger = new EventLogger(TAG);
+
+    /**
+     * Per event name sampling stage, purchases are always kept
+     */
+    private static final Sampler sampler =
+            new Sampler(FirebaseAnalytics.Event.ECOMMERCE_PURCHASE);
+
+    /**
+     * Duplicate suppression of screen views and actions, disabled by default
+     */
+    private static final Deduplicator deduplicator =
+            new Deduplicator(Deduplicator.DEFAULT_CAPACITY, 0L);
+
+    /**
+     * Aggregation stage, folding events of aggregated names into periodic rollups
+     */
+    private static final Aggregator aggregator = new Aggregator(Analytic::submit);
+
+    /**
+     * Rate limiting stage, reporting dropped events periodically
+     */
+    private static final RateLimiter rateLimiter = new RateLimiter(Analytic::submit);
+
+    /**
+     * Categories of known events, keyed by event name
+     */
+    private static final Map<String, Class<?>> categories = categories();
+
+    /**
+     * Firebase constraints validation stage, reporting each violation once
+     */
+    private static final Validator validator = new Validator((violation, subject) ->
+            logger.debug("Firebase constraint violated: "
+                    + Validator.describe(violation) + " " + subject));
+
+    /**
+     * Whether events should be validated against Firebase constraints
+     */
+    private static volatile boolean validating = true;
+
+    /**
+     * Names of event categories, used by metrics
+     */
+    private static final Map<Class<?>, String> categoryNames = categoryNames();
+
+    /**
+     * Instrumentation of the event pipeline
+     */
+    private static final AnalyticMetrics metrics = new AnalyticMetrics();
+
+    /**
+     * Whether pipeline metrics should be recorded
+     */
+    private static volatile boolean measuring = true;
+
+    /**
+     * Listener of periodic metrics snapshots, if any
+     */
+    private static volatile AnalyticMetrics.Listener metricsListener;
+
+    /**
+     * Time in milliseconds between metrics snapshots published to listener
+     */
+    private static volatile long metricsInterval;
+
+    /**
+     * Policies applied when dispatcher queue is full, purchases are spilled and never dropped
+     */
+    private static final Backpressure backpressure = backpressure();
+
+    /**
+     * In-app subscribers of dispatched events
+     */
+    private static final EventStream stream = new EventStream();
+
+    /**
+     * Automatic screen tracker
+     */
+    private static final ScreenTracker screenTracker = new ScreenTracker();
+
+    /**
+     * Whether resumed activities and fragments should be tracked as screen views
+     */
+    private static boolean screenTracking;
+
+    /**
+     * Guard of pending events
+     */
+    private static final Object pendingLock = new Object();
+
+    /**
+     * Events tracked while deferred initialization is in progress, null otherwise
      */
-    private static Bundle defaultEventParams = new Bundle();
+    private static volatile RingBuffer<TrackedEvent> pending;
 
     /**
-     * Initialize analytic
+     * Initialize analytic with {@link FirebaseAnalytics} as the only sink
      *
      * @param provider {@link Provider}
      * @return {@link FirebaseAnalytics}
@@ -69,177 +372,1732 @@ public class Analytic {
     public static synchronized FirebaseAnalytics of(@NonNull Provider provider) {
 
         //instantiate if not exist
-        if (analytics == null) {
+        if (appProvider == null) {
+            Context context = provider.getApplicationContext();
+            FirebaseAnalytics firebase = FirebaseAnalytics.getInstance(context);
+            of(provider, new FirebaseSink(firebase));
+        }
+        return analytics;
+    }
+
+    /**
+     * Initialize analytic with given sinks
+     *
+     * @param provider {@link Provider}
+     * @param sinks    {@link AnalyticSink}s to dispatch events to
+     * @return {@link FirebaseAnalytics} if one of the sinks is a {@link FirebaseSink}
+     * @since 0.10.0
+     */
+    @Nullable
+    public static synchronized FirebaseAnalytics of(
+            @NonNull Provider provider, @NonNull AnalyticSink... sinks) {
+
+        //instantiate if not exist
+        if (appProvider == null) {
             appProvider = provider;
             Common.of(appProvider);
             Log.of(appProvider);
-            analytics = FirebaseAnalytics.getInstance(appProvider.getApplicationContext());
+            logger.setEnabled(isDebug(appProvider)
+                    || android.util.Log.isLoggable(TAG, android.util.Log.DEBUG));
+            for (AnalyticSink sink : sinks) {
+                addSink(sink);
+            }
+            Context context = appProvider.getApplicationContext();
+            context.registerComponentCallbacks(backgroundCallbacks);
+            IntentFilter timeFilter = new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED);
+            timeFilter.addAction(Intent.ACTION_TIME_CHANGED);
+            context.registerReceiver(timezoneReceiver, timeFilter);
+            if (journaling) {
+                openJournal();
+            }
+            backpressure.setSpill(
+                    new Spill(new File(context.getCacheDir(), SPILL_FILE), spillListener));
+            if (screenTracking) {
+                registerScreenTracker(context, true);
+            }
         }
         return analytics;
     }
 
     /**
-     * Clean up and reset {@link Analytic} internals
+     * Initialize analytic with {@link FirebaseAnalytics} as the only sink on a background
+     * thread and return immediately. Events tracked meanwhile are held, up to
+     * {@link #DEFAULT_PENDING_CAPACITY} latest ones, and replayed in order once
+     * initialization completes.
+     *
+     * @param provider {@link Provider}
+     * @since 0.10.0
+     */
+    @RequiresPermission(
+            allOf = {
+                    "android.permission.INTERNET",
+                    "android.permission.ACCESS_NETWORK_STATE",
+                    "android.permission.WAKE_LOCK"
+            }
+    )
+    public static void ofDeferred(@NonNull Provider provider) {
+        ofDeferred(provider, DEFAULT_PENDING_CAPACITY);
+    }
+
+    /**
+     * Initialize analytic with {@link FirebaseAnalytics} as the only sink on a background
+     * thread and return immediately. Events tracked meanwhile are held, up to given
+     * capacity latest ones, and replayed in order once initialization completes.
+     *
+     * @param provider {@link Provider}
+     * @param capacity maximum number of events to hold
+     * @since 0.10.0
+     */
+    @RequiresPermission(
+            allOf = {
+                    "android.permission.INTERNET",
+                    "android.permission.ACCESS_NETWORK_STATE",
+                    "android.permission.WAKE_LOCK"
+            }
+    )
+    public static synchronized void ofDeferred(@NonNull Provider provider, int capacity) {
+
+        //ignore if initialized or initializing
+        if (appProvider != null || pending != null) {
+            return;
+        }
+
+        synchronized (pendingLock) {
+            pending = new RingBuffer<>(capacity);
+        }
+        Thread thread = new Thread(() -> initialize(provider), INIT_THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Initialize analytic and replay events held meanwhile
+     *
+     * @param provider {@link Provider}
+     */
+    @SuppressWarnings("MissingPermission")
+    private static void initialize(@NonNull Provider provider) {
+        try {
+            of(provider);
+        } catch (RuntimeException e) {
+            logger.debug("Fail to initialize analytic");
+        }
+
+        //replay until no more events are held, new events are then captured directly
+        List<TrackedEvent> events = new ArrayList<>();
+        while (true) {
+            synchronized (pendingLock) {
+                RingBuffer<TrackedEvent> buffer = pending;
+                if (buffer == null || buffer.drainTo(events) == 0) {
+                    pending = null;
+                    return;
+                }
+            }
+            for (TrackedEvent event : events) {
+                capture(event.getName(), event.getParams(), event.getTime());
+            }
+            events.clear();
+        }
+    }
+
+    /**
+     * Hold an event while deferred initialization is in progress
+     *
+     * @param eventName   The name of the event
+     * @param eventParams The event parameters, owned by {@link Analytic} afterwards
+     * @return true if event was held
+     */
+    private static boolean hold(@NonNull String eventName, @Nullable EventParams eventParams) {
+        if (Common.Strings.isEmpty(eventName)) {
+            return false;
+        }
+
+        long time = eventClock.currentTimeMillis();
+        TrackedEvent event = new TrackedEvent(eventName, time, eventParams);
+        TrackedEvent overwritten;
+        synchronized (pendingLock) {
+            RingBuffer<TrackedEvent> buffer = pending;
+            if (buffer == null) {
+                return false;
+            }
+            overwritten = buffer.offer(event);
+        }
+
+        //oldest held event is lost once buffer is full
+        if (overwritten != null) {
+            String name = overwritten.getName();
+            count(AnalyticMetrics.DROPPED, name, categoryOf(name, overwritten.getParams()));
+        }
+        return true;
+    }
+
+    /**
+     * Clean up and reset {@link Analytic} internals
+     */
+    public static synchronized void dispose() {
+        synchronized (pendingLock) {
+            pending = null;
+        }
+        if (sinks.length > 0) {
+            aggregator.drain();
+            rateLimiter.drain();
+        }
+        setAsync(false);
+        stream.complete();
+        closeSpill();
+        closeJournal();
+        if (appProvider != null) {
+            Context context = appProvider.getApplicationContext();
+            registerScreenTracker(context, false);
+            context.unregisterComponentCallbacks(backgroundCallbacks);
+            context.unregisterReceiver(timezoneReceiver);
+        }
+        defaultEventParamsGeneration.incrementAndGet();
+        eventClock = eventClock.anchor(SYSTEM_CLOCK);
+        logger.setEnabled(false);
+        deduplicator.clear();
+        sinks = new AnalyticSink[0];
+        analytics = null;
+        appProvider = null;
+    }
+
+    /**
+     * Check if app is a debug build
+     *
+     * @param provider {@link Provider}
+     * @return true if debuggable
+     */
+    private static boolean isDebug(@NonNull Provider provider) {
+        Boolean debug = provider.isDebug();
+        return debug != null && debug;
+    }
+
+    /**
+     * Log one in every given number of dispatched events when debug logging is enabled
+     *
+     * @param rate sample rate, 1 to log every event
+     * @since 0.10.0
+     */
+    public static void setLogSampleRate(int rate) {
+        logger.setSampleRate(rate);
+    }
+
+    /**
+     * Log only dispatched events with given names when debug logging is enabled
+     *
+     * @param eventNames event names to log, none to log all events
+     * @since 0.10.0
+     */
+    public static void setLoggedEvents(@Nullable String... eventNames) {
+        logger.setAllowList(eventNames);
+    }
+
+    /**
+     * Keep given fraction of events with given name, chosen at random. Kept events carry
+     * {@link Param#SAMPLE_WEIGHT} to re-scale counts.
+     *
+     * @param eventName event name
+     * @param rate      fraction of events to keep, between 0 and 1
+     * @since 0.10.0
+     */
+    public static void setSampleRate(@NonNull String eventName, double rate) {
+        sampler.setRate(eventName, rate, false);
+    }
+
+    /**
+     * Keep events with given name for given fraction of users, chosen by hashing
+     * user identifier. Kept events carry {@link Param#SAMPLE_WEIGHT} to re-scale counts.
+     *
+     * @param eventName event name
+     * @param rate      fraction of users to keep events for, between 0 and 1
+     * @see #setUserIdentifier(String)
+     * @since 0.10.0
+     */
+    public static void setUserSampleRate(@NonNull String eventName, double rate) {
+        sampler.setRate(eventName, rate, true);
+    }
+
+    /**
+     * Stop sampling events with given name
+     *
+     * @param eventName event name
+     * @since 0.10.0
+     */
+    public static void removeSampleRate(@NonNull String eventName) {
+        sampler.removeRate(eventName);
+    }
+
+    /**
+     * Always keep events with given names, in addition to purchases
+     *
+     * @param eventNames event names
+     * @since 0.10.0
+     */
+    public static void setAlwaysKept(@NonNull String... eventNames) {
+        String[] kept = Arrays.copyOf(eventNames, eventNames.length + 1);
+        kept[eventNames.length] = FirebaseAnalytics.Event.ECOMMERCE_PURCHASE;
+        sampler.setKept(kept);
+    }
+
+    /**
+     * Drop screen views and actions repeated with identical arguments within given
+     * time window, such as fragments re-attaching or buttons tapped twice
+     *
+     * @param window time window in milliseconds, zero to disable
+     * @since 0.10.0
+     */
+    public static void setDeduplicationWindow(long window) {
+        deduplicator.setWindow(window);
+        deduplicator.clear();
+    }
+
+    /**
+     * Check if screen view or action repeats with identical arguments within
+     * deduplication window
+     *
+     * @return true if event is a duplicate
+     */
+    private static boolean isDuplicate(
+            @NonNull String contentType, @Nullable String name,
+            @Nullable String itemId, @Nullable String itemCategory, @Nullable Bundle params) {
+        if (deduplicator.getWindow() == 0) {
+            return false;
+        }
+
+        long key = Deduplicator.hash(Deduplicator.SEED, contentType);
+        key = Deduplicator.hash(key, name);
+        key = Deduplicator.hash(key, itemId);
+        key = Deduplicator.hash(key, itemCategory);
+        key = Deduplicator.hash(key, hashOf(params));
+        boolean duplicate = deduplicator.isDuplicate(key, eventClock.elapsedRealtime());
+        if (duplicate) {
+            boolean screen = VALUE_CONTENT_TYPE_SCREENVIEW.equals(contentType);
+            count(AnalyticMetrics.DEDUPED, FirebaseAnalytics.Event.SELECT_CONTENT,
+                    screen ? View.class : Action.class);
+        }
+        return duplicate;
+    }
+
+    /**
+     * Hash caller parameters by content, regardless of key order
+     *
+     * @param value parameters or one of their values
+     * @return content hash
+     */
+    private static int hashOf(@Nullable Object value) {
+        if (value instanceof Bundle) {
+            Bundle bundle = (Bundle) value;
+            int result = 0;
+            for (String key : bundle.keySet()) {
+                result += key.hashCode() ^ hashOf(bundle.get(key));
+            }
+            return result;
+        }
+        if (value instanceof List) {
+            int result = 1;
+            for (Object element : (List<?>) value) {
+                result = 31 * result + hashOf(element);
+            }
+            return result;
+        }
+        return value != null ? value.hashCode() : 0;
+    }
+
+    /**
+     * Aggregate events with given name locally and emit one rollup event per group of
+     * parameter values every aggregation interval or when app goes to background,
+     * instead of one event per call. Rollups carry {@link Param#ROLLUP_COUNT} and, when a
+     * value parameter is given, its sum, minimum, maximum, median and 90th percentile.
+     *
+     * @param eventName  event name
+     * @param valueParam numeric parameter to summarize, if any
+     * @param groupBy    parameters to group rollups by
+     * @see #setAggregationInterval(long)
+     * @since 0.10.0
+     */
+    public static void aggregate(
+            @NonNull String eventName, @Nullable String valueParam,
+            @NonNull String... groupBy) {
+        aggregator.aggregate(eventName, valueParam, groupBy);
+    }
+
+    /**
+     * Stop aggregating events with given name, pending rollups are emitted first
+     *
+     * @param eventName event name
+     * @since 0.10.0
+     */
+    public static void removeAggregation(@NonNull String eventName) {
+        aggregator.drain();
+        aggregator.remove(eventName);
+    }
+
+    /**
+     * Set time between rollup emissions, default to a minute
+     *
+     * @param interval time in milliseconds
+     * @since 0.10.0
+     */
+    public static void setAggregationInterval(long interval) {
+        aggregator.setInterval(interval);
+    }
+
+    /**
+     * Limit events with given name to given sustained rate, allowing given burst.
+     * Dropped events are counted and reported periodically as {@link #EVENT_DROPPED}
+     * with number of dropped events per event name.
+     *
+     * @param eventName     event name
+     * @param ratePerSecond sustained number of events per second
+     * @param burst         number of events allowed at once
+     * @since 0.10.0
+     */
+    public static void setRateLimit(
+            @NonNull String eventName, double ratePerSecond, int burst) {
+        rateLimiter.setLimit(eventName, ratePerSecond, burst);
+    }
+
+    /**
+     * Limit events of given category, such as {@link Action} or {@link View}, to given
+     * sustained rate, allowing given burst.
+     *
+     * @param category      event category
+     * @param ratePerSecond sustained number of events per second
+     * @param burst         number of events allowed at once
+     * @see #setRateLimit(String, double, int)
+     * @since 0.10.0
+     */
+    public static void setRateLimit(
+            @NonNull Class<?> category, double ratePerSecond, int burst) {
+        rateLimiter.setLimit(category, ratePerSecond, burst);
+    }
+
+    /**
+     * Remove rate limit of events with given name
+     *
+     * @param eventName event name
+     * @since 0.10.0
+     */
+    public static void removeRateLimit(@NonNull String eventName) {
+        rateLimiter.removeLimit(eventName);
+    }
+
+    /**
+     * Remove rate limit of events of given category
+     *
+     * @param category event category
+     * @since 0.10.0
+     */
+    public static void removeRateLimit(@NonNull Class<?> category) {
+        rateLimiter.removeLimit(category);
+    }
+
+    /**
+     * Build categories of known events
+     *
+     * @return event categories keyed by event name
+     */
+    private static Map<String, Class<?>> categories() {
+        Map<String, Class<?>> categories = new HashMap<>();
+        categories.put(FirebaseAnalytics.Event.APP_OPEN, App.class);
+        categories.put(FirebaseAnalytics.Event.LOGIN, App.class);
+        categories.put(FirebaseAnalytics.Event.SIGN_UP, App.class);
+        categories.put(FirebaseAnalytics.Event.SHARE, App.class);
+        categories.put(FirebaseAnalytics.Event.TUTORIAL_BEGIN, Tutorial.class);
+        categories.put(FirebaseAnalytics.Event.TUTORIAL_COMPLETE, Tutorial.class);
+        categories.put(FirebaseAnalytics.Event.VIEW_ITEM, View.class);
+        categories.put(FirebaseAnalytics.Event.VIEW_ITEM_LIST, View.class);
+        categories.put(FirebaseAnalytics.Event.SELECT_CONTENT, Action.class);
+        categories.put(FirebaseAnalytics.Event.ADD_TO_WISHLIST, Ecommerce.class);
+        categories.put(FirebaseAnalytics.Event.BEGIN_CHECKOUT, Ecommerce.class);
+        categories.put(FirebaseAnalytics.Event.CHECKOUT_PROGRESS, Ecommerce.class);
+        categories.put(FirebaseAnalytics.Event.ECOMMERCE_PURCHASE, Ecommerce.class);
+        return Collections.unmodifiableMap(categories);
+    }
+
+    /**
+     * Build backpressure policies
+     *
+     * @return {@link Backpressure}
+     */
+    private static Backpressure backpressure() {
+        Backpressure current = new Backpressure(event -> {
+            String name = event.getName();
+            count(AnalyticMetrics.DROPPED, name, categoryOf(name, event.getParams()));
+            acknowledge(event);
+        });
+        current.setPolicy(FirebaseAnalytics.Event.ECOMMERCE_PURCHASE, Backpressure.SPILL);
+        return current;
+    }
+
+    /**
+     * Build names of known event categories
+     *
+     * @return category names keyed by category
+     */
+    private static Map<Class<?>, String> categoryNames() {
+        Map<Class<?>, String> names = new HashMap<>();
+        for (Class<?> category : categories.values()) {
+            names.put(category, category.getSimpleName());
+        }
+        names.put(View.class, View.class.getSimpleName());
+        return Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * Obtain category of an event
+     *
+     * @param eventName   event name
+     * @param eventParams event parameters
+     * @return event category, if known
+     */
+    @Nullable
+    private static Class<?> categoryOf(
+            @NonNull String eventName, @Nullable EventParams eventParams) {
+        //screen views share select content event with actions
+        if (eventParams != null
+                && FirebaseAnalytics.Event.SELECT_CONTENT.equals(eventName)
+                && VALUE_CONTENT_TYPE_SCREENVIEW.equals(
+                eventParams.getString(FirebaseAnalytics.Param.CONTENT_TYPE))) {
+            return View.class;
+        }
+        return categories.get(eventName);
+    }
+
+    /**
+     * Enable or disable validation of events against Firebase constraints. When enabled,
+     * events with invalid or reserved names are rejected, parameters with invalid keys
+     * are removed, string values are truncated to 100 characters and parameters over 25
+     * are dropped. Enabled by default.
+     *
+     * @param enabled whether to validate events
+     * @since 0.10.0
+     */
+    public static void setValidation(boolean enabled) {
+        validating = enabled;
+    }
+
+    /**
+     * Set source of time used to stamp and schedule events, i.e a deterministic clock in
+     * tests and benchmarks. Event sequence numbers continue across clocks.
+     *
+     * @param clock {@link Clock}, or null to restore the system clock
+     * @since 0.10.0
+     */
+    public static void setClock(@Nullable Clock clock) {
+        eventClock = eventClock.anchor(clock != null ? clock : SYSTEM_CLOCK);
+    }
+
+    /**
+     * Obtain event time from the current clock
+     *
+     * @return event time in milliseconds since unix epoch
+     */
+    static long currentTimeMillis() {
+        return eventClock.currentTimeMillis();
+    }
+
+    /**
+     * Bound number of events queued for asynchronous dispatch, defaults to
+     * {@link Backpressure#DEFAULT_CAPACITY}. Events offered to a full queue are handled by
+     * their backpressure policy.
+     *
+     * @param capacity maximum number of queued events, zero for unbounded queue
+     * @see #setBackpressure(String, int)
+     * @since 0.10.0
+     */
+    public static void setQueueCapacity(int capacity) {
+        backpressure.setCapacity(capacity);
+    }
+
+    /**
+     * Apply given backpressure policy, such as {@link Backpressure#SPILL}, to events with
+     * given name when dispatcher queue is full. {@link FirebaseAnalytics.Event#ECOMMERCE_PURCHASE}
+     * is spilled by default.
+     *
+     * @param eventName event name
+     * @param policy    backpressure policy
+     * @since 0.10.0
+     */
+    public static void setBackpressure(@NonNull String eventName, int policy) {
+        backpressure.setPolicy(eventName, policy);
+    }
+
+    /**
+     * Apply given backpressure policy to events of given category, such as {@link Action}
+     * or {@link View}, when dispatcher queue is full.
+     *
+     * @param category event category
+     * @param policy   backpressure policy
+     * @see #setBackpressure(String, int)
+     * @since 0.10.0
+     */
+    public static void setBackpressure(@NonNull Class<?> category, int policy) {
+        backpressure.setPolicy(category, policy);
+    }
+
+    /**
+     * Remove backpressure policy of events with given name
+     *
+     * @param eventName event name
+     * @since 0.10.0
+     */
+    public static void removeBackpressure(@NonNull String eventName) {
+        backpressure.removePolicy(eventName);
+    }
+
+    /**
+     * Remove backpressure policy of events of given category
+     *
+     * @param category event category
+     * @since 0.10.0
+     */
+    public static void removeBackpressure(@NonNull Class<?> category) {
+        backpressure.removePolicy(category);
+    }
+
+    /**
+     * Set backpressure policy of events without own policy, defaults to
+     * {@link Backpressure#DROP_NEWEST}
+     *
+     * @param policy backpressure policy
+     * @since 0.10.0
+     */
+    public static void setDefaultBackpressure(int policy) {
+        backpressure.setDefaultPolicy(policy);
+    }
+
+    /**
+     * Set maximum time a tracking call is blocked by {@link Backpressure#BLOCK} policy,
+     * defaults to {@link Backpressure#DEFAULT_TIMEOUT}
+     *
+     * @param timeout time in milliseconds
+     * @since 0.10.0
+     */
+    public static void setBlockTimeout(long timeout) {
+        backpressure.setTimeout(timeout);
+    }
+
+    /**
+     * Enable or disable automatic screen tracking, disabled by default.
+     * <p>
+     * When enabled, each resumed activity is tracked as a screen view named after its
+     * {@link ScreenName} annotation, or after its class name without Activity suffix.
+     * Fragments of {@link FragmentActivity}s are tracked only when annotated with
+     * {@link ScreenName}, in which case an unannotated host activity is not tracked.
+     * Screen names are resolved once per class.
+     * </p>
+     *
+     * @param enabled whether to track screens automatically
+     * @since 0.10.0
+     */
+    public static void setScreenTracking(boolean enabled) {
+        setScreenTracking(enabled, null);
+    }
+
+    /**
+     * Enable or disable automatic screen tracking, tracking given currently resumed
+     * activity and its fragments when enabled after they were resumed.
+     *
+     * @param enabled whether to track screens automatically
+     * @param current currently resumed activity, if any
+     * @see #setScreenTracking(boolean)
+     * @since 0.10.0
+     */
+    public static synchronized void setScreenTracking(
+            boolean enabled, @Nullable Activity current) {
+        if (screenTracking != enabled && appProvider != null) {
+            registerScreenTracker(appProvider.getApplicationContext(), enabled);
+            if (enabled && current != null) {
+                screenTracker.install(current);
+            }
+        }
+        screenTracking = enabled;
+    }
+
+    /**
+     * Register or unregister automatic screen tracker
+     *
+     * @param context    application context
+     * @param registered whether to register tracker
+     */
+    private static void registerScreenTracker(@NonNull Context context, boolean registered) {
+        if (context instanceof Application) {
+            Application application = (Application) context;
+            if (registered) {
+                application.registerActivityLifecycleCallbacks(screenTracker);
+            } else {
+                application.unregisterActivityLifecycleCallbacks(screenTracker);
+            }
+        }
+    }
+
+    /**
+     * Subscribe to events dispatched to sinks, with their final parameters.
+     * <p>
+     * An event is published once at least one sink received it, so a failing sink does
+     * not hide events from subscribers. Events are delivered serially on given executor, only as requested through the
+     * {@link EventSubscription} passed to {@link EventSubscriber#onSubscribe(EventSubscription)}.
+     * Up to {@link #subscribe(EventSubscriber, Executor, int)} buffer size events are
+     * buffered per subscriber, later ones are dropped for that subscriber, so a slow
+     * subscriber never blocks tracking nor other subscribers.
+     * </p>
+     *
+     * @param subscriber event subscriber
+     * @param executor   executor to deliver events on
+     * @since 0.10.0
+     */
+    public static void subscribe(
+            @NonNull EventSubscriber subscriber, @NonNull Executor executor) {
+        subscribe(subscriber, executor, EventStream.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Subscribe to events dispatched to sinks, with their final parameters
+     *
+     * @param subscriber event subscriber
+     * @param executor   executor to deliver events on
+     * @param bufferSize maximum number of events buffered for the subscriber
+     * @see #subscribe(EventSubscriber, Executor)
+     * @since 0.10.0
+     */
+    public static void subscribe(
+            @NonNull EventSubscriber subscriber, @NonNull Executor executor, int bufferSize) {
+        stream.subscribe(subscriber, executor, bufferSize);
+    }
+
+    /**
+     * Enable or disable recording of pipeline metrics, enabled by default
+     *
+     * @param enabled whether to record metrics
+     * @since 0.10.0
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        measuring = enabled;
+    }
+
+    /**
+     * Obtain snapshot of pipeline metrics: counts of accepted, rejected, sampled,
+     * deduplicated, rate limited and dropped events, counts of Firebase constraint
+     * violations, queue depth, batch statistics and latencies of tracking and dispatching
+     * events
+     *
+     * @return {@link AnalyticMetrics.Snapshot}
+     * @since 0.10.0
+     */
+    @NonNull
+    public static AnalyticMetrics.Snapshot getMetrics() {
+        Dispatcher current = dispatcher;
+        long depth = current != null ? current.getDepth() : 0;
+        long spilled = current != null ? current.getSpilled() : 0;
+        return metrics.snapshot(depth, spilled,
+                backpressure.getCounts(), getBatchStats(), validator.getCounts());
+    }
+
+    /**
+     * Publish metrics snapshots to given listener every given interval and when app goes
+     * to background. Listener is invoked on a tracking thread, so it should return quickly.
+     *
+     * @param listener metrics listener, null to stop publishing
+     * @param interval time in milliseconds between snapshots
+     * @since 0.10.0
+     */
+    public static void setMetricsListener(
+            @Nullable AnalyticMetrics.Listener listener, long interval) {
+        metricsInterval = Math.max(1L, interval);
+        metricsListener = listener;
+    }
+
+    /**
+     * Count an event in pipeline metrics
+     *
+     * @param counter   event counter
+     * @param eventName event name
+     * @param category  event category, if known
+     */
+    private static void count(
+            int counter, @Nullable String eventName, @Nullable Class<?> category) {
+        if (measuring) {
+            metrics.count(counter, eventName, category != null ? categoryNames.get(category) : null);
+        }
+    }
+
+    /**
+     * Count parameter value dropped because sinks can not carry its type
+     */
+    static void countDroppedParam() {
+        count(AnalyticMetrics.DROPPED_PARAMS, null, null);
+    }
+
+    /**
+     * Count parameter values dropped because they can not be encoded
+     *
+     * @param dropped number of dropped values
+     */
+    private static void countDroppedParams(int dropped) {
+        for (int i = 0; i < dropped; i++) {
+            countDroppedParam();
+        }
+    }
+
+    /**
+     * Publish metrics snapshot to listener
+     *
+     * @param force whether to publish regardless of interval
+     */
+    private static void publishMetrics(boolean force) {
+        AnalyticMetrics.Listener listener = metricsListener;
+        if (listener != null
+                && (metrics.isDue(eventClock.elapsedRealtime(), metricsInterval) || force)) {
+            try {
+                listener.onMetrics(getMetrics());
+            } catch (RuntimeException e) {
+                logger.debug("Fail to publish metrics");
+            }
+        }
+    }
+
+    /**
+     * Obtain current instance of {@link FirebaseAnalytics}
+     *
+     * @return {@link FirebaseAnalytics}
+     */
+    @Nullable
+    public static FirebaseAnalytics getInstance() {
+        return analytics;
+    }
+
+    /**
+     * Register additional {@link AnalyticSink}
+     *
+     * @param sink valid sink
+     * @since 0.10.0
+     */
+    public static synchronized void addSink(@NonNull AnalyticSink sink) {
+        for (AnalyticSink current : sinks) {
+            if (current == sink) {
+                return;
+            }
+        }
+
+        AnalyticSink[] current = Arrays.copyOf(sinks, sinks.length + 1);
+        current[sinks.length] = sink;
+        sinks = current;
+
+        if (analytics == null && sink instanceof FirebaseSink) {
+            analytics = ((FirebaseSink) sink).getAnalytics();
+        }
+    }
+
+    /**
+     * Unregister {@link AnalyticSink}
+     *
+     * @param sink registered sink
+     * @since 0.10.0
+     */
+    public static synchronized void removeSink(@NonNull AnalyticSink sink) {
+        List<AnalyticSink> current = new ArrayList<>(Arrays.asList(sinks));
+        if (current.remove(sink)) {
+            sinks = current.toArray(new AnalyticSink[0]);
+        }
+
+        if (sink instanceof FirebaseSink && ((FirebaseSink) sink).getAnalytics() == analytics) {
+            analytics = null;
+        }
+    }
+
+    /**
+     * Obtain registered {@link AnalyticSink}s
+     *
+     * @return registered sinks
+     * @since 0.10.0
+     */
+    @NonNull
+    public static List<AnalyticSink> getSinks() {
+        return Collections.unmodifiableList(Arrays.asList(sinks));
+    }
+
+    /**
+     * Enable or disable asynchronous dispatch.
+     * <p>
+     * When enabled, tracking calls only capture an immutable event and hand it over to a
+     * dedicated dispatcher thread which builds final parameters and call
+     * {@link FirebaseAnalytics}. Bundles passed to tracking methods are copied when
+     * captured, so callers may reuse them. When disabled, already queued events are drained before returning.
+     * </p>
+     *
+     * @param async whether to dispatch events asynchronous
+     * @since 0.10.0
+     */
+    public static synchronized void setAsync(boolean async) {
+        if (async && dispatcher == null) {
+            Dispatcher.Callback callback = sinkCallback;
+            batcher = null;
+            if (batchMaxEvents > 0) {
+                batcher = new Batcher(batchMaxEvents, batchMaxLatency, callback);
+                callback = batcher;
+            }
+            Dispatcher current = new Dispatcher(callback, backpressure);
+            current.start();
+            dispatcher = current;
+        }
+        if (!async && dispatcher != null) {
+            //producers still holding stopped dispatcher dispatch on their own thread
+            Dispatcher current = dispatcher;
+            dispatcher = null;
+            current.stop(DISPATCHER_DRAIN_TIMEOUT);
+        }
+    }
+
+    /**
+     * Check if asynchronous dispatch is enabled
+     *
+     * @return true if enabled
+     * @since 0.10.0
+     */
+    public static boolean isAsync() {
+        return dispatcher != null;
+    }
+
+    /**
+     * Enable or disable batching of asynchronous dispatched events.
+     * <p>
+     * A batch is flushed when it reaches maximum number of events, when it has been open
+     * for maximum latency, when {@link #flush()} is called or when the app goes to background.
+     * Batching only applies when asynchronous dispatch is enabled.
+     * </p>
+     *
+     * @param maxEvents  maximum number of events per batch, zero to disable batching
+     * @param maxLatency maximum time in milliseconds a batch may stay open
+     * @see #setAsync(boolean)
+     * @since 0.10.0
+     */
+    public static synchronized void setBatching(int maxEvents, long maxLatency) {
+        batchMaxEvents = Math.max(0, maxEvents);
+        batchMaxLatency = Math.max(0, maxLatency);
+
+        //restart dispatcher to apply batching
+        if (dispatcher != null) {
+            setAsync(false);
+            setAsync(true);
+        }
+    }
+
+    /**
+     * Enable or disable durable journaling of accepted events.
+     * <p>
+     * When enabled, each accepted event is appended to a memory-mapped journal in app
+     * storage before dispatch and acknowledged once a sink received it, so events are not
+     * replayed to sinks which already received them. Events no sink received, or still
+     * pending when the process dies, are replayed on a background thread after next
+     * {@link #of(Provider)}, or as soon as journaling is enabled after initialization.
+     * Changes are forced to disk on group commit, not per event. Events accepted while
+     * the journal is full of pending events are dispatched but not journaled, and
+     * counted as {@link AnalyticMetrics#UNJOURNALED}.
+     * </p>
+     *
+     * @param enabled whether to journal events
+     * @since 0.10.0
+     */
+    public static synchronized void setJournaling(boolean enabled) {
+        journaling = enabled;
+        if (enabled && appProvider != null) {
+            openJournal();
+        }
+        if (!enabled) {
+            closeJournal();
+        }
+    }
+
+    /**
+     * Open journal and replay pending events on a background thread
+     */
+    private static void openJournal() {
+        if (journal != null) {
+            return;
+        }
+
+        try {
+            File dir = appProvider.getApplicationContext().getNoBackupFilesDir();
+            Journal current = Journal.open(new File(dir, JOURNAL_FILE), Journal.DEFAULT_CAPACITY);
+            journal = current;
+
+            Thread thread = new Thread(() -> replayJournal(current), REPLAY_THREAD_NAME);
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException e) {
+            logger.debug("Fail to open journal");
+        }
+    }
+
+    /**
+     * Replay events found pending when journal was opened
+     *
+     * @param current opened journal
+     */
+    private static void replayJournal(@NonNull Journal current) {
+        //replay pending events, a record failing again is dropped
+        current.replay((offset, payload) -> {
+            TrackedEvent event = EventCodec.decode(payload, offset);
+            try {
+                if (event != null) {
+                    dispatch(event);
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Fail to replay event");
+            }
+            current.ack(offset);
+        });
+        current.commit();
+    }
+
+    /**
+     * Close and delete spill, spilled events are dispatched when asynchronous dispatch stops
+     */
+    private static void closeSpill() {
+        Spill current = backpressure.getSpill();
+        backpressure.setSpill(null);
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logger.debug("Fail to close spill");
+            }
+        }
+    }
+
+    /**
+     * Commit and close journal
+     */
+    private static void closeJournal() {
+        Journal current = journal;
+        journal = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                logger.debug("Fail to close journal");
+            }
+        }
+    }
+
+    /**
+     * Acknowledge journaled event and group commit when due
+     *
+     * @param event dispatched event
+     */
+    private static void acknowledge(@NonNull TrackedEvent event) {
+        acknowledge(event.getJournalOffset());
+    }
+
+    /**
+     * Acknowledge journal record of an event which will not be dispatched again
+     *
+     * @param journalOffset journal offset of the event, negative if not journaled
+     */
+    private static void acknowledge(long journalOffset) {
+        Journal current = journal;
+        if (current != null && journalOffset >= 0) {
+            current.ack(journalOffset);
+            if (journalAcks.incrementAndGet() % JOURNAL_GROUP_COMMIT == 0) {
+                current.commit();
+            }
+        }
+    }
+
+    /**
+     * Request batched events to be flushed immediately
+     *
+     * @since 0.10.0
+     */
+    public static void flush() {
+        if (sinks.length > 0) {
+            aggregator.drain();
+            rateLimiter.drain();
+            publishMetrics(true);
+        }
+
+        Dispatcher current = dispatcher;
+        if (current != null) {
+            current.flush();
+        } else {
+            flushSinks();
+        }
+    }
+
+    /**
+     * Flush registered sinks
+     */
+    private static void flushSinks() {
+        Journal current = journal;
+        if (current != null) {
+            current.commit();
+        }
+        for (AnalyticSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (RuntimeException e) {
+                logger.debug("Fail to flush sink");
+            }
+        }
+    }
+
+    /**
+     * Obtain current batching statistics
+     *
+     * @return {@link BatchStats}
+     * @since 0.10.0
+     */
+    @NonNull
+    public static BatchStats getBatchStats() {
+        Batcher current = batcher;
+        return current != null ? current.getStats() : BatchStats.EMPTY;
+    }
+
+    /**
+     * Set user identifier for {@link FirebaseAnalytics}
+     *
+     * @param identifier valid unique user identifier
+     * @since 0.1.0
+     */
+    public static void setUserIdentifier(@NonNull String identifier) {
+        sampler.setUserId(identifier);
+        AnalyticSink[] current = sinks;
+        if (current.length > 0) {
+            Log.setUserIdentifier(identifier);
+            for (AnalyticSink sink : current) {
+                try {
+                    sink.setUserId(identifier);
+                } catch (RuntimeException e) {
+                    logger.debug("Fail to set user identifier to sink");
+                }
+            }
+        }
+    }
+
+    /**
+     * Set user properties to {@link FirebaseAnalytics}
+     *
+     * @param key   valid property key
+     * @param value valid property value
+     * @since 0.1.0
+     */
+    public static void setUserProperty(@NonNull String key, @NonNull Object value) {
+        AnalyticSink[] current = sinks;
+        if (current.length > 0) {
+            Log.setUserProperty(key, value);
+            String property = String.valueOf(value);
+            for (AnalyticSink sink : current) {
+                try {
+                    sink.setUserProperty(key, property);
+                } catch (RuntimeException e) {
+                    logger.debug("Fail to set user property to sink");
+                }
+            }
+        }
+    }
+
+    /**
+     * Set app level default event parameter, sent with every event
+     *
+     * @param key   valid parameter key
+     * @param value valid parameter value
+     * @since 0.10.0
+     */
+    public static synchronized void setDefaultEventParam(
+            @NonNull String key, @NonNull String value) {
+        EventParams params = defaultEventParams.copy(1);
+        params.put(key, value);
+        setDefaultEventParams(params);
+    }
+
+    /**
+     * Set app level default event parameter, sent with every event
+     *
+     * @param key   valid parameter key
+     * @param value valid parameter value
+     * @since 0.10.0
+     */
+    public static synchronized void setDefaultEventParam(@NonNull String key, long value) {
+        EventParams params = defaultEventParams.copy(1);
+        params.put(key, value);
+        setDefaultEventParams(params);
+    }
+
+    /**
+     * Set app level default event parameter, sent with every event
+     *
+     * @param key   valid parameter key
+     * @param value valid parameter value
+     * @since 0.10.0
+     */
+    public static synchronized void setDefaultEventParam(@NonNull String key, double value) {
+        EventParams params = defaultEventParams.copy(1);
+        params.put(key, value);
+        setDefaultEventParams(params);
+    }
+
+    /**
+     * Remove app level default event parameter
+     *
+     * @param key valid parameter key
+     * @since 0.10.0
+     */
+    public static synchronized void removeDefaultEventParam(@NonNull String key) {
+        EventParams params = defaultEventParams.copy();
+        params.remove(key);
+        setDefaultEventParams(params);
+    }
+
+    /**
+     * Publish new app level default event parameters and invalidate snapshot
+     *
+     * @param params new default event parameters
+     */
+    private static void setDefaultEventParams(@NonNull EventParams params) {
+        defaultEventParams = params.freeze();
+        defaultEventParamsGeneration.incrementAndGet();
+    }
+
+    /**
+     * Derive default analytic params
+     *
+     * @return {@link Bundle}
+     */
+    public static Bundle getDefaultEventParams() {
+        return BundleAdapter.toBundle(getDefaultEventParams(eventClock.currentTimeMillis(), 0));
+    }
+
+    /**
+     * Derive default analytic params for a given event time
+     *
+     * @param time  event time in milliseconds
+     * @param extra additional capacity to reserve for event parameters
+     * @return {@link EventParams}
+     */
+    @NonNull
+    private static EventParams getDefaultEventParams(long time, int extra) {
+        EventParams params = getDefaultEventParamsSnapshot().copy(extra + 1);
+        params.put(Param.TIME, time); //time
+        return params;
+    }
+
+    /**
+     * Obtain frozen default event parameters
+     *
+     * @return {@link EventParams}
+     */
+    @NonNull
+    private static EventParams getDefaultEventParamsSnapshot() {
+        int generation = defaultEventParamsGeneration.get();
+        DefaultsSnapshot snapshot = defaultEventParamsSnapshot;
+
+        //rebuild after invalidation, a racing stale rebuild is replaced on next call
+        if (snapshot == null || snapshot.generation != generation) {
+            EventParams params = defaultEventParams.copy(2);
+            params.put(Param.TIMEZONE, Interner.intern(Common.Dates.timezone())); //timezone
+            params.put(Param.MEDIUM, VALUE_MEDIUM_ANDROID);//medium
+            snapshot = new DefaultsSnapshot(generation, params.freeze());
+            defaultEventParamsSnapshot = snapshot;
+        }
+
+        return snapshot.params;
+    }
+
+    /**
+     * Track screen view of any activity
+     *
+     * @param screenName viewed screen
+     * @param activity   current screen
+     */
+    static void screen(@NonNull String screenName, @NonNull Activity activity) {
+
+        //drop repeated screen view before building parameters
+        if (isDuplicate(VALUE_CONTENT_TYPE_SCREENVIEW, screenName, null, null, null)) {
+            return;
+        }
+
+        String eventName = FirebaseAnalytics.Event.SELECT_CONTENT;
+
+        //prepare parameters
+        Bundle bundle = new Bundle();
+        bundle.putString(FirebaseAnalytics.Param.ITEM_ID, screenName);
+        bundle.putString(FirebaseAnalytics.Param.CONTENT_TYPE, VALUE_CONTENT_TYPE_SCREENVIEW);
+
+        //track
+        trackScreen(eventName, activity, screenName, bundle);
+    }
+
+    /**
+     * Logs an app screen event. Events with the same name must have the same parameters.
+     *
+     * @param eventName   The name of the event
+     * @param activity    current screen
+     * @param screenName  viewed screen
+     * @param eventParams The map of event parameters
+     * @see FirebaseAnalytics#logEvent(String, Bundle)
+     */
+    public static void track(
+            @NonNull String eventName, @NonNull FragmentActivity activity,
+            @NonNull String screenName, @Nullable Bundle eventParams) {
+        trackScreen(eventName, activity, screenName, eventParams);
+    }
+
+    /**
+     * Logs an app screen event of any activity
+     *
+     * @param eventName   The name of the event
+     * @param activity    current screen
+     * @param screenName  viewed screen
+     * @param eventParams The map of event parameters
+     */
+    private static void trackScreen(
+            @NonNull String eventName, @NonNull Activity activity,
+            @NonNull String screenName, @Nullable Bundle eventParams) {
+
+        //ensure event and screen name, events tracked before initialization are held
+        boolean canTrack = !Common.Strings.areEmpty(eventName, screenName);
+
+        if (canTrack) {
+
+            // set current screen, firebase require it to be called from main thread
+            FirebaseAnalytics current = analytics;
+            if (current != null) {
+                current.setCurrentScreen(activity, screenName, null);
+            }
+
+            //track event
+            track(eventName, eventParams);
+        }
+
+        //notify not tracked
+        else {
+            logger.debug("Fail to log event");
+        }
+
+    }
+
+    /**
+     * Logs an app event. Events with the same name must have the same parameters.
+     *
+     * @param eventName   The name of the event
+     * @param eventParams The map of event parameters
+     * @see FirebaseAnalytics#logEvent(String, Bundle)
+     */
+    public static void track(@NonNull String eventName, @Nullable Bundle eventParams) {
+        long start = System.nanoTime();
+        try {
+            //sample before converting parameters
+            double weight = sampler.sample(eventName);
+            if (weight == Sampler.WEIGHT_NONE) {
+                count(AnalyticMetrics.SAMPLED, eventName, categoryOf(eventName, null));
+                return;
+            }
+
+            EventParams params = eventParams != null ? BundleAdapter.from(eventParams) : null;
+            capture(eventName, weigh(params, weight));
+        } finally {
+            if (measuring) {
+                metrics.recordTrackLatency(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Logs an app event built by a facade without intermediate bundles
+     *
+     * @param eventName   The name of the event
+     * @param eventParams The facade event parameters
+     * @param extras      The caller event parameters, take precedence over facade parameters
+     */
+    private static void track(
+            @NonNull String eventName, @NonNull EventParams eventParams, @Nullable Bundle extras) {
+        long start = System.nanoTime();
+        try {
+            //sample before converting parameters
+            double weight = sampler.sample(eventName);
+            if (weight == Sampler.WEIGHT_NONE) {
+                count(AnalyticMetrics.SAMPLED, eventName, categoryOf(eventName, null));
+                return;
+            }
+
+            BundleAdapter.putAll(eventParams, extras);
+            capture(eventName, weigh(eventParams, weight));
+        } finally {
+            if (measuring) {
+                metrics.recordTrackLatency(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Prepare facade event parameters sized for caller parameters
+     *
+     * @param size   number of facade parameters
+     * @param extras caller event parameters
+     * @return event parameters
+     */
+    @NonNull
+    private static EventParams newEventParams(int size, @Nullable Bundle extras) {
+        //reserve room for caller parameters and sample weight
+        int extra = extras != null ? extras.size() : 0;
+        return new EventParams(size + extra + 1);
+    }
+
+    /**
+     * Tag sampled event parameters with their sample weight
+     *
+     * @param params event parameters
+     * @param weight sample weight
+     * @return event parameters
+     */
+    @Nullable
+    private static EventParams weigh(@Nullable EventParams params, double weight) {
+        if (weight == Sampler.WEIGHT_ALL) {
+            return params;
+        }
+        EventParams weighed = params != null ? params : new EventParams(1);
+        weighed.put(Param.SAMPLE_WEIGHT, weight);
+        return weighed;
+    }
+
+    /**
+     * Capture an app event and hand it over for dispatch
+     *
+     * @param eventName   The name of the event
+     * @param eventParams The event parameters, owned by {@link Analytic} afterwards
+     */
+    static void capture(@NonNull String eventName, @Nullable EventParams eventParams) {
+        //hold event until deferred initialization completes
+        if (pending != null && hold(eventName, eventParams)) {
+            return;
+        }
+
+        capture(eventName, eventParams, eventClock.currentTimeMillis());
+    }
+
+    /**
+     * Capture an app event occurred at given time and hand it over for dispatch
+     *
+     * @param eventName   The name of the event
+     * @param eventParams The event parameters, owned by {@link Analytic} afterwards
+     * @param time        The event time in milliseconds
+     */
+    private static void capture(
+            @NonNull String eventName, @Nullable EventParams eventParams, long time) {
+
+        //ensure analytic and event name
+        boolean canTrack = (sinks.length > 0 && !Common.Strings.isEmpty(eventName));
+
+        if (canTrack) {
+            boolean limiting = !rateLimiter.isEmpty();
+            Class<?> category =
+                    measuring || limiting ? categoryOf(eventName, eventParams) : null;
+
+            //reject event Firebase would silently drop
+            if (validating && !validator.isValidName(eventName)) {
+                count(AnalyticMetrics.REJECTED, eventName, category);
+                return;
+            }
+
+            //drop event over its rate limit
+            if (limiting) {
+                long now = eventClock.elapsedRealtimeNanos();
+                if (!rateLimiter.tryAcquire(eventName, category, now)) {
+                    count(AnalyticMetrics.RATE_LIMITED, eventName, category);
+                    return;
+                }
+            }
+
+            count(AnalyticMetrics.ACCEPTED, eventName, category);
+
+            //fold aggregated event into its rollup, otherwise submit
+            if (!aggregator.record(eventName, eventParams, eventClock.elapsedRealtime())) {
+                submit(eventName, eventParams, time);
+            }
+
+            publishMetrics(false);
+        }
+
+        //notify not tracked
+        else {
+            count(AnalyticMetrics.REJECTED, null, null);
+            logger.debug("Fail to log event");
+        }
+
+    }
+
+    /**
+     * Journal captured event and hand it over for dispatch
+     *
+     * @param eventName   The name of the event
+     * @param eventParams The event parameters, owned by {@link Analytic} afterwards
      */
-    public static synchronized void dispose() {
-        analytics = null;
-        appProvider = null;
+    private static void submit(@NonNull String eventName, @Nullable EventParams eventParams) {
+        submit(eventName, eventParams, eventClock.currentTimeMillis());
     }
 
     /**
-     * Obtain current instance of {@link FirebaseAnalytics}
+     * Journal event occurred at given time and hand it over for dispatch
      *
-     * @return {@link FirebaseAnalytics}
+     * @param eventName   The name of the event
+     * @param eventParams The event parameters, owned by {@link Analytic} afterwards
+     * @param time        The event time in milliseconds
      */
-    @Nullable
-    public static synchronized FirebaseAnalytics getInstance() {
-        return analytics;
+    private static void submit(
+            @NonNull String eventName, @Nullable EventParams eventParams, long time) {
+        long sequence = eventClock.nextSequence();
+
+        //journal event before dispatch
+        long offset = -1L;
+        Journal current = journal;
+        if (current != null) {
+            EventCodec.Encoder record = EventCodec.encode(eventName, time, eventParams);
+            countDroppedParams(record.getDropped());
+            offset = current.append(record.getData(), record.getSize());
+            if (offset < 0) {
+                count(AnalyticMetrics.UNJOURNALED, eventName, categoryOf(eventName, eventParams));
+            }
+        }
+
+        //hand over to dispatcher thread
+        Dispatcher queue = dispatcher;
+        if (queue != null) {
+            int policy = backpressure.isBounded()
+                    ? backpressure.policyOf(eventName, categoryOf(eventName, eventParams))
+                    : Backpressure.DROP_NEWEST;
+            TrackedEvent event =
+                    new TrackedEvent(eventName, time, sequence, eventParams, offset, policy);
+            if (queue.enqueue(event)) {
+                return;
+            }
+        }
+
+        //or dispatch on caller thread, also when dispatcher was stopped meanwhile
+        dispatch(new TrackedEvent(
+                eventName, time, sequence, eventParams, offset, Backpressure.DROP_NEWEST));
     }
 
     /**
-     * Set user identifier for {@link FirebaseAnalytics}
+     * Build final event parameters and send captured event to registered sinks
      *
-     * @param identifier valid unique user identifier
-     * @since 0.1.0
+     * @param event captured event
      */
-    public static void setUserIdentifier(@NonNull String identifier) {
-        if (analytics != null) {
-            Log.setUserIdentifier(identifier);
-            analytics.setUserId(identifier);
+    private static void dispatch(@NonNull TrackedEvent event) {
+        AnalyticSink[] current = sinks;
+        if (current.length > 0) {
+            EventParams params = prepare(event);
+
+            //send event to all sinks, a failing sink must not starve others
+            long start = System.nanoTime();
+            int failures = 0;
+            for (AnalyticSink sink : current) {
+                try {
+                    sink.logEvent(event.getName(), params);
+                } catch (RuntimeException e) {
+                    failures++;
+                }
+            }
+            if (measuring) {
+                metrics.recordDispatchLatency(System.nanoTime() - start);
+            }
+
+            complete(event, params, failures, current.length);
         }
     }
 
     /**
-     * Set user properties to {@link FirebaseAnalytics}
+     * Build final event parameters and send a batch of captured events to registered
+     * sinks, one call per sink
      *
-     * @param key   valid property key
-     * @param value valid property value
-     * @since 0.1.0
+     * @param events captured events, in order
+     * @param count  number of events in the batch
+     * @return number of events dropped by a failing sink
      */
-    public static void setUserProperty(@NonNull String key, @NonNull Object value) {
-        if (analytics != null) {
-            Log.setUserProperty(key, value);
-            analytics.setUserProperty(key, String.valueOf(value));
+    private static int dispatch(@NonNull TrackedEvent[] events, int count) {
+        AnalyticSink[] current = sinks;
+        if (current.length == 0 || count == 0) {
+            return 0;
         }
+
+        String[] names = new String[count];
+        EventParams[] params = new EventParams[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = events[i].getName();
+            params[i] = prepare(events[i]);
+        }
+
+        //send batch to all sinks, a failing sink must not starve others
+        long start = System.nanoTime();
+        int failures = 0;
+        for (AnalyticSink sink : current) {
+            try {
+                sink.logEvents(names, params, count);
+            } catch (RuntimeException e) {
+                failures++;
+            }
+        }
+        if (measuring) {
+            long latency = (System.nanoTime() - start) / count;
+            for (int i = 0; i < count; i++) {
+                metrics.recordDispatchLatency(latency);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            complete(events[i], params[i], failures, current.length);
+        }
+        return failures > 0 ? count : 0;
     }
 
     /**
-     * Derive default analytic params
+     * Build final event parameters of captured event
      *
-     * @return {@link Bundle}
+     * @param event captured event
+     * @return final event parameters
      */
-    public static synchronized Bundle getDefaultEventParams() {
-        Bundle params = new Bundle();
-        params.putAll(defaultEventParams);
-
-        params.putString(Param.TIMEZONE, Common.Dates.timezone()); //timezone
-        params.putLong(Param.TIME, new Date().getTime()); //time
-        params.putString(Param.MEDIUM, VALUE_MEDIUM_ANDROID);//medium
-
+    @NonNull
+    private static EventParams prepare(@NonNull TrackedEvent event) {
+        EventParams eventParams = event.getParams();
+        int extra = eventParams != null ? eventParams.size() : 0;
+        EventParams params = getDefaultEventParams(event.getTime(), extra);
+        params.putAll(eventParams);
+        if (validating) {
+            validator.validate(params);
+        }
         return params;
     }
 
     /**
-     * Logs an app screen event. Events with the same name must have the same parameters.
+     * Publish and checkpoint dispatched event, counting sinks which failed to receive it
      *
-     * @param eventName   The name of the event
-     * @param activity    current screen
-     * @param screenName  viewed screen
-     * @param eventParams The map of event parameters
-     * @see FirebaseAnalytics#logEvent(String, Bundle)
+     * @param event    dispatched event
+     * @param params   final event parameters
+     * @param failures number of sinks which failed to receive the event
+     * @param sinks    number of sinks the event was sent to
      */
-    public static synchronized void track(
-            @NonNull String eventName, @NonNull FragmentActivity activity,
-            @NonNull String screenName, @Nullable Bundle eventParams) {
-
-        //ensure analytic and event name
-        boolean canTrack =
-                (analytics != null && !Common.Strings.areEmpty(eventName, screenName));
-
-        if (canTrack) {
-
-            //prepare event parameters
-            Bundle params = getDefaultEventParams();
-            if (eventParams != null) {
-                params.putAll(eventParams);
+    private static void complete(
+            @NonNull TrackedEvent event, @NonNull EventParams params, int failures, int sinks) {
+        //debug
+        logger.log(event.getName(), params);
+
+        //count sink failures, event is dropped only when no sink received it and its
+        //journal record stays pending to be replayed on next launch
+        if (failures > 0) {
+            String name = event.getName();
+            Class<?> category = categoryOf(name, event.getParams());
+            for (int i = 0; i < failures; i++) {
+                count(AnalyticMetrics.SINK_FAILED, name, category);
+            }
+            logger.debug("Fail to log event to sink");
+            if (failures == sinks) {
+                count(AnalyticMetrics.DROPPED, name, category);
+                return;
             }
-
-            // set current screen
-            analytics.setCurrentScreen(activity, screenName, null);
-
-            //send event to firebase analytics
-            analytics.logEvent(eventName, params);
-
-            //debug
-            Log.d(TAG, params.toString());
         }
 
-        //notify not tracked
-        else {
-            Log.d(TAG, "Fail to log event");
+        //publish to in-app subscribers
+        if (stream.hasSubscribers()) {
+            stream.publish(new TrackedEvent(event.getName(), event.getTime(),
+                    event.getSequence(), params.freeze(), -1L, Backpressure.DROP_NEWEST));
         }
 
+        //checkpoint journaled event once a sink received it
+        acknowledge(event);
     }
 
     /**
      * Logs an app event. Events with the same name must have the same parameters.
      *
-     * @param eventName   The name of the event
-     * @param eventParams The map of event parameters
+     * @param event The event to track
      * @see FirebaseAnalytics#logEvent(String, Bundle)
      */
-    public static synchronized void track(@NonNull String eventName, @Nullable Bundle eventParams) {
-
-        //ensure analytic and event name
-        boolean canTrack = (analytics != null && !Common.Strings.isEmpty(eventName));
+    public static void track(@NonNull Event event) {
+        long start = System.nanoTime();
+        try {
+            //sample before copying parameters
+            String eventName = event.getName();
+            double weight = sampler.sample(eventName);
+            if (weight == Sampler.WEIGHT_NONE) {
+                count(AnalyticMetrics.SAMPLED, eventName, categoryOf(eventName, null));
+                recycle(event);
+                return;
+            }
 
-        if (canTrack) {
+            //prepare event data, event params take precedence
+            EventParams eventParams = event.getEventParams();
+            EventParams params = new EventParams(eventParams.size() + 2);
+            params.putAll(eventParams);
 
-            //prepare event parameters
-            Bundle params = getDefaultEventParams();
-            if (eventParams != null) {
-                params.putAll(eventParams);
+            //set event time
+            long eventTime = event.getTimeMillis();
+            if (eventTime != Event.NO_TIME && !params.containsKey(Param.TIME)) {
+                params.put(Param.TIME, eventTime);
             }
 
-            //send event to firebase analytics
-            analytics.logEvent(eventName, params);
-
-            //debug
-            Log.d(TAG, params.toString());
-        }
+            //event has been consumed, return pooled event
+            recycle(event);
 
-        //notify not tracked
-        else {
-            Log.d(TAG, "Fail to log event");
+            //track event
+            capture(eventName, weigh(params, weight));
+        } finally {
+            if (measuring) {
+                metrics.recordTrackLatency(System.nanoTime() - start);
+            }
         }
-
     }
 
     /**
-     * Logs an app event. Events with the same name must have the same parameters.
+     * Logs a typed event, usually generated from an {@link AnalyticEvent} interface.
+     * Parameters are written straight into pipeline parameters, without a {@link Bundle}.
      *
      * @param event The event to track
-     * @see FirebaseAnalytics#logEvent(String, Bundle)
+     * @since 0.10.0
      */
-    public static synchronized void track(@NonNull Event event) {
-        //prepare event data
-        Bundle params = new Bundle();
+    public static void track(@NonNull TypedEvent event) {
+        long start = System.nanoTime();
+        try {
+            //sample before writing parameters
+            String eventName = event.getName();
+            double weight = sampler.sample(eventName);
+            if (weight == Sampler.WEIGHT_NONE) {
+                count(AnalyticMetrics.SAMPLED, eventName, categoryOf(eventName, null));
+                return;
+            }
 
-        //set event time
-        Date eventTime = event.getTime();
-        if (eventTime != null) {
-            params.putLong(Param.TIME, eventTime.getTime());
+            //leave room for sample weight
+            EventParams params = new EventParams(event.size() + 1);
+            event.writeTo(params);
+            capture(eventName, weigh(params, weight));
+        } finally {
+            if (measuring) {
+                metrics.recordTrackLatency(System.nanoTime() - start);
+            }
         }
+    }
 
-        //obtain event params
-        Bundle eventParams = event.getParams();
-        if (eventParams != null) {
-            params.putAll(eventParams);
+    /**
+     * Return consumed event to pool when it was obtained from there
+     *
+     * @param event consumed event
+     */
+    private static void recycle(@NonNull Event event) {
+        if (event instanceof SimpleEvent && ((SimpleEvent) event).isRecyclable()) {
+            ((SimpleEvent) event).recycle();
         }
+    }
 
-        //track event
-        track(event.getName(), params);
+    /**
+     * Frozen default event parameters tagged with the generation they were built from
+     */
+    private static final class DefaultsSnapshot {
+        private final int generation;
+        private final EventParams params;
 
+        private DefaultsSnapshot(int generation, @NonNull EventParams params) {
+            this.generation = generation;
+            this.params = params;
+        }
     }
 
     /**
@@ -253,6 +2111,32 @@ public class Analytic {
 
         @NonNull
         String getItemCategory();
+
+        /**
+         * @return item name, defaults to item id
+         * @since 0.10.0
+         */
+        @NonNull
+        default String getItemName() {
+            return getItemId();
+        }
+
+        /**
+         * @return item quantity, defaults to one
+         * @since 0.10.0
+         */
+        default long getItemQuantity() {
+            return 1L;
+        }
+
+        /**
+         * @return item unit price, null if unknown
+         * @since 0.10.0
+         */
+        @Nullable
+        default Double getItemPrice() {
+            return null;
+        }
     }
 
     /**
@@ -264,6 +2148,14 @@ public class Analytic {
         public static final String TIMEZONE = "timezone"; //event timezone
         public static final String TIME = "time"; // event time
         public static final String MEDIUM = "medium"; //event medium(or channel)
+        public static final String SAMPLE_WEIGHT = "sample_weight"; //inverse of event sample rate
+        public static final String ROLLUP_COUNT = Aggregator.PARAM_COUNT; //number of aggregated events
+        public static final String ROLLUP_SUM = Aggregator.PARAM_SUM; //sum of aggregated values
+        public static final String ROLLUP_MIN = Aggregator.PARAM_MIN; //minimum aggregated value
+        public static final String ROLLUP_MAX = Aggregator.PARAM_MAX; //maximum aggregated value
+        public static final String ROLLUP_P50 = Aggregator.PARAM_P50; //median aggregated value
+        public static final String ROLLUP_P90 = Aggregator.PARAM_P90; //90th percentile aggregated value
+        public static final String ITEMS = "items"; //list of ecommerce items
     }
 
 
@@ -286,7 +2178,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Event#APP_OPEN
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#APP_OPEN">APP_OPEN</a>
          */
-        public static synchronized void opened(@Nullable Bundle params) {
+        public static void opened(@Nullable Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.APP_OPEN;
 
@@ -307,9 +2199,8 @@ public class Analytic {
          * @see FirebaseAnalytics.Event#APP_OPEN
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#APP_OPEN">APP_OPEN</a>
          */
-        public static synchronized void opened() {
-            Bundle params = new Bundle();
-            opened(params);
+        public static void opened() {
+            opened(null);
         }
 
 
@@ -322,17 +2213,11 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#LOGIN">LOGIN</a>
          */
-        public static synchronized void loggedIn(@NonNull Bundle params) {
+        public static void loggedIn(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.LOGIN;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
-            track(eventName, bundle);
+            track(eventName, params);
         }
 
         /**
@@ -342,18 +2227,15 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#LOGIN">LOGIN</a>
          */
-        public static synchronized void loggedIn(@NonNull String method, @Nullable Bundle params) {
+        public static void loggedIn(@NonNull String method, @Nullable Bundle params) {
 
             if (!Common.Strings.isEmpty(method)) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putString(FirebaseAnalytics.Param.METHOD, method);
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(1, params);
+                eventParams.put(FirebaseAnalytics.Param.METHOD, method);
 
-                loggedIn(bundle);
+                track(FirebaseAnalytics.Event.LOGIN, eventParams, params);
             }
         }
 
@@ -366,9 +2248,8 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#LOGIN">LOGIN</a>
          */
-        public static synchronized void loggedIn(@NonNull String method) {
-            Bundle params = new Bundle();
-            loggedIn(method, params);
+        public static void loggedIn(@NonNull String method) {
+            loggedIn(method, null);
         }
 
 
@@ -387,17 +2268,11 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#SIGN_UP">SIGN_UP</a>
          */
-        public static synchronized void signedUp(@NonNull Bundle params) {
+        public static void signedUp(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.SIGN_UP;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
-            track(eventName, bundle);
+            track(eventName, params);
 
         }
 
@@ -414,18 +2289,15 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#SIGN_UP">SIGN_UP</a>
          */
-        public static synchronized void signedUp(@NonNull String method, @Nullable Bundle params) {
+        public static void signedUp(@NonNull String method, @Nullable Bundle params) {
 
             if (!Common.Strings.isEmpty(method)) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putString(FirebaseAnalytics.Param.METHOD, method);
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(1, params);
+                eventParams.put(FirebaseAnalytics.Param.METHOD, method);
 
-                signedUp(bundle);
+                track(FirebaseAnalytics.Event.SIGN_UP, eventParams, params);
 
             }
         }
@@ -445,9 +2317,8 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#SIGN_UP">SIGN_UP</a>
          */
-        public static synchronized void signedUp(@NonNull String method) {
-            Bundle params = new Bundle();
-            signedUp(method, params);
+        public static void signedUp(@NonNull String method) {
+            signedUp(method, null);
         }
 
 
@@ -462,17 +2333,11 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#CONTENT_TYPE
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#SHARE">SHARE</a>
          */
-        public static synchronized void share(@NonNull Bundle params) {
+        public static void share(@NonNull Bundle params) {
             //TODO ensure content_type & item_id
             String eventName = FirebaseAnalytics.Event.SHARE;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
-            track(eventName, bundle);
+            track(eventName, params);
 
         }
 
@@ -485,7 +2350,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#CONTENT_TYPE
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#SHARE">SHARE</a>
          */
-        public static synchronized void share(
+        public static void share(
                 @NonNull String method, @NonNull String itemId,
                 @NonNull String contentType, @Nullable Bundle params) {
 
@@ -495,15 +2360,12 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putString(FirebaseAnalytics.Param.METHOD, method);
-                bundle.putString(FirebaseAnalytics.Param.ITEM_ID, itemId);
-                bundle.putString(FirebaseAnalytics.Param.CONTENT_TYPE, contentType);
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(3, params);
+                eventParams.put(FirebaseAnalytics.Param.METHOD, method);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_ID, itemId);
+                eventParams.put(FirebaseAnalytics.Param.CONTENT_TYPE, contentType);
 
-                share(bundle);
+                track(FirebaseAnalytics.Event.SHARE, eventParams, params);
             }
         }
 
@@ -516,19 +2378,14 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#CONTENT_TYPE
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#SHARE">SHARE</a>
          */
-        public static synchronized void share(
+        public static void share(
                 @NonNull String method, @NonNull String itemId, @NonNull String contentType) {
 
             boolean canTrack =
                     (!Common.Strings.isEmpty(method) && !Common.Strings.isEmpty(itemId) && !Common.Strings.isEmpty(contentType));
 
             if (canTrack) {
-
-                //prepare parameters
-                Bundle bundle = new Bundle();
-
-                share(method, itemId, contentType, bundle);
-
+                share(method, itemId, contentType, null);
             }
         }
 
@@ -550,7 +2407,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Event#TUTORIAL_BEGIN
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#TUTORIAL_BEGIN">TUTORIAL_BEGIN</a>
          */
-        public static synchronized void begin(@Nullable Bundle params) {
+        public static void begin(@Nullable Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.TUTORIAL_BEGIN;
 
@@ -569,9 +2426,8 @@ public class Analytic {
          * @see FirebaseAnalytics.Event#TUTORIAL_BEGIN
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#TUTORIAL_BEGIN">TUTORIAL_BEGIN</a>
          */
-        public static synchronized void begin() {
-            Bundle params = new Bundle();
-            begin(params);
+        public static void begin() {
+            begin(null);
         }
 
         /**
@@ -586,7 +2442,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Event#TUTORIAL_COMPLETE
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#TUTORIAL_COMPLETE">TUTORIAL_COMPLETE</a>
          */
-        public static synchronized void complete(@Nullable Bundle params) {
+        public static void complete(@Nullable Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.TUTORIAL_COMPLETE;
 
@@ -605,9 +2461,8 @@ public class Analytic {
          * @see FirebaseAnalytics.Event#TUTORIAL_COMPLETE
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#TUTORIAL_COMPLETE">TUTORIAL_COMPLETE</a>
          */
-        public static synchronized void complete() {
-            Bundle params = new Bundle();
-            complete(params);
+        public static void complete() {
+            complete(null);
         }
     }
 
@@ -630,18 +2485,12 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#ITEM_CATEGORY
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM">VIEW_ITEM</a>
          */
-        public static synchronized void item(@NonNull Bundle params) {
+        public static void item(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.VIEW_ITEM;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
             //track
-            track(eventName, bundle);
+            track(eventName, params);
 
         }
 
@@ -658,7 +2507,7 @@ public class Analytic {
          * @see Analytic.View#item(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM">VIEW_ITEM</a>
          */
-        public static synchronized void item(
+        public static void item(
                 @NonNull String id, @NonNull String name,
                 @NonNull String category, @Nullable Bundle params) {
 
@@ -668,16 +2517,13 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putString(FirebaseAnalytics.Param.ITEM_ID, id);
-                bundle.putString(FirebaseAnalytics.Param.ITEM_NAME, name);
-                bundle.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, category);
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(3, params);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_ID, id);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_NAME, name);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_CATEGORY, category);
 
                 //track
-                item(bundle);
+                track(FirebaseAnalytics.Event.VIEW_ITEM, eventParams, params);
             }
 
         }
@@ -695,22 +2541,14 @@ public class Analytic {
          * @see Analytic.View#item(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM">VIEW_ITEM</a>
          */
-        public static synchronized void item(
+        public static void item(
                 @NonNull String name, @NonNull String category, @Nullable Bundle params) {
 
             boolean canTrack =
                     (!Common.Strings.isEmpty(name) && !Common.Strings.isEmpty(category));
 
             if (canTrack) {
-
-                //prepare parameters
-                Bundle bundle = new Bundle();
-                if (params != null) {
-                    bundle.putAll(params);
-                }
-
-                //track
-                item(name, name, category, bundle);
+                item(name, name, category, params);
             }
 
         }
@@ -728,18 +2566,13 @@ public class Analytic {
          * @see Analytic.View#item(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM">VIEW_ITEM</a>
          */
-        public static synchronized void item(@NonNull String name, @NonNull String category) {
+        public static void item(@NonNull String name, @NonNull String category) {
 
             boolean canTrack =
                     (!Common.Strings.isEmpty(name) && !Common.Strings.isEmpty(category));
 
             if (canTrack) {
-
-                //prepare parameters
-                Bundle bundle = new Bundle();
-
-                //track
-                item(name, category, bundle);
+                item(name, category, null);
             }
 
         }
@@ -755,18 +2588,12 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#ITEM_CATEGORY
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM_LIST">VIEW_ITEM_LIST</a>
          */
-        public static synchronized void list(@NonNull Bundle params) {
+        public static void list(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.VIEW_ITEM_LIST;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
             //track
-            track(eventName, bundle);
+            track(eventName, params);
 
         }
 
@@ -779,7 +2606,7 @@ public class Analytic {
          * @see Analytic.View#list(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM_LIST">VIEW_ITEM_LIST</a>
          */
-        public static synchronized void list(@NonNull String category, @Nullable Bundle params) {
+        public static void list(@NonNull String category, @Nullable Bundle params) {
 
             boolean canTrack =
                     (!Common.Strings.isEmpty(category));
@@ -787,14 +2614,11 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, category);
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(1, params);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_CATEGORY, category);
 
                 //track
-                list(bundle);
+                track(FirebaseAnalytics.Event.VIEW_ITEM_LIST, eventParams, params);
             }
 
         }
@@ -808,18 +2632,13 @@ public class Analytic {
          * @see Analytic.View#list(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#VIEW_ITEM_LIST">VIEW_ITEM_LIST</a>
          */
-        public static synchronized void list(@NonNull String category) {
+        public static void list(@NonNull String category) {
 
             boolean canTrack =
                     (!Common.Strings.isEmpty(category));
 
             if (canTrack) {
-
-                //prepare parameters
-                Bundle bundle = new Bundle();
-
-                //track
-                list(category, bundle);
+                list(category, null);
             }
 
         }
@@ -831,7 +2650,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#ITEM_ID
          * @see FirebaseAnalytics.Param#CONTENT_TYPE
          */
-        public static synchronized void screen(
+        public static void screen(
                 @NonNull String screenName, @NonNull Fragment fragment) {
             screen(screenName, fragment.requireActivity());
         }
@@ -843,18 +2662,9 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#ITEM_ID
          * @see FirebaseAnalytics.Param#CONTENT_TYPE
          */
-        public static synchronized void screen(
+        public static void screen(
                 @NonNull String screenName, @NonNull FragmentActivity activity) {
-
-            String eventName = FirebaseAnalytics.Event.SELECT_CONTENT;
-
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            bundle.putString(FirebaseAnalytics.Param.ITEM_ID, screenName);
-            bundle.putString(FirebaseAnalytics.Param.CONTENT_TYPE, VALUE_CONTENT_TYPE_SCREENVIEW);
-
-            //track
-            track(eventName, activity, screenName, bundle);
+            Analytic.screen(screenName, activity);
         }
 
     }
@@ -875,22 +2685,18 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#QUANTITY
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ADD_TO_WISHLIST">ADD_TO_WISHLIST</a>
          */
-        public static synchronized void addToWishList(@NonNull Bundle params) {
+        public static void addToWishList(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.ADD_TO_WISHLIST;
 
             //prepare parameters
-            Bundle bundle = new Bundle();
+            EventParams eventParams = newEventParams(1, params);
 
             //ensure defaults
-            bundle.putLong(FirebaseAnalytics.Param.QUANTITY, 1);
-
-            if (params != null) {
-                bundle.putAll(params);
-            }
+            eventParams.put(FirebaseAnalytics.Param.QUANTITY, 1L);
 
             //track
-            track(eventName, bundle);
+            track(eventName, eventParams, params);
 
         }
 
@@ -908,7 +2714,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#QUANTITY
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ADD_TO_WISHLIST">ADD_TO_WISHLIST</a>
          */
-        public static synchronized void addToWishList(
+        public static void addToWishList(
                 @NonNull String itemId, @NonNull String itemName,
                 @NonNull String itemCategory, @NonNull Long quantity, @Nullable Bundle params) {
 
@@ -919,20 +2725,16 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
+                EventParams eventParams = newEventParams(4, params);
 
                 //ensure defaults
-                bundle.putString(FirebaseAnalytics.Param.ITEM_ID, itemId);
-                bundle.putString(FirebaseAnalytics.Param.ITEM_NAME, itemName);
-                bundle.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, itemCategory);
-                bundle.putLong(FirebaseAnalytics.Param.QUANTITY, quantity);
-
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                eventParams.put(FirebaseAnalytics.Param.ITEM_ID, itemId);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_NAME, itemName);
+                eventParams.put(FirebaseAnalytics.Param.ITEM_CATEGORY, itemCategory);
+                eventParams.put(FirebaseAnalytics.Param.QUANTITY, quantity.longValue());
 
                 //track
-                addToWishList(bundle);
+                track(FirebaseAnalytics.Event.ADD_TO_WISHLIST, eventParams, params);
 
             }
 
@@ -951,7 +2753,7 @@ public class Analytic {
          * @see Analytic.Ecommerce#addToWishList(String, String, String, Long, Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ADD_TO_WISHLIST">ADD_TO_WISHLIST</a>
          */
-        public static synchronized void addToWishList(
+        public static void addToWishList(
                 @NonNull String itemId, @NonNull String itemName, @NonNull String itemCategory) {
 
             boolean canTrack =
@@ -959,13 +2761,7 @@ public class Analytic {
                             && !Common.Strings.isEmpty(itemCategory));
 
             if (canTrack) {
-
-                //prepare parameters
-                Bundle bundle = new Bundle();
-
-                //track
-                addToWishList(itemId, itemName, itemCategory, 1L, bundle);
-
+                addToWishList(itemId, itemName, itemCategory, 1L, null);
             }
 
         }
@@ -983,7 +2779,7 @@ public class Analytic {
          * @see Analytic.Ecommerce#addToWishList(String, String, String)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ADD_TO_WISHLIST">ADD_TO_WISHLIST</a>
          */
-        public static synchronized void addToWishList(
+        public static void addToWishList(
                 @NonNull String itemName, @NonNull String itemCategory) {
 
             boolean canTrack =
@@ -996,6 +2792,20 @@ public class Analytic {
 
         }
 
+        /**
+         * E-Commerce Add To Wishlist event for many items at once.
+         * Items are tracked as a single event, priced items also set its value.
+         *
+         * @param items items added to the wishlist, at most {@link EventItems#MAX_ITEMS}
+         * @see FirebaseAnalytics.Event#ADD_TO_WISHLIST
+         * @see Analytic.Param#ITEMS
+         * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ADD_TO_WISHLIST">ADD_TO_WISHLIST</a>
+         * @since 0.10.0
+         */
+        public static void addToWishList(@NonNull Collection<? extends Itemable> items) {
+            trackItems(FirebaseAnalytics.Event.ADD_TO_WISHLIST, items, null, null);
+        }
+
         /**
          * E-Commerce Begin Checkout event.
          * This event signifies that a user has begun the process of checking out.
@@ -1006,18 +2816,12 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#ITEM_CATEGORY
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#BEGIN_CHECKOUT">BEGIN_CHECKOUT</a>
          */
-        public static synchronized void beginCheckout(@NonNull Bundle params) {
+        public static void beginCheckout(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.BEGIN_CHECKOUT;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
             //track
-            track(eventName, bundle);
+            track(eventName, params);
 
         }
 
@@ -1035,14 +2839,24 @@ public class Analytic {
          * @see Analytic.Ecommerce#beginCheckout(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#BEGIN_CHECKOUT">BEGIN_CHECKOUT</a>
          */
-        public static synchronized void beginCheckout() {
-
-            //prepare parameters
-            Bundle bundle = new Bundle();
-
-            //track
-            beginCheckout(bundle);
+        public static void beginCheckout() {
+            track(FirebaseAnalytics.Event.BEGIN_CHECKOUT, null);
+        }
 
+        /**
+         * E-Commerce Begin Checkout event for a whole cart.
+         * Items are tracked as a single event, priced items also set its value.
+         *
+         * @param items    items being checked out, at most {@link EventItems#MAX_ITEMS}
+         * @param currency currency of item prices
+         * @see FirebaseAnalytics.Event#BEGIN_CHECKOUT
+         * @see Analytic.Param#ITEMS
+         * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#BEGIN_CHECKOUT">BEGIN_CHECKOUT</a>
+         * @since 0.10.0
+         */
+        public static void beginCheckout(
+                @NonNull Collection<? extends Itemable> items, @NonNull String currency) {
+            trackItems(FirebaseAnalytics.Event.BEGIN_CHECKOUT, items, currency, null);
         }
 
         /**
@@ -1053,18 +2867,12 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#CHECKOUT_OPTION
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#CHECKOUT_PROGRESS">CHECKOUT_PROGRESS</a>
          */
-        public static synchronized void checkoutProgress(@NonNull Bundle params) {
+        public static void checkoutProgress(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.CHECKOUT_PROGRESS;
 
-            //prepare parameters
-            Bundle bundle = new Bundle();
-            if (params != null) {
-                bundle.putAll(params);
-            }
-
             //track
-            track(eventName, bundle);
+            track(eventName, params);
 
         }
 
@@ -1077,7 +2885,7 @@ public class Analytic {
          * @see Analytic.Ecommerce#checkoutProgress(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#CHECKOUT_PROGRESS">CHECKOUT_PROGRESS</a>
          */
-        public static synchronized void checkoutProgress(
+        public static void checkoutProgress(
                 @NonNull Long step, @NonNull String option, @Nullable Bundle params) {
 
             boolean canTrack =
@@ -1086,13 +2894,12 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(2, params);
+                eventParams.put(FirebaseAnalytics.Param.CHECKOUT_STEP, step.longValue());
+                eventParams.put(FirebaseAnalytics.Param.CHECKOUT_OPTION, option);
 
                 //track
-                checkoutProgress(bundle);
+                track(FirebaseAnalytics.Event.CHECKOUT_PROGRESS, eventParams, params);
 
             }
 
@@ -1107,19 +2914,48 @@ public class Analytic {
          * @see Analytic.Ecommerce#checkoutProgress(Long, String, Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#CHECKOUT_PROGRESS">CHECKOUT_PROGRESS</a>
          */
-        public static synchronized void checkoutProgress(
+        public static void checkoutProgress(
                 @NonNull Long step, @NonNull String option) {
 
             boolean canTrack =
                     (step != null && !Common.Strings.isEmpty(option));
 
+            if (canTrack) {
+                checkoutProgress(step, option, (Bundle) null);
+            }
+
+        }
+
+        /**
+         * E-Commerce Checkout Progress event for a whole cart.
+         * Items are tracked as a single event, priced items also set its value.
+         *
+         * @param step   checkout step
+         * @param option checkout option
+         * @param items  items being checked out, at most {@link EventItems#MAX_ITEMS}
+         * @see FirebaseAnalytics.Event#CHECKOUT_PROGRESS
+         * @see FirebaseAnalytics.Param#CHECKOUT_STEP
+         * @see FirebaseAnalytics.Param#CHECKOUT_OPTION
+         * @see Analytic.Param#ITEMS
+         * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#CHECKOUT_PROGRESS">CHECKOUT_PROGRESS</a>
+         * @since 0.10.0
+         */
+        public static void checkoutProgress(
+                @NonNull Long step, @NonNull String option,
+                @NonNull Collection<? extends Itemable> items) {
+
+            boolean canTrack =
+                    (step != null && !Common.Strings.isEmpty(option));
+
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
+                EventParams params = new EventParams(2);
+                params.put(FirebaseAnalytics.Param.CHECKOUT_STEP, step);
+                params.put(FirebaseAnalytics.Param.CHECKOUT_OPTION, option);
 
                 //track
-                checkoutProgress(step, option, bundle);
+                trackItems(FirebaseAnalytics.Event.CHECKOUT_PROGRESS, items, null, params);
 
             }
 
@@ -1134,22 +2970,18 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#VALUE
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ECOMMERCE_PURCHASE">ECOMMERCE_PURCHASE</a>
          */
-        public static synchronized void purchase(@NonNull Bundle params) {
+        public static void purchase(@NonNull Bundle params) {
 
             String eventName = FirebaseAnalytics.Event.ECOMMERCE_PURCHASE;
 
             //prepare parameters
-            Bundle bundle = new Bundle();
+            EventParams eventParams = newEventParams(1, params);
 
             //ensure defaults
-            bundle.putString(FirebaseAnalytics.Param.CURRENCY, VALUE_DEFAULT_CURRENCY);
-
-            if (params != null) {
-                bundle.putAll(params);
-            }
+            eventParams.put(FirebaseAnalytics.Param.CURRENCY, VALUE_DEFAULT_CURRENCY);
 
             //track
-            track(eventName, bundle);
+            track(eventName, eventParams, params);
 
         }
 
@@ -1166,7 +2998,7 @@ public class Analytic {
          * @see Analytic.Ecommerce#purchase(Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ECOMMERCE_PURCHASE">ECOMMERCE_PURCHASE</a>
          */
-        public static synchronized void purchase(
+        public static void purchase(
                 @NonNull Double value, @NonNull String currency, @Nullable Bundle params) {
 
             boolean canTrack =
@@ -1175,16 +3007,12 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putDouble(FirebaseAnalytics.Param.VALUE, value);
-                bundle.putString(FirebaseAnalytics.Param.CURRENCY, currency);
-
-                if (params != null) {
-                    bundle.putAll(params);
-                }
+                EventParams eventParams = newEventParams(2, params);
+                eventParams.put(FirebaseAnalytics.Param.VALUE, value.doubleValue());
+                eventParams.put(FirebaseAnalytics.Param.CURRENCY, currency);
 
                 //track
-                purchase(bundle);
+                track(FirebaseAnalytics.Event.ECOMMERCE_PURCHASE, eventParams, params);
 
             }
 
@@ -1200,20 +3028,14 @@ public class Analytic {
          * @see Analytic.Ecommerce#purchase(Double, String, Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ECOMMERCE_PURCHASE">ECOMMERCE_PURCHASE</a>
          */
-        public static synchronized void purchase(
+        public static void purchase(
                 @NonNull Double value, @NonNull String currency) {
 
             boolean canTrack =
                     (value != null && !Common.Strings.isEmpty(currency));
 
             if (canTrack) {
-
-                //prepare parameters
-                Bundle bundle = new Bundle();
-
-                //track
-                purchase(value, currency, bundle);
-
+                purchase(value, currency, (Bundle) null);
             }
 
         }
@@ -1228,7 +3050,7 @@ public class Analytic {
          * @see Analytic.Ecommerce#purchase(Double, String, Bundle)
          * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ECOMMERCE_PURCHASE">ECOMMERCE_PURCHASE</a>
          */
-        public static synchronized void purchase(
+        public static void purchase(
                 @NonNull Double value, @NonNull String currency,
                 @NonNull String method, @NonNull String reference) {
 
@@ -1238,15 +3060,101 @@ public class Analytic {
             if (canTrack) {
 
                 //prepare parameters
-                Bundle bundle = new Bundle();
-                bundle.putString(Param.PAYMENT_METHOD, method);
-                bundle.putString(Param.PAYMENT_REFERENCE, reference);
+                EventParams eventParams = newEventParams(4, null);
+                eventParams.put(FirebaseAnalytics.Param.VALUE, value.doubleValue());
+                eventParams.put(FirebaseAnalytics.Param.CURRENCY, currency);
+                if (method != null) {
+                    eventParams.put(Param.PAYMENT_METHOD, method);
+                }
+                if (reference != null) {
+                    eventParams.put(Param.PAYMENT_REFERENCE, reference);
+                }
 
                 //track
-                purchase(value, currency, bundle);
+                track(FirebaseAnalytics.Event.ECOMMERCE_PURCHASE, eventParams, null);
+
+            }
+
+        }
+
+        /**
+         * E-Commerce Purchase event for a whole cart.
+         * Items are tracked as a single event valued at the total of item prices.
+         *
+         * @param items    purchased items, at most {@link EventItems#MAX_ITEMS}
+         * @param currency currency of item prices
+         * @see FirebaseAnalytics.Event#ECOMMERCE_PURCHASE
+         * @see FirebaseAnalytics.Param#CURRENCY
+         * @see FirebaseAnalytics.Param#VALUE
+         * @see Analytic.Param#ITEMS
+         * @see <a href="https://firebase.google.com/docs/reference/android/com/google/firebase/analytics/FirebaseAnalytics.Event.html#ECOMMERCE_PURCHASE">ECOMMERCE_PURCHASE</a>
+         * @since 0.10.0
+         */
+        public static void purchase(
+                @NonNull Collection<? extends Itemable> items, @NonNull String currency) {
+            trackItems(FirebaseAnalytics.Event.ECOMMERCE_PURCHASE, items, currency, null);
+        }
+
+        /**
+         * Encode items once into a single parameter and track them as one event
+         *
+         * @param eventName The name of the event
+         * @param items     items to encode
+         * @param currency  currency of item prices, defaults to {@link #VALUE_DEFAULT_CURRENCY}
+         * @param extras    additional event parameters
+         */
+        private static void trackItems(
+                @NonNull String eventName, @NonNull Collection<? extends Itemable> items,
+                @Nullable String currency, @Nullable EventParams extras) {
 
+            boolean canTrack = (items != null && !items.isEmpty());
+
+            if (!canTrack) {
+                logger.debug("Fail to log event");
+                return;
             }
 
+            long start = System.nanoTime();
+            try {
+                //sample before encoding items
+                double weight = sampler.sample(eventName);
+                if (weight == Sampler.WEIGHT_NONE) {
+                    count(AnalyticMetrics.SAMPLED, eventName, categoryOf(eventName, null));
+                    return;
+                }
+
+                //encode items, firebase ignores items beyond its limit
+                EventItems encoded = new EventItems(items.size());
+                for (Itemable item : items) {
+                    Double price = item.getItemPrice();
+                    boolean added = encoded.add(
+                            item.getItemId(), item.getItemName(), item.getItemCategory(),
+                            item.getItemQuantity(), price != null ? price : Double.NaN);
+                    if (!added) {
+                        logger.debug("Too many items, keep first " + EventItems.MAX_ITEMS);
+                        break;
+                    }
+                }
+
+                //prepare parameters, leave room for sample weight
+                int extra = extras != null ? extras.size() : 0;
+                EventParams params = new EventParams(extra + 4);
+                params.putObject(Param.ITEMS, encoded);
+                double value = encoded.getValue();
+                if (!Double.isNaN(value)) {
+                    params.put(FirebaseAnalytics.Param.VALUE, value);
+                    params.put(FirebaseAnalytics.Param.CURRENCY,
+                            currency != null ? currency : VALUE_DEFAULT_CURRENCY);
+                }
+                params.putAll(extras);
+
+                //track
+                capture(eventName, weigh(params, weight));
+            } finally {
+                if (measuring) {
+                    metrics.recordTrackLatency(System.nanoTime() - start);
+                }
+            }
         }
 
     }
@@ -1268,9 +3176,9 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName) {
-            performed(actionName, new Bundle());
+            perform(actionName, null, null, null);
         }
 
         /**
@@ -1284,9 +3192,9 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName, @NonNull String itemId) {
-            performed(actionName, itemId, new Bundle());
+            perform(actionName, itemId, null, null);
         }
 
         /**
@@ -1300,15 +3208,10 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName,
                 @NonNull String itemId, @NonNull Bundle params) {
-
-            Bundle _params = new Bundle();
-            params.putString(FirebaseAnalytics.Param.ITEM_ID, itemId);
-            _params = Common.Bundles.from(_params, params);
-
-            performed(actionName, _params);
+            perform(actionName, itemId, null, params);
         }
 
         /**
@@ -1322,7 +3225,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName, @NonNull Itemable itemable) {
             performed(actionName, itemable.getItemId(), itemable.getItemCategory());
         }
@@ -1338,10 +3241,10 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName, @NonNull String itemId,
                 @NonNull String itemCategory) {
-            performed(actionName, itemId, itemCategory, new Bundle());
+            perform(actionName, itemId, itemCategory, null);
         }
 
         /**
@@ -1355,7 +3258,7 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName, @NonNull Itemable itemable,
                 @NonNull Bundle params) {
             performed(actionName, itemable.getItemId(), itemable.getItemCategory(), params);
@@ -1372,16 +3275,10 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName, @NonNull String itemId,
                 @NonNull String itemCategory, @NonNull Bundle params) {
-
-            Bundle _params = new Bundle();
-            params.putString(FirebaseAnalytics.Param.ITEM_ID, itemId);
-            params.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, itemCategory);
-            _params = Common.Bundles.from(_params, params);
-
-            performed(actionName, _params);
+            perform(actionName, itemId, itemCategory, params);
         }
 
         /**
@@ -1395,19 +3292,44 @@ public class Analytic {
          * @see FirebaseAnalytics.Param#METHOD
          * @see FirebaseAnalytics.Param#SUCCESS
          */
-        public static synchronized void performed(
+        public static void performed(
                 @NonNull String actionName, @NonNull Bundle params) {
+            String itemId = params.getString(FirebaseAnalytics.Param.ITEM_ID);
+            String itemCategory = params.getString(FirebaseAnalytics.Param.ITEM_CATEGORY);
+            perform(actionName, itemId, itemCategory, params);
+        }
+
+        /**
+         * Build and track action performed event, unless it repeats within
+         * deduplication window
+         *
+         * @see Analytic#setDeduplicationWindow(long)
+         */
+        private static void perform(
+                @NonNull String actionName, @Nullable String itemId,
+                @Nullable String itemCategory, @Nullable Bundle params) {
+
+            //drop repeated action before building parameters
+            if (isDuplicate(VALUE_CONTENT_TYPE_ACTION, actionName, itemId, itemCategory, params)) {
+                return;
+            }
 
             String eventName = FirebaseAnalytics.Event.SELECT_CONTENT;
 
-            //prepare parameters
-            Bundle base = new Bundle();
-            base.putString(FirebaseAnalytics.Param.CONTENT_TYPE, VALUE_CONTENT_TYPE_ACTION);
-            base.putString(FirebaseAnalytics.Param.GROUP_ID, actionName);
-            Bundle bundle = Common.Bundles.from(params, base);
+            //prepare parameters, caller parameters are overridden
+            EventParams eventParams = newEventParams(4, params);
+            BundleAdapter.putAll(eventParams, params);
+            if (itemId != null) {
+                eventParams.put(FirebaseAnalytics.Param.ITEM_ID, itemId);
+            }
+            if (itemCategory != null) {
+                eventParams.put(FirebaseAnalytics.Param.ITEM_CATEGORY, itemCategory);
+            }
+            eventParams.put(FirebaseAnalytics.Param.CONTENT_TYPE, VALUE_CONTENT_TYPE_ACTION);
+            eventParams.put(FirebaseAnalytics.Param.GROUP_ID, actionName);
 
             //track
-            track(eventName, bundle);
+            track(eventName, eventParams, null);
         }
     }
 }
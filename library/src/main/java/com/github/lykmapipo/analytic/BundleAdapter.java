@@ -0,0 +1,189 @@
+package com.github.lykmapipo.analytic;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.analytics.FirebaseAnalytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BundleAdapter
+ * <p>
+ * Convert between {@link Bundle} and {@link EventParams} at the Android boundaries.
+ * Integer values are widened to long and float values to double. Booleans are kept as
+ * opaque objects, nested bundles are converted to nested {@link EventParams} and lists of
+ * bundles to lists of {@link EventParams}, so all of them survive journaling and spilling.
+ * Values of any other type can not be carried to Firebase and are dropped and counted as
+ * {@link AnalyticMetrics#DROPPED_PARAMS}. {@link EventItems} are expanded into Firebase
+ * items, one {@link Bundle} per item.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class BundleAdapter {
+
+    private BundleAdapter() {
+    }
+
+    /**
+     * Convert {@link Bundle} to {@link EventParams}
+     *
+     * @param bundle source bundle
+     * @return {@link EventParams}
+     */
+    @NonNull
+    static EventParams from(@Nullable Bundle bundle) {
+        EventParams params = new EventParams(bundle != null ? bundle.size() : 0);
+        putAll(params, bundle);
+        return params;
+    }
+
+    /**
+     * Copy {@link Bundle} values into {@link EventParams}
+     *
+     * @param params target params
+     * @param bundle source bundle
+     */
+    static void putAll(@NonNull EventParams params, @Nullable Bundle bundle) {
+        if (bundle == null || bundle.isEmpty()) {
+            return;
+        }
+
+        for (String key : bundle.keySet()) {
+            Object value = bundle.get(key);
+            if (value instanceof String) {
+                params.put(key, (String) value);
+            } else if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                params.put(key, ((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                params.put(key, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                params.putObject(key, value);
+            } else if (value instanceof Bundle) {
+                params.putObject(key, from((Bundle) value));
+            } else if (isBundles(value)) {
+                ArrayList<?> bundles = (ArrayList<?>) value;
+                ArrayList<EventParams> list = new ArrayList<>(bundles.size());
+                for (Object element : bundles) {
+                    list.add(from((Bundle) element));
+                }
+                params.putObject(key, list);
+            } else if (value != null) {
+                Analytic.countDroppedParam();
+            }
+        }
+    }
+
+    /**
+     * Convert {@link EventParams} to {@link Bundle}
+     *
+     * @param params source params
+     * @return {@link Bundle}
+     */
+    @NonNull
+    static Bundle toBundle(@NonNull EventParams params) {
+        int size = params.size();
+        Bundle bundle = new Bundle(size);
+        for (int i = 0; i < size; i++) {
+            String key = params.keyAt(i);
+            switch (params.typeAt(i)) {
+                case EventParams.TYPE_STRING:
+                    bundle.putString(key, (String) params.objectAt(i));
+                    break;
+                case EventParams.TYPE_LONG:
+                    bundle.putLong(key, params.longAt(i));
+                    break;
+                case EventParams.TYPE_DOUBLE:
+                    bundle.putDouble(key, params.doubleAt(i));
+                    break;
+                default:
+                    putObject(bundle, key, params.objectAt(i));
+                    break;
+            }
+        }
+        return bundle;
+    }
+
+    private static void putObject(@NonNull Bundle bundle, @NonNull String key, Object value) {
+        if (value instanceof EventItems) {
+            bundle.putParcelableArrayList(key, toBundles((EventItems) value));
+        } else if (value instanceof EventParams) {
+            bundle.putBundle(key, toBundle((EventParams) value));
+        } else if (value instanceof Boolean) {
+            bundle.putBoolean(key, (Boolean) value);
+        } else if (isList(value, EventParams.class)) {
+            List<?> list = (List<?>) value;
+            ArrayList<Bundle> bundles = new ArrayList<>(list.size());
+            for (Object element : list) {
+                bundles.add(toBundle((EventParams) element));
+            }
+            bundle.putParcelableArrayList(key, bundles);
+        } else if (value != null) {
+            Analytic.countDroppedParam();
+        }
+    }
+
+    /**
+     * Check if value is a list of bundles i.e Firebase items
+     *
+     * @param value opaque value
+     * @return true if all list elements are bundles
+     */
+    private static boolean isBundles(@Nullable Object value) {
+        return value instanceof ArrayList && isList(value, Bundle.class);
+    }
+
+    /**
+     * Check if value is a list of given element type
+     *
+     * @param value opaque value
+     * @param type  element type
+     * @return true if all list elements are of given type
+     */
+    private static boolean isList(@Nullable Object value, @NonNull Class<?> type) {
+        if (!(value instanceof List)) {
+            return false;
+        }
+        for (Object element : (List<?>) value) {
+            if (!type.isInstance(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convert {@link EventItems} to Firebase items
+     *
+     * @param items source items
+     * @return one {@link Bundle} per item
+     */
+    @NonNull
+    static ArrayList<Bundle> toBundles(@NonNull EventItems items) {
+        int size = items.size();
+        ArrayList<Bundle> bundles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Bundle item = new Bundle(5);
+            item.putString(FirebaseAnalytics.Param.ITEM_ID, items.idAt(i));
+            if (items.nameAt(i) != null) {
+                item.putString(FirebaseAnalytics.Param.ITEM_NAME, items.nameAt(i));
+            }
+            if (items.categoryAt(i) != null) {
+                item.putString(FirebaseAnalytics.Param.ITEM_CATEGORY, items.categoryAt(i));
+            }
+            item.putLong(FirebaseAnalytics.Param.QUANTITY, items.quantityAt(i));
+            if (items.hasPriceAt(i)) {
+                item.putDouble(FirebaseAnalytics.Param.PRICE, items.priceAt(i));
+            }
+            bundles.add(item);
+        }
+        return bundles;
+    }
+}
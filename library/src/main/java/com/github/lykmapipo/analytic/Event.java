@@ -17,12 +17,39 @@ import java.util.Date;
  * @since 0.1.0
  */
 public interface Event {
+    /**
+     * Time value used when an event has no time
+     */
+    long NO_TIME = Long.MIN_VALUE;
+
     @Nullable
     Date getTime();
 
+    /**
+     * Obtain event time without allocating a {@link Date}
+     *
+     * @return event time in milliseconds, or {@link #NO_TIME}
+     * @since 0.10.0
+     */
+    default long getTimeMillis() {
+        Date time = getTime();
+        return time != null ? time.getTime() : NO_TIME;
+    }
+
     @NonNull
     String getName();
 
     @Nullable
     Bundle getParams();
+
+    /**
+     * Obtain event parameters without materializing a {@link Bundle}
+     *
+     * @return {@link EventParams}
+     * @since 0.10.0
+     */
+    @NonNull
+    default EventParams getEventParams() {
+        return BundleAdapter.from(getParams());
+    }
 }
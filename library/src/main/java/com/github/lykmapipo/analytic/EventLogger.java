@@ -0,0 +1,115 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.github.lykmapipo.log.Log;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventLogger
+ * <p>
+ * Debug logging stage for dispatched events. Logging is switched on once at initialization,
+ * so a disabled logger costs a single volatile read per event and never stringify event
+ * parameters. When enabled, events can be sampled to one in every N and restricted to
+ * an allow-list of event names.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class EventLogger {
+    private final String tag;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean enabled;
+    private volatile int sampleRate = 1;
+    private volatile Set<String> allowList; // null to log all events
+
+    EventLogger(@NonNull String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Switch logging on or off
+     *
+     * @param enabled whether logging is enabled
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Log one in every given number of events
+     *
+     * @param rate sample rate, 1 to log every event
+     */
+    void setSampleRate(int rate) {
+        this.sampleRate = Math.max(1, rate);
+    }
+
+    /**
+     * Log only events with given names
+     *
+     * @param eventNames allowed event names, empty to log all events
+     */
+    void setAllowList(@Nullable String... eventNames) {
+        if (eventNames == null || eventNames.length == 0) {
+            this.allowList = null;
+        } else {
+            this.allowList = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(eventNames)));
+        }
+    }
+
+    /**
+     * Check if event should be logged, advancing the sampling sequence when it is allowed
+     *
+     * @param eventName event name
+     * @return true if event should be logged
+     */
+    boolean isLoggable(@NonNull String eventName) {
+        if (!enabled) {
+            return false;
+        }
+
+        Set<String> allowed = allowList;
+        if (allowed != null && !allowed.contains(eventName)) {
+            return false;
+        }
+
+        int rate = sampleRate;
+        return rate == 1 || sequence.getAndIncrement() % rate == 0;
+    }
+
+    /**
+     * Log event, parameters are only stringified when event is loggable
+     *
+     * @param eventName   event name
+     * @param eventParams event parameters
+     */
+    void log(@NonNull String eventName, @NonNull EventParams eventParams) {
+        if (isLoggable(eventName)) {
+            Log.d(tag, eventName + " " + eventParams);
+        }
+    }
+
+    /**
+     * Log debug message
+     *
+     * @param message message
+     */
+    void debug(@NonNull String message) {
+        if (enabled) {
+            Log.d(tag, message);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.analytics.FirebaseAnalytics;
+
+/**
+ * FirebaseSink
+ * <p>
+ * {@link AnalyticSink} which forward events and user data to {@link FirebaseAnalytics}
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public class FirebaseSink implements AnalyticSink {
+    private final FirebaseAnalytics analytics;
+
+    public FirebaseSink(@NonNull FirebaseAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    @NonNull
+    public FirebaseAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    @Override
+    public void logEvent(@NonNull String name, @NonNull EventParams params) {
+        analytics.logEvent(name, BundleAdapter.toBundle(params));
+    }
+
+    @Override
+    public void setUserId(@NonNull String identifier) {
+        analytics.setUserId(identifier);
+    }
+
+    @Override
+    public void setUserProperty(@NonNull String key, @NonNull String value) {
+        analytics.setUserProperty(key, value);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.lykmapipo.analytic;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MemorySink
+ * <p>
+ * {@link AnalyticSink} which keep the most recent events and user data in memory
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public class MemorySink implements AnalyticSink {
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final int capacity;
+    private final ArrayDeque<SimpleEvent> events;
+    private final Map<String, String> userProperties = new HashMap<>();
+    private String userId;
+
+    public MemorySink() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MemorySink(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.events = new ArrayDeque<>(Math.min(this.capacity, DEFAULT_CAPACITY));
+    }
+
+    @Override
+    public synchronized void logEvent(@NonNull String name, @NonNull EventParams params) {
+        //evict oldest
+        if (events.size() == capacity) {
+            events.pollFirst();
+        }
+
+        long time = params.getLong(Analytic.Param.TIME, System.currentTimeMillis());
+        events.offerLast(new SimpleEvent(name, new Date(time)).setParams(params));
+    }
+
+    @Override
+    public synchronized void setUserId(@NonNull String identifier) {
+        this.userId = identifier;
+    }
+
+    @Override
+    public synchronized void setUserProperty(@NonNull String key, @NonNull String value) {
+        userProperties.put(key, value);
+    }
+
+    /**
+     * Obtain copy of recorded events, oldest first
+     *
+     * @return recorded events
+     */
+    @NonNull
+    public synchronized List<SimpleEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    @Nullable
+    public synchronized String getUserId() {
+        return userId;
+    }
+
+    @NonNull
+    public synchronized Map<String, String> getUserProperties() {
+        return new HashMap<>(userProperties);
+    }
+
+    /**
+     * Clear recorded events and user data
+     */
+    public synchronized void clear() {
+        events.clear();
+        userProperties.clear();
+        userId = null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.lykmapipo.analytic;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ScreenName
+ * <p>
+ * Name an activity or fragment screen for automatic screen tracking. Activities are
+ * tracked by default, named after their class; fragments are tracked only when annotated.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ScreenName {
+    /**
+     * @return screen name, empty to name screen after its class
+     */
+    String value() default "";
+
+    /**
+     * @return false to exclude screen from automatic screen tracking
+     */
+    boolean tracked() default true;
+}
@@ -0,0 +1,199 @@
+package com.github.lykmapipo.analytic;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentActivity;
+import androidx.fragment.app.FragmentManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ScreenTracker
+ * <p>
+ * Track resumed activities and fragments as screen views. Screen names are resolved once
+ * per class, from {@link ScreenName} or by stripping Activity and Fragment suffixes from
+ * the class name, and cached, so resumes never reflect.
+ * </p>
+ * <p>
+ * An activity not annotated with {@link ScreenName} is not tracked when it hosts a
+ * tracked fragment on resume, since the fragment is the screen, which avoids double
+ * screen views. Annotated activities are always tracked.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+final class ScreenTracker implements Application.ActivityLifecycleCallbacks {
+    private static final String UNTRACKED = "";
+    private static final String SUFFIX_ACTIVITY = "Activity";
+    private static final String SUFFIX_FRAGMENT = "Fragment";
+
+    private final ConcurrentHashMap<Class<?>, String> names = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, Boolean> annotated = new ConcurrentHashMap<>();
+    private final FragmentManager.FragmentLifecycleCallbacks fragmentCallbacks =
+            new FragmentManager.FragmentLifecycleCallbacks() {
+                @Override
+                public void onFragmentResumed(
+                        @NonNull FragmentManager fm, @NonNull Fragment fragment) {
+                    String screenName = nameOf(fragment.getClass(), false);
+                    Activity activity = fragment.getActivity();
+                    if (screenName != null && activity != null) {
+                        Analytic.screen(screenName, activity);
+                    }
+                }
+            };
+
+    /**
+     * Obtain cached screen name of an activity or fragment class
+     *
+     * @param screen  activity or fragment class
+     * @param tracked whether class is tracked when not annotated
+     * @return screen name, or null if class is not tracked
+     */
+    @Nullable
+    String nameOf(@NonNull Class<?> screen, boolean tracked) {
+        String name = names.get(screen);
+        if (name == null) {
+            name = resolve(screen, tracked);
+            names.put(screen, name);
+        }
+        return name.isEmpty() ? null : name;
+    }
+
+    /**
+     * Check, once per class, if an activity or fragment class is annotated
+     *
+     * @param screen activity or fragment class
+     * @return true if annotated with {@link ScreenName}
+     */
+    boolean isAnnotated(@NonNull Class<?> screen) {
+        Boolean value = annotated.get(screen);
+        if (value == null) {
+            value = screen.isAnnotationPresent(ScreenName.class);
+            annotated.put(screen, value);
+        }
+        return value;
+    }
+
+    /**
+     * Track currently resumed activity and its resumed fragments, which were resumed
+     * before this tracker was registered
+     *
+     * @param activity currently resumed activity
+     */
+    void install(@NonNull Activity activity) {
+        onActivityResumed(activity);
+        if (activity instanceof FragmentActivity) {
+            FragmentManager fm = ((FragmentActivity) activity).getSupportFragmentManager();
+            for (Fragment fragment : fm.getFragments()) {
+                if (fragment.isResumed()) {
+                    fragmentCallbacks.onFragmentResumed(fm, fragment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Register fragment callbacks of an activity, at most once
+     */
+    private void attach(@NonNull Activity activity) {
+        if (activity instanceof FragmentActivity) {
+            FragmentManager fm = ((FragmentActivity) activity).getSupportFragmentManager();
+            fm.unregisterFragmentLifecycleCallbacks(fragmentCallbacks);
+            fm.registerFragmentLifecycleCallbacks(fragmentCallbacks, true);
+        }
+    }
+
+    /**
+     * Check if an activity hosts a tracked fragment
+     */
+    private boolean hostsScreen(@NonNull Activity activity) {
+        if (activity instanceof FragmentActivity) {
+            FragmentManager fm = ((FragmentActivity) activity).getSupportFragmentManager();
+            for (Fragment fragment : fm.getFragments()) {
+                if (nameOf(fragment.getClass(), false) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolve screen name of a class from its annotation or naming rule
+     */
+    @NonNull
+    private static String resolve(@NonNull Class<?> screen, boolean tracked) {
+        ScreenName annotation = screen.getAnnotation(ScreenName.class);
+        if (annotation != null) {
+            if (!annotation.tracked()) {
+                return UNTRACKED;
+            }
+            if (!annotation.value().isEmpty()) {
+                return annotation.value();
+            }
+        } else if (!tracked) {
+            return UNTRACKED;
+        }
+
+        String name = screen.getSimpleName();
+        if (name.endsWith(SUFFIX_ACTIVITY) && name.length() > SUFFIX_ACTIVITY.length()) {
+            name = name.substring(0, name.length() - SUFFIX_ACTIVITY.length());
+        } else if (name.endsWith(SUFFIX_FRAGMENT) && name.length() > SUFFIX_FRAGMENT.length()) {
+            name = name.substring(0, name.length() - SUFFIX_FRAGMENT.length());
+        }
+        return name.isEmpty() ? UNTRACKED : name;
+    }
+
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedState) {
+        attach(activity);
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+        //activities created before registration are attached on their next resume
+        attach(activity);
+
+        //unannotated host of a tracked fragment is not a screen
+        Class<?> screen = activity.getClass();
+        if (!isAnnotated(screen) && hostsScreen(activity)) {
+            return;
+        }
+
+        String screenName = nameOf(screen, true);
+        if (screenName != null) {
+            Analytic.screen(screenName, activity);
+        }
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+        if (activity instanceof FragmentActivity) {
+            ((FragmentActivity) activity).getSupportFragmentManager()
+                    .unregisterFragmentLifecycleCallbacks(fragmentCallbacks);
+        }
+    }
+}
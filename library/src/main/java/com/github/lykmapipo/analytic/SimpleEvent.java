@@ -1,44 +1,105 @@
 package com.github.lykmapipo.analytic;
 
 import android.os.Bundle;
+import android.text.TextUtils;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import android.text.TextUtils;
 
 import java.util.Date;
 
 public class SimpleEvent implements Event {
-    private Date time;
+    private static final int POOL_CAPACITY = 32;
+    private static final Pool<SimpleEvent> pool = new Pool<>(POOL_CAPACITY);
+
+    private long time = NO_TIME;
     private String name;
-    private Bundle params = new Bundle();
+    private final EventParams params = new EventParams();
+    private Bundle bundle; // live params handed out by getParams, if any
+    private boolean recyclable;
 
     public SimpleEvent() {
     }
 
     public SimpleEvent(@NonNull String name) {
         this.name = name;
-        this.time = new Date();
+        this.time = Analytic.currentTimeMillis();
     }
 
     public SimpleEvent(@NonNull String name, @NonNull Date time) {
         this.name = name;
-        this.time = time;
+        this.time = time.getTime();
     }
 
     public SimpleEvent(@NonNull String name, @NonNull Date time, @Nullable Bundle params) {
-        this.time = time;
+        this.time = time.getTime();
         this.name = name;
         this.setParams(params);
     }
 
+    /**
+     * Obtain an event from the pool, or a new one if the pool is empty.
+     * <p>
+     * Obtained events are recycled automatically once tracked with
+     * {@link Analytic#track(Event)} and must not be used afterwards.
+     * </p>
+     *
+     * @param name event name
+     * @return {@link SimpleEvent} stamped with current time
+     * @since 0.10.0
+     */
+    @NonNull
+    public static SimpleEvent obtain(@NonNull String name) {
+        SimpleEvent event = pool.acquire();
+        if (event == null) {
+            event = new SimpleEvent();
+        }
+        event.name = name;
+        event.time = Analytic.currentTimeMillis();
+        event.recyclable = true;
+        return event;
+    }
+
+    /**
+     * Reset and return this event to the pool. The event must not be used afterwards.
+     * Recycling an event not obtained from the pool, or already recycled, has no effect.
+     *
+     * @since 0.10.0
+     */
+    public void recycle() {
+        //never pool an event twice
+        if (!recyclable) {
+            return;
+        }
+
+        name = null;
+        time = NO_TIME;
+        params.clear();
+        bundle = null;
+        recyclable = false;
+        pool.release(this);
+    }
+
+    /**
+     * @return true if the event was obtained from the pool and not yet recycled
+     */
+    boolean isRecyclable() {
+        return recyclable;
+    }
+
     @Nullable
     @Override
     public Date getTime() {
+        return this.time == NO_TIME ? null : new Date(this.time);
+    }
+
+    @Override
+    public long getTimeMillis() {
         return this.time;
     }
 
     public SimpleEvent setTime(Date time) {
-        this.time = time;
+        this.time = time != null ? time.getTime() : NO_TIME;
         return this;
     }
 
@@ -53,60 +114,106 @@ public class SimpleEvent implements Event {
         return this;
     }
 
+    /**
+     * Obtain live event parameters, changes made to the returned {@link Bundle} are tracked.
+     * Once obtained, parameters are kept in the {@link Bundle} instead of
+     * {@link EventParams}.
+     *
+     * @return event parameters
+     */
     @Nullable
     @Override
     public Bundle getParams() {
+        if (this.bundle == null) {
+            this.bundle = BundleAdapter.toBundle(this.params);
+        }
+        return this.bundle;
+    }
+
+    @NonNull
+    @Override
+    public EventParams getEventParams() {
+        //refresh from live bundle, it may have changed since obtained
+        if (this.bundle != null) {
+            this.params.clear();
+            BundleAdapter.putAll(this.params, this.bundle);
+        }
         return this.params;
     }
 
     public SimpleEvent setParams(Bundle params) {
-        if (params != null) {
-            Bundle bundle = new Bundle();
-            bundle.putAll(this.params);
-            bundle.putAll(params);
-            this.params = params;
+        if (this.bundle != null) {
+            if (params != null) {
+                this.bundle.putAll(params);
+            }
+        } else {
+            BundleAdapter.putAll(this.params, params);
+        }
+        return this;
+    }
+
+    @NonNull
+    public SimpleEvent setParams(@Nullable EventParams params) {
+        if (this.bundle != null) {
+            if (params != null) {
+                this.bundle.putAll(BundleAdapter.toBundle(params));
+            }
+        } else {
+            this.params.putAll(params);
         }
         return this;
     }
 
     @NonNull
     public SimpleEvent setParam(@NonNull String key, @NonNull String value) {
-        Bundle bundle = new Bundle();
         boolean shouldSet = !TextUtils.isEmpty(key) && !TextUtils.isEmpty(value);
         if (shouldSet) {
-            bundle.putString(key, value);
+            if (this.bundle != null) {
+                this.bundle.putString(key, value);
+            } else {
+                this.params.put(key, value);
+            }
         }
-        return this.setParams(bundle);
+        return this;
     }
 
     @NonNull
     public SimpleEvent setParam(@NonNull String key, @NonNull Long value) {
-        Bundle bundle = new Bundle();
-        boolean shouldSet = !TextUtils.isEmpty(key);
+        boolean shouldSet = !TextUtils.isEmpty(key) && value != null;
         if (shouldSet) {
-            bundle.putLong(key, value);
+            if (this.bundle != null) {
+                this.bundle.putLong(key, value);
+            } else {
+                this.params.put(key, value.longValue());
+            }
         }
-        return this.setParams(bundle);
+        return this;
     }
 
     @NonNull
     public SimpleEvent setParam(@NonNull String key, @NonNull Double value) {
-        Bundle bundle = new Bundle();
-        boolean shouldSet = !TextUtils.isEmpty(key);
+        boolean shouldSet = !TextUtils.isEmpty(key) && value != null;
         if (shouldSet) {
-            bundle.putDouble(key, value);
+            if (this.bundle != null) {
+                this.bundle.putDouble(key, value);
+            } else {
+                this.params.put(key, value.doubleValue());
+            }
         }
-        return this.setParams(bundle);
+        return this;
     }
 
     @NonNull
     public SimpleEvent setParams(@NonNull String key, @NonNull Bundle value) {
-        Bundle bundle = new Bundle();
         boolean shouldSet = !TextUtils.isEmpty(key);
         if (shouldSet) {
-            bundle.putBundle(key, value);
+            if (this.bundle != null) {
+                this.bundle.putBundle(key, value);
+            } else {
+                this.params.putObject(key, BundleAdapter.from(value));
+            }
         }
-        return this.setParams(bundle);
+        return this;
     }
 
     @Override
@@ -114,7 +221,7 @@ public class SimpleEvent implements Event {
         return "SimpleEvent{" +
                 "time=" + time +
                 ", name='" + name + '\'' +
-                ", params=" + params +
+                ", params=" + getEventParams() +
                 '}';
     }
 
@@ -125,16 +232,16 @@ public class SimpleEvent implements Event {
 
         SimpleEvent that = (SimpleEvent) o;
 
-        if (time != null ? !time.equals(that.time) : that.time != null) return false;
+        if (time != that.time) return false;
         if (name != null ? !name.equals(that.name) : that.name != null) return false;
-        return params != null ? params.equals(that.params) : that.params == null;
+        return getEventParams().equals(that.getEventParams());
     }
 
     @Override
     public int hashCode() {
-        int result = time != null ? time.hashCode() : 0;
+        int result = (int) (time ^ (time >>> 32));
         result = 31 * result + (name != null ? name.hashCode() : 0);
-        result = 31 * result + (params != null ? params.hashCode() : 0);
+        result = 31 * result + getEventParams().hashCode();
         return result;
     }
 }
@@ -4,6 +4,8 @@ import android.content.Context;
 import android.os.Bundle;
 
 import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentActivity;
 import androidx.test.core.app.ApplicationProvider;
 
 import com.github.lykmapipo.common.provider.Provider;
@@ -13,9 +15,18 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -99,6 +110,19 @@ public class AnalyticTest {
         assertThat(time, is(not(equalTo(null))));
     }
 
+    @Test
+    public void shouldBeAbleToSetDefaultParameters() {
+        Analytic.setDefaultEventParam(TEST_PARAM, TEST_PARAM);
+        Bundle params = Analytic.getDefaultEventParams();
+        assertThat(params.getString(TEST_PARAM), is(equalTo(TEST_PARAM)));
+        assertThat(params.getString(Analytic.Param.MEDIUM), is(equalTo(Analytic.VALUE_MEDIUM_ANDROID)));
+
+        Analytic.removeDefaultEventParam(TEST_PARAM);
+        params = Analytic.getDefaultEventParams();
+        assertThat(params.containsKey(TEST_PARAM), is(equalTo(false)));
+        assertThat(params.getString(Analytic.Param.TIMEZONE), is(not(equalTo(null))));
+    }
+
     @Test
     public void shouldBeAbleToTrack_01() {
         Exception exception = null;
@@ -126,6 +150,526 @@ public class AnalyticTest {
         assertThat(exception, is(equalTo(null)));
     }
 
+    @Test
+    public void shouldBeAbleToTrackAsync() {
+        Exception exception = null;
+        try {
+            Analytic.of(appProvider);
+            Analytic.setAsync(true);
+            assertThat(Analytic.isAsync(), is(equalTo(true)));
+
+            Bundle params = new Bundle();
+            params.putString(TEST_PARAM, TEST_PARAM);
+            Analytic.track(TEST_EVENT, params);
+            Analytic.Action.performed(TEST_ACTION);
+
+            Analytic.setAsync(false);
+            assertThat(Analytic.isAsync(), is(equalTo(false)));
+        } catch (Exception e) {
+            exception = e;
+        }
+        assertThat(exception, is(equalTo(null)));
+    }
+
+    @Test
+    public void shouldBeAbleToBatchAsyncEvents() {
+        Analytic.of(appProvider);
+        Analytic.setBatching(2, 60000L);
+        Analytic.setAsync(true);
+
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.setAsync(false);
+
+        BatchStats stats = Analytic.getBatchStats();
+        assertThat(stats.getFlushCount(), is(equalTo(2L)));
+        assertThat(stats.getFlushedEvents(), is(equalTo(3L)));
+        assertThat(stats.getMaxFlushSize(), is(equalTo(2)));
+        assertThat(stats.getDroppedEvents(), is(equalTo(0L)));
+
+        Analytic.setBatching(0, 0);
+    }
+
+    @Test
+    public void shouldCountEventsDroppedByFailingBatchSink() {
+        MemorySink sink = new MemorySink();
+        AnalyticSink failing = new MemorySink() {
+            @Override
+            public void logEvent(@NonNull String name, @NonNull EventParams params) {
+                throw new IllegalStateException("Fail to write");
+            }
+        };
+        Analytic.of(appProvider, failing, sink);
+        Analytic.setBatching(2, 60000L);
+        Analytic.setAsync(true);
+
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.setAsync(false);
+
+        //other sink still receives batches
+        BatchStats stats = Analytic.getBatchStats();
+        assertThat(sink.getEvents().size(), is(equalTo(3)));
+        assertThat(stats.getFlushCount(), is(equalTo(2L)));
+        assertThat(stats.getDroppedEvents(), is(equalTo(3L)));
+
+        Analytic.setBatching(0, 0);
+    }
+
+    @Test
+    public void shouldBeAbleToDispatchToSinks() {
+        MemorySink sink = new MemorySink();
+        FirebaseAnalytics instance = Analytic.of(appProvider, sink, NoopSink.INSTANCE);
+        assertThat(instance, is(equalTo(null)));
+        assertThat(Analytic.getSinks().size(), is(equalTo(2)));
+
+        Bundle params = new Bundle();
+        params.putString(TEST_PARAM, TEST_PARAM);
+        Analytic.track(TEST_EVENT, params);
+        Analytic.setUserIdentifier(TEST_ITEM_ID);
+        Analytic.setUserProperty(TEST_PARAM, TEST_LONG);
+
+        List<SimpleEvent> events = sink.getEvents();
+        assertThat(events.size(), is(equalTo(1)));
+        assertThat(events.get(0).getName(), is(equalTo(TEST_EVENT)));
+        assertThat(sink.getUserId(), is(equalTo(TEST_ITEM_ID)));
+        assertThat(sink.getUserProperties().get(TEST_PARAM), is(equalTo(String.valueOf(TEST_LONG))));
+    }
+
+    @Test
+    public void shouldNotThrowWhenSinkFails() {
+        MemorySink sink = new MemorySink();
+        AnalyticSink failing = new MemorySink() {
+            @Override
+            public void logEvent(@NonNull String name, @NonNull EventParams params) {
+                throw new IllegalStateException("Fail to write");
+            }
+
+            @Override
+            public void setUserId(@NonNull String identifier) {
+                throw new IllegalStateException("Fail to write");
+            }
+        };
+        Analytic.of(appProvider, failing, sink);
+        AnalyticMetrics.Snapshot metrics = Analytic.getMetrics();
+
+        Analytic.track(TEST_EVENT, new Bundle());
+        Analytic.setUserIdentifier(TEST_ITEM_ID);
+
+        //other sinks still receive events, failure is counted but event is not dropped
+        assertThat(sink.getEvents().size(), is(equalTo(1)));
+        assertThat(sink.getUserId(), is(equalTo(TEST_ITEM_ID)));
+        assertThat(Analytic.getMetrics().getCount(AnalyticMetrics.SINK_FAILED),
+                is(equalTo(metrics.getCount(AnalyticMetrics.SINK_FAILED) + 1)));
+        assertThat(Analytic.getMetrics().getCount(AnalyticMetrics.DROPPED),
+                is(equalTo(metrics.getCount(AnalyticMetrics.DROPPED))));
+    }
+
+    @Test
+    public void shouldPublishEventsDespiteFailingSink() {
+        AnalyticSink failing = new MemorySink() {
+            @Override
+            public void logEvent(@NonNull String name, @NonNull EventParams params) {
+                throw new IllegalStateException("Fail to write");
+            }
+        };
+        Analytic.of(appProvider, failing, new MemorySink());
+        List<String> received = new ArrayList<>();
+        Analytic.subscribe(new EventSubscriber() {
+            @Override
+            public void onSubscribe(@NonNull EventSubscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(@NonNull String name, @NonNull EventParams params) {
+                received.add(name);
+            }
+        }, Runnable::run);
+
+        Analytic.track(TEST_EVENT, new Bundle());
+
+        assertThat(received.size(), is(equalTo(1)));
+        assertThat(received.get(0), is(equalTo(TEST_EVENT)));
+    }
+
+    @Test
+    public void shouldDropEventWhenAllSinksFail() {
+        AnalyticSink failing = new MemorySink() {
+            @Override
+            public void logEvent(@NonNull String name, @NonNull EventParams params) {
+                throw new IllegalStateException("Fail to write");
+            }
+        };
+        Analytic.of(appProvider, failing);
+        AnalyticMetrics.Snapshot metrics = Analytic.getMetrics();
+
+        Analytic.track(TEST_EVENT, new Bundle());
+
+        assertThat(Analytic.getMetrics().getCount(AnalyticMetrics.SINK_FAILED),
+                is(equalTo(metrics.getCount(AnalyticMetrics.SINK_FAILED) + 1)));
+        assertThat(Analytic.getMetrics().getCount(AnalyticMetrics.DROPPED),
+                is(equalTo(metrics.getCount(AnalyticMetrics.DROPPED) + 1)));
+    }
+
+    @Test
+    public void shouldAcknowledgeEventReceivedBySomeSinks() throws IOException {
+        MemorySink sink = new MemorySink();
+        AnalyticSink failing = new MemorySink() {
+            @Override
+            public void logEvent(@NonNull String name, @NonNull EventParams params) {
+                throw new IllegalStateException("Fail to write");
+            }
+        };
+        Analytic.setJournaling(true);
+        Analytic.of(appProvider, failing, sink);
+
+        Analytic.track(TEST_EVENT, new Bundle());
+        assertThat(sink.getEvents().size(), is(equalTo(1)));
+        Analytic.dispose();
+        Analytic.setJournaling(false);
+
+        //nothing left to replay into the sink which received the event
+        Context context = appProvider.getApplicationContext();
+        File file = new File(context.getNoBackupFilesDir(), Analytic.JOURNAL_FILE);
+        Journal journal = Journal.open(file, Journal.DEFAULT_CAPACITY);
+        assertThat(journal.replay((offset, payload) -> {
+        }), is(equalTo(0)));
+        journal.close();
+    }
+
+    @Test
+    public void shouldCountViolationsInMetrics() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+        AnalyticMetrics.Snapshot metrics = Analytic.getMetrics();
+
+        Bundle params = new Bundle();
+        params.putString("1" + TEST_PARAM, TEST_ACTION);
+        params.putString(TEST_PARAM, new String(new char[101]).replace('\0', 'a'));
+        Analytic.track("1" + TEST_EVENT, new Bundle());
+        Analytic.track(TEST_EVENT, params);
+
+        AnalyticMetrics.Snapshot current = Analytic.getMetrics();
+        assertThat(current.getCount(AnalyticMetrics.VALIDATION_INVALID_NAME),
+                is(equalTo(metrics.getCount(AnalyticMetrics.VALIDATION_INVALID_NAME) + 1)));
+        assertThat(current.getCount(AnalyticMetrics.VALIDATION_INVALID_KEY),
+                is(equalTo(metrics.getCount(AnalyticMetrics.VALIDATION_INVALID_KEY) + 1)));
+        assertThat(current.getCount(AnalyticMetrics.VALIDATION_VALUE_TOO_LONG),
+                is(equalTo(metrics.getCount(AnalyticMetrics.VALIDATION_VALUE_TOO_LONG) + 1)));
+    }
+
+    @Test
+    public void shouldDeduplicateActionsWithIdenticalParams() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+        Analytic.setDeduplicationWindow(60000L);
+
+        Bundle params = new Bundle();
+        params.putString(TEST_PARAM, TEST_ACTION);
+        Analytic.Action.performed(TEST_ACTION, params);
+        Analytic.Action.performed(TEST_ACTION, new Bundle(params));
+
+        //different caller params are not duplicates
+        Bundle other = new Bundle();
+        other.putString(TEST_PARAM, TEST_EVENT);
+        Analytic.Action.performed(TEST_ACTION, other);
+
+        assertThat(sink.getEvents().size(), is(equalTo(2)));
+        assertThat(sink.getEvents().get(1).getParams().getString(TEST_PARAM),
+                is(equalTo(TEST_EVENT)));
+
+        Analytic.setDeduplicationWindow(0L);
+    }
+
+    @Test
+    public void shouldDropUnsupportedParams() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+        long dropped = Analytic.getMetrics().getCount(AnalyticMetrics.DROPPED_PARAMS);
+
+        ArrayList<String> names = new ArrayList<>();
+        names.add(TEST_ACTION);
+        Bundle params = new Bundle();
+        params.putString(TEST_PARAM, TEST_ACTION);
+        params.putStringArrayList(TEST_ITEM_ID, names);
+        Analytic.track(TEST_EVENT, params);
+
+        //unsupported values are not stringified
+        Bundle tracked = sink.getEvents().get(0).getParams();
+        assertThat(tracked.getString(TEST_PARAM), is(equalTo(TEST_ACTION)));
+        assertThat(tracked.containsKey(TEST_ITEM_ID), is(equalTo(false)));
+        assertThat(Analytic.getMetrics().getCount(AnalyticMetrics.DROPPED_PARAMS),
+                is(equalTo(dropped + 1)));
+    }
+
+    @Test
+    public void shouldCarryBooleanAndNestedParamsThroughJournal() {
+        Bundle nested = new Bundle();
+        nested.putString(TEST_PARAM, TEST_ACTION);
+        Bundle item = new Bundle();
+        item.putString(FirebaseAnalytics.Param.ITEM_ID, TEST_ITEM_ID);
+        ArrayList<Bundle> items = new ArrayList<>();
+        items.add(item);
+        Bundle params = new Bundle();
+        params.putBoolean(FirebaseAnalytics.Param.SUCCESS, true);
+        params.putBundle(TEST_PARAM, nested);
+        params.putParcelableArrayList(Analytic.Param.ITEMS, items);
+
+        //encode and decode as journal and spill records do
+        EventCodec.Encoder record =
+                EventCodec.encode(TEST_EVENT, 0L, BundleAdapter.from(params));
+        assertThat(record.getDropped(), is(equalTo(0)));
+        byte[] data = Arrays.copyOf(record.getData(), record.getSize());
+        TrackedEvent event = EventCodec.decode(ByteBuffer.wrap(data), 0L);
+
+        Bundle decoded = BundleAdapter.toBundle(event.getParams());
+        assertThat(decoded.getBoolean(FirebaseAnalytics.Param.SUCCESS), is(equalTo(true)));
+        assertThat(decoded.getBundle(TEST_PARAM).getString(TEST_PARAM),
+                is(equalTo(TEST_ACTION)));
+        ArrayList<Bundle> decodedItems =
+                decoded.getParcelableArrayList(Analytic.Param.ITEMS);
+        assertThat(decodedItems.size(), is(equalTo(1)));
+        assertThat(decodedItems.get(0).getString(FirebaseAnalytics.Param.ITEM_ID),
+                is(equalTo(TEST_ITEM_ID)));
+    }
+
+    @Test
+    public void shouldBeAbleToAggregateEvents() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+        Analytic.aggregate(TEST_EVENT, FirebaseAnalytics.Param.VALUE, TEST_PARAM);
+
+        for (int i = 1; i <= 3; i++) {
+            Bundle params = new Bundle();
+            params.putString(TEST_PARAM, TEST_PARAM);
+            params.putLong(FirebaseAnalytics.Param.VALUE, i);
+            Analytic.track(TEST_EVENT, params);
+        }
+        assertThat(sink.getEvents().size(), is(equalTo(0)));
+
+        Analytic.flush();
+        assertThat(sink.getEvents().size(), is(equalTo(1)));
+
+        Bundle params = sink.getEvents().get(0).getParams();
+        assertThat(params.getString(TEST_PARAM), is(equalTo(TEST_PARAM)));
+        assertThat(params.getLong(Analytic.Param.ROLLUP_COUNT), is(equalTo(3L)));
+        assertThat(params.getDouble(Analytic.Param.ROLLUP_SUM), is(equalTo(6.0)));
+        assertThat(params.getDouble(Analytic.Param.ROLLUP_MAX), is(equalTo(3.0)));
+
+        Analytic.removeAggregation(TEST_EVENT);
+    }
+
+    @Test
+    public void shouldBeAbleToTrackScreensAutomatically() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+        Analytic.setScreenTracking(true);
+
+        Robolectric.buildActivity(HomeActivity.class).setup();
+
+        List<SimpleEvent> events = sink.getEvents();
+        assertThat(events.size(), is(equalTo(1)));
+        Bundle params = events.get(0).getParams();
+        assertThat(params.getString(FirebaseAnalytics.Param.ITEM_ID), is(equalTo("home")));
+
+        Analytic.setScreenTracking(false);
+    }
+
+    @Test
+    public void shouldTrackResumedScreenWhenTrackingEnabledLater() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+
+        SettingsActivity activity =
+                Robolectric.buildActivity(SettingsActivity.class).setup().get();
+        activity.getSupportFragmentManager().beginTransaction()
+                .add(new CartFragment(), "cart").commitNow();
+        Analytic.setScreenTracking(true, activity);
+
+        //unannotated host of a tracked fragment is not tracked
+        List<SimpleEvent> events = sink.getEvents();
+        assertThat(events.size(), is(equalTo(1)));
+        Bundle params = events.get(0).getParams();
+        assertThat(params.getString(FirebaseAnalytics.Param.ITEM_ID), is(equalTo("cart")));
+
+        Analytic.setScreenTracking(false);
+    }
+
+    @Test
+    public void shouldBeAbleToResolveScreenNames() {
+        ScreenTracker tracker = new ScreenTracker();
+        assertThat(tracker.nameOf(HomeActivity.class, true), is(equalTo("home")));
+        assertThat(tracker.nameOf(SettingsActivity.class, true), is(equalTo("Settings")));
+        assertThat(tracker.nameOf(SettingsFragment.class, false), is(equalTo(null)));
+        assertThat(tracker.nameOf(SettingsFragment.class, true), is(equalTo("Settings")));
+    }
+
+    @Test
+    public void shouldBeAbleToInjectClock() {
+        long time = 1600000000000L;
+        long[] elapsed = {0L};
+        Analytic.setClock(new Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return time;
+            }
+
+            @Override
+            public long elapsedRealtimeNanos() {
+                return elapsed[0];
+            }
+        });
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+
+        Analytic.track(TEST_EVENT, null);
+        elapsed[0] = 1000000000L;
+        Analytic.track(SimpleEvent.obtain(TEST_EVENT));
+
+        List<SimpleEvent> events = sink.getEvents();
+        assertThat(events.get(0).getTimeMillis(), is(equalTo(time)));
+        assertThat(events.get(1).getTimeMillis(), is(equalTo(time + 1000)));
+    }
+
+    @Test
+    public void shouldReplayEventsHeldDuringDeferredInitialization() throws Exception {
+        long time = 1600000000000L;
+        long[] now = {time};
+        Analytic.setClock(new Clock() {
+            @Override
+            public long currentTimeMillis() {
+                return now[0];
+            }
+
+            @Override
+            public long elapsedRealtimeNanos() {
+                return 0L;
+            }
+        });
+
+        //track an event from the sink while held events are replayed
+        MemorySink sink = new MemorySink() {
+            @Override
+            public synchronized void logEvent(@NonNull String name, @NonNull EventParams params) {
+                super.logEvent(name, params);
+                if ("second_event".equals(name)) {
+                    Analytic.track("replay_event", null);
+                }
+            }
+        };
+        Analytic.addSink(sink);
+        long dropped = Analytic.getMetrics().getCount(AnalyticMetrics.DROPPED);
+
+        //block initialization until events are held
+        CountDownLatch initializing = new CountDownLatch(1);
+        Provider deferredProvider = new Provider() {
+            @NonNull
+            @Override
+            public Context getApplicationContext() {
+                try {
+                    initializing.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ApplicationProvider.getApplicationContext();
+            }
+        };
+        Analytic.ofDeferred(deferredProvider, 2);
+
+        Analytic.track("first_event", null);
+        now[0] = time + 1000;
+        Analytic.track("second_event", null);
+        now[0] = time + 2000;
+        Analytic.track("third_event", null);
+        now[0] = time + 5000;
+
+        //oldest held event is dropped once buffer is full
+        assertThat(sink.getEvents().size(), is(equalTo(0)));
+        assertThat(Analytic.getMetrics().getCount(AnalyticMetrics.DROPPED),
+                is(equalTo(dropped + 1)));
+
+        initializing.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sink.getEvents().size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        //held events replayed in order with their original time, then events tracked meanwhile
+        List<SimpleEvent> events = sink.getEvents();
+        assertThat(events.size(), is(equalTo(3)));
+        assertThat(events.get(0).getName(), is(equalTo("second_event")));
+        assertThat(events.get(0).getTimeMillis(), is(equalTo(time + 1000)));
+        assertThat(events.get(1).getName(), is(equalTo("third_event")));
+        assertThat(events.get(1).getTimeMillis(), is(equalTo(time + 2000)));
+        assertThat(events.get(2).getName(), is(equalTo("replay_event")));
+        assertThat(events.get(2).getTimeMillis(), is(equalTo(time + 5000)));
+
+        //delivered once initialized
+        Analytic.track(TEST_EVENT, null);
+        while (sink.getEvents().size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(sink.getEvents().get(3).getName(), is(equalTo(TEST_EVENT)));
+    }
+
+    @Test
+    public void shouldBeAbleToTrackPooledEvent() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+
+        SimpleEvent event = SimpleEvent.obtain(TEST_EVENT)
+                .setParam(TEST_PARAM, TEST_PARAM)
+                .setParam(TEST_ACTION, TEST_LONG);
+        assertThat(event.getParams().size(), is(equalTo(2)));
+        Analytic.track(event);
+
+        //recycled after tracking
+        assertThat(event.getName(), is(equalTo(null)));
+        assertThat(event.getParams().size(), is(equalTo(0)));
+        assertThat(SimpleEvent.obtain(TEST_EVENT), is(sameInstance(event)));
+
+        Bundle params = sink.getEvents().get(0).getParams();
+        assertThat(params.getString(TEST_PARAM), is(equalTo(TEST_PARAM)));
+        assertThat(params.getLong(TEST_ACTION), is(equalTo(TEST_LONG)));
+    }
+
+    @Test
+    public void shouldTrackChangesMadeToLiveParams() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+
+        SimpleEvent event = new SimpleEvent(TEST_EVENT).setParam(TEST_PARAM, TEST_PARAM);
+        Bundle live = event.getParams();
+        assertThat(event.getParams(), is(sameInstance(live)));
+
+        //changes to live params and later setters are both tracked
+        live.putString(TEST_ACTION, TEST_ACTION);
+        event.setParam("count", TEST_LONG);
+        assertThat(live.getLong("count"), is(equalTo(TEST_LONG)));
+        Analytic.track(event);
+
+        Bundle params = sink.getEvents().get(0).getParams();
+        assertThat(params.getString(TEST_PARAM), is(equalTo(TEST_PARAM)));
+        assertThat(params.getString(TEST_ACTION), is(equalTo(TEST_ACTION)));
+        assertThat(params.getLong("count"), is(equalTo(TEST_LONG)));
+    }
+
+    @Test
+    public void shouldNotPoolRecycledEventTwice() {
+        SimpleEvent event = SimpleEvent.obtain(TEST_EVENT);
+        event.recycle();
+        event.recycle();
+
+        //pooled once, so never handed out twice
+        SimpleEvent first = SimpleEvent.obtain(TEST_EVENT);
+        SimpleEvent second = SimpleEvent.obtain(TEST_ACTION);
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(first.getName(), is(equalTo(TEST_EVENT)));
+    }
+
     @Test
     public void shouldBeAbleToTrackAppOpened_01() {
         Exception exception = null;
@@ -424,6 +968,31 @@ public class AnalyticTest {
         assertThat(exception, is(equalTo(null)));
     }
 
+    @Test
+    public void shouldBeAbleToTrackEcommercePurchaseOfItems() {
+        MemorySink sink = new MemorySink();
+        Analytic.of(appProvider, sink);
+
+        List<Analytic.Itemable> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add(new CartItem(TEST_ITEM_ID + i, 2L, 1.5));
+        }
+        Analytic.Ecommerce.purchase(items, TEST_CURRENCY);
+
+        List<SimpleEvent> events = sink.getEvents();
+        assertThat(events.size(), is(equalTo(1)));
+        Bundle params = events.get(0).getParams();
+        assertThat(params.getDouble(FirebaseAnalytics.Param.VALUE), is(equalTo(90.0)));
+        assertThat(params.getString(FirebaseAnalytics.Param.CURRENCY), is(equalTo(TEST_CURRENCY)));
+
+        ArrayList<Bundle> bundles = params.getParcelableArrayList(Analytic.Param.ITEMS);
+        assertThat(bundles.size(), is(equalTo(30)));
+        Bundle item = bundles.get(0);
+        assertThat(item.getString(FirebaseAnalytics.Param.ITEM_ID), is(equalTo(TEST_ITEM_ID + 0)));
+        assertThat(item.getLong(FirebaseAnalytics.Param.QUANTITY), is(equalTo(2L)));
+        assertThat(item.getDouble(FirebaseAnalytics.Param.PRICE), is(equalTo(1.5)));
+    }
+
     @Test
     public void shouldBeAbleToTrackActionPerformed_01() {
         Exception exception = null;
@@ -452,4 +1021,52 @@ public class AnalyticTest {
         Analytic.dispose();
         appProvider = null;
     }
+
+    @ScreenName("home")
+    public static class HomeActivity extends FragmentActivity {
+    }
+
+    public static class SettingsActivity extends FragmentActivity {
+    }
+
+    public static class SettingsFragment extends Fragment {
+    }
+
+    @ScreenName("cart")
+    public static class CartFragment extends Fragment {
+    }
+
+    private static class CartItem implements Analytic.Itemable {
+        private final String itemId;
+        private final long quantity;
+        private final double price;
+
+        CartItem(String itemId, long quantity, double price) {
+            this.itemId = itemId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        @NonNull
+        @Override
+        public String getItemId() {
+            return itemId;
+        }
+
+        @NonNull
+        @Override
+        public String getItemCategory() {
+            return "cart";
+        }
+
+        @Override
+        public long getItemQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public Double getItemPrice() {
+            return price;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class EventLoggerTest {
+    private String TEST_EVENT = "test_event";
+    private String TEST_OTHER_EVENT = "test_other_event";
+
+    @Test
+    public void shouldNotLogWhenDisabled() {
+        EventLogger logger = new EventLogger(Analytic.TAG);
+        assertThat(logger.isEnabled(), is(equalTo(false)));
+        assertThat(logger.isLoggable(TEST_EVENT), is(equalTo(false)));
+    }
+
+    @Test
+    public void shouldSampleLoggedEvents() {
+        EventLogger logger = new EventLogger(Analytic.TAG);
+        logger.setEnabled(true);
+        logger.setSampleRate(3);
+
+        int logged = 0;
+        for (int i = 0; i < 9; i++) {
+            if (logger.isLoggable(TEST_EVENT)) {
+                logged++;
+            }
+        }
+        assertThat(logged, is(equalTo(3)));
+    }
+
+    @Test
+    public void shouldLogOnlyAllowedEvents() {
+        EventLogger logger = new EventLogger(Analytic.TAG);
+        logger.setEnabled(true);
+        logger.setAllowList(TEST_EVENT);
+
+        assertThat(logger.isLoggable(TEST_EVENT), is(equalTo(true)));
+        assertThat(logger.isLoggable(TEST_OTHER_EVENT), is(equalTo(false)));
+
+        logger.setAllowList();
+        assertThat(logger.isLoggable(TEST_OTHER_EVENT), is(equalTo(true)));
+    }
+}
@@ -0,0 +1,395 @@
+package com.github.lykmapipo.analytic;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * AnalyticEventProcessor
+ * <p>
+ * Generate a final {@link TypedEvent} implementation for each {@link AnalyticEvent}
+ * interface, with typed fields, constant interned parameter keys and a single pass
+ * {@link TypedEvent#writeTo(EventParams)}. Event names and parameter keys are checked with
+ * the same rules as the runtime {@link Validator}, so violations fail the build.
+ * </p>
+ *
+ * @author lally elias<lallyelias87@gmail.com>
+ * @version 0.1.0
+ * @since 0.10.0
+ */
+public final class AnalyticEventProcessor extends AbstractProcessor {
+    static final String PREFIX = "Analytic";
+
+    /**
+     * Number of parameters added on dispatch: time, timezone and medium
+     */
+    static final int RESERVED_PARAMS = 3;
+    static final int MAX_PARAMS = Validator.MAX_PARAMS - RESERVED_PARAMS;
+
+    /**
+     * Methods of {@link TypedEvent} which can not be parameter accessors
+     */
+    private static final Set<String> RESERVED_METHODS =
+            new HashSet<>(Arrays.asList("getName", "size", "writeTo"));
+
+    /**
+     * Bean accessor prefixes dropped from derived parameter keys
+     */
+    private static final String[] ACCESSOR_PREFIXES = {"get", "is"};
+
+    /**
+     * Kinds of parameter values
+     */
+    private static final int KIND_STRING = 0;
+    private static final int KIND_LONG = 1;
+    private static final int KIND_DOUBLE = 2;
+    private static final int KIND_BOOLEAN = 3;
+
+    /**
+     * Event parameter accessor
+     */
+    private static final class Param {
+        final String method;
+        final String key;
+        final String constant;
+        final String type;
+        final int kind;
+        final boolean nullable;
+
+        Param(String method, String key, String type, int kind, boolean nullable) {
+            this.method = method;
+            this.key = key;
+            this.constant = "KEY_" + key.toUpperCase(Locale.ROOT);
+            this.type = type;
+            this.kind = kind;
+            this.nullable = nullable;
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(
+                AnalyticEvent.class.getCanonicalName(), EventParam.class.getCanonicalName()));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(AnalyticEvent.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@AnalyticEvent must annotate an interface");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (!type.getTypeParameters().isEmpty()) {
+                error(type, "@AnalyticEvent interface must not be generic");
+                continue;
+            }
+
+            //validate event name
+            String name = type.getAnnotation(AnalyticEvent.class).value();
+            Integer verdict = Validator.verify(name, true);
+            if (!verdict.equals(Validator.VALID)) {
+                error(type, "Invalid event name '" + name + "': " + Validator.describe(verdict));
+                continue;
+            }
+
+            List<Param> params = params(type);
+            if (params != null) {
+                generate(type, name, params);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collect and validate event parameters
+     *
+     * @param type event interface
+     * @return parameters, or null if invalid
+     */
+    private List<Param> params(TypeElement type) {
+        List<Param> params = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        boolean valid = true;
+
+        List<ExecutableElement> methods =
+                ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type));
+        for (ExecutableElement method : methods) {
+            //only abstract accessors of interfaces are parameters
+            Element owner = method.getEnclosingElement();
+            if (owner.getKind() != ElementKind.INTERFACE
+                    || !method.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            if (!method.getParameters().isEmpty()
+                    || method.getReturnType().getKind() == TypeKind.VOID) {
+                error(method, "Event parameter must be an accessor without arguments");
+                valid = false;
+                continue;
+            }
+
+            //validate key
+            String methodName = method.getSimpleName().toString();
+            if (RESERVED_METHODS.contains(methodName)) {
+                error(method, "Event parameter must not be named " + methodName);
+                valid = false;
+                continue;
+            }
+            EventParam annotation = method.getAnnotation(EventParam.class);
+            String key = annotation != null ? annotation.value() : keyOf(methodName);
+            Integer verdict = Validator.verify(key, false);
+            if (!verdict.equals(Validator.VALID)) {
+                error(method, "Invalid parameter key '" + key + "': "
+                        + Validator.describe(verdict));
+                valid = false;
+                continue;
+            }
+            if (!keys.add(key)) {
+                error(method, "Duplicate parameter key '" + key + "'");
+                valid = false;
+                continue;
+            }
+
+            //validate type
+            TypeMirror returnType = method.getReturnType();
+            int kind = kindOf(returnType);
+            if (kind < 0) {
+                error(method, "Unsupported parameter type " + returnType);
+                valid = false;
+                continue;
+            }
+            boolean nullable = !returnType.getKind().isPrimitive();
+            params.add(new Param(methodName, key, returnType.toString(), kind, nullable));
+        }
+
+        if (params.size() > MAX_PARAMS) {
+            error(type, "Too many parameters: " + params.size() + ", at most " + MAX_PARAMS
+                    + " leaving room for " + RESERVED_PARAMS + " dispatch parameters");
+            valid = false;
+        }
+        return valid ? params : null;
+    }
+
+    /**
+     * Generate typed event implementation
+     *
+     * @param type   event interface
+     * @param name   event name
+     * @param params event parameters
+     */
+    private void generate(TypeElement type, String name, List<Param> params) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String interfaceName = type.getQualifiedName().toString();
+        String relativeName = packageName.isEmpty()
+                ? interfaceName : interfaceName.substring(packageName.length() + 1);
+        String className = PREFIX + relativeName.replace('.', '_');
+        String visibility = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import com.github.lykmapipo.analytic.EventParams;\n")
+                .append("import com.github.lykmapipo.analytic.TypedEvent;\n\n")
+                .append("/**\n")
+                .append(" * Typed {@link ").append(relativeName).append("} event, ")
+                .append("generated by analytic processor. Do not edit.\n")
+                .append(" */\n")
+                .append(visibility).append("final class ").append(className)
+                .append(" implements ").append(relativeName).append(", TypedEvent {\n")
+                .append("    public static final String NAME = \"").append(name).append("\";\n");
+        for (Param param : params) {
+            source.append("    public static final String ").append(param.constant)
+                    .append(" = \"").append(param.key).append("\";\n");
+        }
+        source.append("    private static final int SIZE = ").append(params.size()).append(";\n");
+
+        //fields
+        if (!params.isEmpty()) {
+            source.append('\n');
+        }
+        for (Param param : params) {
+            source.append("    private ").append(param.type).append(' ')
+                    .append(param.method).append(";\n");
+        }
+
+        //constructors
+        source.append("\n    public ").append(className).append("() {\n    }\n");
+        if (!params.isEmpty()) {
+            source.append("\n    public ").append(className).append('(');
+            for (int i = 0; i < params.size(); i++) {
+                Param param = params.get(i);
+                source.append(i > 0 ? ", " : "").append(param.type).append(' ')
+                        .append(param.method);
+            }
+            source.append(") {\n");
+            for (Param param : params) {
+                source.append("        this.").append(param.method).append(" = ")
+                        .append(param.method).append(";\n");
+            }
+            source.append("    }\n");
+        }
+
+        //accessors
+        for (Param param : params) {
+            source.append("\n    @Override\n    public ").append(param.type).append(' ')
+                    .append(param.method).append("() {\n        return ")
+                    .append(param.method).append(";\n    }\n")
+                    .append("\n    public ").append(className).append(' ')
+                    .append(param.method).append('(').append(param.type).append(' ')
+                    .append(param.method).append(") {\n        this.")
+                    .append(param.method).append(" = ").append(param.method)
+                    .append(";\n        return this;\n    }\n");
+        }
+
+        //typed event
+        source.append("\n    @Override\n    public String getName() {\n")
+                .append("        return NAME;\n    }\n")
+                .append("\n    @Override\n    public int size() {\n")
+                .append("        return SIZE;\n    }\n")
+                .append("\n    @Override\n    public void writeTo(EventParams params) {\n");
+        for (Param param : params) {
+            String indent = "        ";
+            if (param.nullable) {
+                source.append(indent).append("if (").append(param.method)
+                        .append(" != null) {\n");
+                indent = indent + "    ";
+            }
+            source.append(indent).append("params.put(").append(param.constant).append(", ")
+                    .append(valueOf(param)).append(");\n");
+            if (param.nullable) {
+                source.append("        }\n");
+            }
+        }
+        source.append("    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer =
+                     processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "Fail to generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Build expression converting parameter to a supported value
+     */
+    private static String valueOf(Param param) {
+        String value = param.method;
+        switch (param.kind) {
+            case KIND_LONG:
+                return param.nullable ? value + ".longValue()" : "(long) " + value;
+            case KIND_DOUBLE:
+                return param.nullable ? value + ".doubleValue()" : "(double) " + value;
+            case KIND_BOOLEAN:
+                return "(" + value + " ? 1L : 0L)";
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Obtain kind of parameter value
+     *
+     * @param type accessor return type
+     * @return kind of value, or negative if type is not supported
+     */
+    private static int kindOf(TypeMirror type) {
+        switch (type.getKind()) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return KIND_LONG;
+            case FLOAT:
+            case DOUBLE:
+                return KIND_DOUBLE;
+            case BOOLEAN:
+                return KIND_BOOLEAN;
+            case DECLARED:
+                switch (type.toString()) {
+                    case "java.lang.String":
+                        return KIND_STRING;
+                    case "java.lang.Byte":
+                    case "java.lang.Short":
+                    case "java.lang.Integer":
+                    case "java.lang.Long":
+                        return KIND_LONG;
+                    case "java.lang.Float":
+                    case "java.lang.Double":
+                        return KIND_DOUBLE;
+                    case "java.lang.Boolean":
+                        return KIND_BOOLEAN;
+                    default:
+                        return -1;
+                }
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Derive parameter key from accessor name, dropping bean prefixes i.e getItemId and
+     * itemId to item_id, isBonus to bonus
+     */
+    static String keyOf(String accessor) {
+        for (String prefix : ACCESSOR_PREFIXES) {
+            if (accessor.length() > prefix.length() && accessor.startsWith(prefix)
+                    && Character.isUpperCase(accessor.charAt(prefix.length()))) {
+                return snakeCase(accessor.substring(prefix.length()));
+            }
+        }
+        return snakeCase(accessor);
+    }
+
+    /**
+     * Convert camel case accessor name to snake case key i.e itemId to item_id
+     */
+    static String snakeCase(String name) {
+        StringBuilder key = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) {
+                    key.append('_');
+                }
+                key.append(Character.toLowerCase(c));
+            } else {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
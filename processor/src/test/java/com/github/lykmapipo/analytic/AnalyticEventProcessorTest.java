@@ -0,0 +1,141 @@
+package com.github.lykmapipo.analytic;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * @author lally elias
+ * @email lallyelias87@gmail.com
+ */
+public class AnalyticEventProcessorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File sources;
+    private File classes;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setup() throws IOException {
+        sources = folder.newFolder("sources");
+        classes = folder.newFolder("classes");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @Test
+    public void shouldGenerateTypedEvent() throws Exception {
+        boolean compiled = compile("LevelUp", "package com.example;\n"
+                + "import com.github.lykmapipo.analytic.AnalyticEvent;\n"
+                + "import com.github.lykmapipo.analytic.EventParam;\n"
+                + "@AnalyticEvent(\"level_up\")\n"
+                + "public interface LevelUp {\n"
+                + "    int level();\n"
+                + "    String character();\n"
+                + "    @EventParam(\"score\") Double totalScore();\n"
+                + "    boolean bonusUnlocked();\n"
+                + "}\n");
+        assertThat(diagnostics.getDiagnostics().toString(), compiled, is(equalTo(true)));
+
+        try (URLClassLoader loader = new URLClassLoader(
+                new URL[]{classes.toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> type = loader.loadClass("com.example.AnalyticLevelUp");
+            TypedEvent event = (TypedEvent) type.getConstructor(
+                    int.class, String.class, Double.class, boolean.class)
+                    .newInstance(7, "mage", null, true);
+            assertThat(event.getName(), is(equalTo("level_up")));
+            assertThat(event.size(), is(equalTo(4)));
+
+            EventParams params = new EventParams(event.size());
+            event.writeTo(params);
+            assertThat(params.size(), is(equalTo(3)));
+            assertThat(params.getLong("level", 0L), is(equalTo(7L)));
+            assertThat(params.getString("character"), is(equalTo("mage")));
+            assertThat(params.getString("score"), is(nullValue()));
+            assertThat(params.getLong("bonus_unlocked", 0L), is(equalTo(1L)));
+        }
+    }
+
+    @Test
+    public void shouldFailOnInvalidEventName() throws IOException {
+        boolean compiled = compile("Reserved", "package com.example;\n"
+                + "import com.github.lykmapipo.analytic.AnalyticEvent;\n"
+                + "@AnalyticEvent(\"firebase_event\")\n"
+                + "public interface Reserved {\n"
+                + "    String itemId();\n"
+                + "}\n");
+        assertThat(compiled, is(equalTo(false)));
+        assertThat(diagnostics.getDiagnostics().toString(),
+                containsString("Invalid event name 'firebase_event'"));
+    }
+
+    @Test
+    public void shouldFailOnTooManyParams() throws IOException {
+        StringBuilder source = new StringBuilder("package com.example;\n"
+                + "import com.github.lykmapipo.analytic.AnalyticEvent;\n"
+                + "@AnalyticEvent(\"crowded\")\n"
+                + "public interface Crowded {\n");
+        for (int i = 0; i <= AnalyticEventProcessor.MAX_PARAMS; i++) {
+            source.append("    long value").append(i).append("();\n");
+        }
+        source.append("}\n");
+
+        boolean compiled = compile("Crowded", source.toString());
+        assertThat(compiled, is(equalTo(false)));
+        assertThat(diagnostics.getDiagnostics().toString(),
+                containsString("Too many parameters"));
+    }
+
+    @Test
+    public void shouldConvertNamesToSnakeCase() {
+        assertThat(AnalyticEventProcessor.snakeCase("itemId"), is(equalTo("item_id")));
+        assertThat(AnalyticEventProcessor.snakeCase("level"), is(equalTo("level")));
+    }
+
+    @Test
+    public void shouldDropAccessorPrefixesFromKeys() {
+        assertThat(AnalyticEventProcessor.keyOf("getItemId"), is(equalTo("item_id")));
+        assertThat(AnalyticEventProcessor.keyOf("isBonusUnlocked"), is(equalTo("bonus_unlocked")));
+        assertThat(AnalyticEventProcessor.keyOf("itemId"), is(equalTo("item_id")));
+        assertThat(AnalyticEventProcessor.keyOf("issue"), is(equalTo("issue")));
+        assertThat(AnalyticEventProcessor.keyOf("getaway"), is(equalTo("getaway")));
+    }
+
+    private boolean compile(String name, String content) throws IOException {
+        File source = new File(sources, name + ".java");
+        Files.write(source.toPath(), content.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files =
+                     compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    Arrays.asList("-d", classes.getPath(),
+                            "-classpath", System.getProperty("java.class.path")),
+                    null, files.getJavaFileObjectsFromFiles(Collections.singletonList(source)));
+            task.setProcessors(Collections.singletonList(new AnalyticEventProcessor()));
+            return task.call();
+        }
+    }
+}